@@ -0,0 +1,88 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.iais.eis.RepresentationBuilder;
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.iais.eis.ResourceBuilder;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the lookup of the resource offering an artifact, which is done for every artifact and
+ * contract request. The offered resources are mapped once in the setup, so only the scan over
+ * the catalog is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArtifactLookupBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int resources;
+
+    private MessageService messageService;
+    private UUID firstArtifact;
+    private UUID lastArtifact;
+    private UUID unknownArtifact;
+
+    @Setup
+    public void setup() {
+        final List<Resource> catalog = new ArrayList<>(resources);
+        for (int i = 0; i < resources; i++) {
+            final var artifactId = UUID.randomUUID();
+            catalog.add(new ResourceBuilder(URI.create(
+                "https://w3id.org/idsa/autogen/resource/" + UUID.randomUUID()))
+                ._representation_(Util.asList(new RepresentationBuilder(URI.create(
+                    "https://w3id.org/idsa/autogen/representation/" + artifactId))
+                    .build()))
+                .build());
+
+            if (i == 0) {
+                firstArtifact = artifactId;
+            }
+            lastArtifact = artifactId;
+        }
+        unknownArtifact = UUID.randomUUID();
+
+        final var resourceService = BenchmarkFixtures.stub(OfferedResourceServiceImpl.class);
+        when(resourceService.getResources()).thenReturn(catalog);
+        messageService = BenchmarkFixtures.messageService(resourceService);
+    }
+
+    @Benchmark
+    public Resource findFirst() {
+        return messageService.findResourceFromArtifactId(firstArtifact);
+    }
+
+    @Benchmark
+    public Resource findLast() {
+        return messageService.findResourceFromArtifactId(lastArtifact);
+    }
+
+    @Benchmark
+    public Resource findUnknown() {
+        return messageService.findResourceFromArtifactId(unknownArtifact);
+    }
+}
@@ -0,0 +1,142 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.BackendSource;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadataConverter;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.broker.BrokerSyncService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractOfferIndex;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.HttpUtils;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.IdGenerator;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the resource reads of an artifact request on the provider side. The previous read
+ * path looked the resource up three times, validating it each time, while the current one loads
+ * it once and validates it only once per version of the rules. The repository decodes a stored
+ * row on every load, so disabling the cache shows the cost of the database reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactReadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"1", "50"})
+    public int representations;
+
+    private final ResourceMetadataConverter converter = new ResourceMetadataConverter();
+    private OfferedResource stored;
+    private byte[] storedMetadata;
+    private volatile Integer storedValidationVersion;
+
+    private OfferedResourceServiceImpl resourceService;
+    private ContractOfferIndex contractOfferIndex;
+    private UUID artifactId;
+
+    @Setup
+    public void setup() {
+        stored = BenchmarkFixtures.offeredResource(representations,
+            BenchmarkFixtures.policy(PolicyHandler.Pattern.PROVIDE_ACCESS));
+        stored.setData("{\"benchmark\": true}");
+
+        // The requested artifact is stored locally, so no backend is called.
+        final var representation =
+            stored.getResourceMetadata().getRepresentations().values().iterator().next();
+        representation.setSource(new BackendSource(BackendSource.Type.LOCAL, null, null, null));
+        artifactId = representation.getUuid();
+        storedMetadata = converter.convertToDatabaseColumn(stored.getResourceMetadata());
+
+        final var repository = BenchmarkFixtures.stub(OfferedResourceRepository.class);
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.of(load()));
+        when(repository.findOrderedById(any())).thenAnswer(invocation -> List.of(load()));
+        when(repository.updateValidationVersion(any(), anyInt())).thenAnswer(invocation -> {
+            storedValidationVersion = invocation.getArgument(1);
+            return 1;
+        });
+
+        final var cacheConfiguration = new ResourceCacheConfiguration();
+        cacheConfiguration.setEnabled(cached);
+        cacheConfiguration.setMaxSize(1000);
+
+        contractOfferIndex = new ContractOfferIndex(repository,
+            BenchmarkFixtures.serializerProvider(), cacheConfiguration);
+        resourceService = new OfferedResourceServiceImpl(repository,
+            BenchmarkFixtures.stub(HttpUtils.class), BenchmarkFixtures.stub(IdsUtils.class),
+            BenchmarkFixtures.stub(IdGenerator.class),
+            BenchmarkFixtures.stub(SelfDescriptionVersion.class),
+            BenchmarkFixtures.stub(BrokerSyncService.class), contractOfferIndex,
+            cacheConfiguration, new SimpleMeterRegistry());
+
+        // Fill the index, which is shared by both read paths.
+        contractOfferIndex.findByArtifact(artifactId);
+    }
+
+    /**
+     * Loads the resource like the database does, from its stored row.
+     */
+    private OfferedResource load() {
+        final var resource = new OfferedResource(stored.getUuid(), stored.getCreated(),
+            stored.getModified(), converter.convertToEntityAttribute(storedMetadata),
+            stored.getData());
+        resource.setValidationVersion(storedValidationVersion);
+        return resource;
+    }
+
+    /**
+     * Replays the previous read path, which loaded and validated the resource three times: for
+     * the policy check, for the data and for the representation.
+     */
+    @Benchmark
+    public String separateLookups() {
+        final var entry = contractOfferIndex.findByArtifact(artifactId);
+
+        OfferedResource resource = null;
+        for (int i = 0; i < 3; i++) {
+            resource = resourceService.getResource(entry.getResourceId());
+            resourceService.isValidOfferedResource(resource);
+        }
+        resource.getResourceMetadata().getPolicy();
+
+        return resourceService.getDataByRepresentation(resource, artifactId, null);
+    }
+
+    @Benchmark
+    public String singleLookup() {
+        final var entry = contractOfferIndex.findByArtifact(artifactId);
+        final var resource = resourceService.getResource(entry.getResourceId());
+        resource.getResourceMetadata().getPolicy();
+
+        return resourceService.getDataByRepresentation(resource, artifactId, null);
+    }
+}
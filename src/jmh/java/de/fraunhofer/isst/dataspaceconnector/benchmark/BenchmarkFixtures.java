@@ -0,0 +1,171 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.iais.eis.BaseConnectorBuilder;
+import de.fraunhofer.iais.eis.Connector;
+import de.fraunhofer.iais.eis.ConnectorEndpointBuilder;
+import de.fraunhofer.iais.eis.SecurityProfile;
+import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
+import de.fraunhofer.iais.eis.util.TypedLiteral;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.controller.ExampleController;
+import de.fraunhofer.isst.dataspaceconnector.model.BackendSource;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.DescriptionMessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.RequestedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import de.fraunhofer.isst.ids.framework.communication.http.IDSHttpService;
+import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
+import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
+import org.mockito.Mockito;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the connector configuration, resources and policies shared by the benchmarks. Framework
+ * services are replaced by stub-only mocks, which do not record their invocations.
+ */
+final class BenchmarkFixtures {
+
+    static final URI CONNECTOR_ID = URI.create(
+        "https://w3id.org/idsa/autogen/baseConnector/7b934432-a85e-41c5-9f65-669219dde4ae");
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a stub-only mock of a class.
+     *
+     * @param type The class to mock
+     * @param <T>  The type of the class
+     * @return The mock
+     */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    /**
+     * @return A connector self-description as configured in the config.json.
+     */
+    static Connector connector() {
+        return new BaseConnectorBuilder(CONNECTOR_ID)
+            ._maintainer_(URI.create("https://example.com"))
+            ._curator_(URI.create("https://example.com"))
+            ._securityProfile_(SecurityProfile.BASE_SECURITY_PROFILE)
+            ._outboundModelVersion_("4.0.0")
+            ._inboundModelVersion_(Util.asList("4.0.0"))
+            ._title_(Util.asList(new TypedLiteral("Dataspace Connector")))
+            ._label_(Util.asList(new TypedLiteral("Dataspace Connector", "en")))
+            ._description_(Util.asList(new TypedLiteral("IDS Connector used for benchmarks")))
+            ._version_("v4.2.0")
+            ._hasDefaultEndpoint_(new ConnectorEndpointBuilder(
+                URI.create("https://localhost:8080/api/ids/data"))
+                ._accessURL_(URI.create("https://localhost:8080/api/ids/data"))
+                .build())
+            .build();
+    }
+
+    /**
+     * @return A configuration container returning the benchmark connector.
+     */
+    static ConfigurationContainer configurationContainer() {
+        final var configurationContainer = stub(ConfigurationContainer.class);
+        final var connector = connector();
+        when(configurationContainer.getConnector()).thenReturn(connector);
+        return configurationContainer;
+    }
+
+    /**
+     * @return A serializer provider returning a real information model serializer.
+     */
+    static SerializerProvider serializerProvider() {
+        final var serializerProvider = stub(SerializerProvider.class);
+        final var serializer = new Serializer();
+        when(serializerProvider.getSerializer()).thenReturn(serializer);
+        return serializerProvider;
+    }
+
+    /**
+     * Creates a message service for measuring the methods shared by all message services. The
+     * benchmarks do not send messages, so no token provider is needed.
+     *
+     * @param resourceService The service providing the offered resources
+     * @return The message service
+     */
+    static MessageService messageService(OfferedResourceServiceImpl resourceService) {
+        return new DescriptionMessageService(stub(DapsTokenProvider.class),
+            stub(IDSHttpService.class), configurationContainer(), resourceService,
+            serializerProvider(), stub(RequestedResourceServiceImpl.class));
+    }
+
+    /**
+     * Gets the example policy of a pattern as offered by the connector.
+     *
+     * @param pattern The policy pattern
+     * @return The policy as JSON-LD
+     */
+    static String policy(PolicyHandler.Pattern pattern) {
+        final var controller = new ExampleController(stub(DapsTokenProvider.class),
+            stub(PolicyHandler.class));
+        return (String) controller.getExampleUsagePolicy(pattern).getBody();
+    }
+
+    /**
+     * Creates resource metadata.
+     *
+     * @param representations The number of representations
+     * @param policy          The policy of the resource
+     * @return The metadata
+     */
+    static ResourceMetadata resourceMetadata(int representations, String policy) {
+        final var keywords = new ArrayList<String>();
+        keywords.add("benchmark");
+        keywords.add("dataspace");
+
+        final var representationMap = new HashMap<UUID, ResourceRepresentation>();
+        for (int i = 0; i < representations; i++) {
+            final var representation = new ResourceRepresentation(UUID.randomUUID(), "json", 1024,
+                "representation-" + i, new BackendSource(BackendSource.Type.HTTP_GET,
+                url("https://localhost:9000/data/" + i), null, null));
+            representationMap.put(representation.getUuid(), representation);
+        }
+
+        return new ResourceMetadata("Benchmark Resource", "A resource used for benchmarks.",
+            keywords, policy, URI.create("https://example.com/owner"),
+            URI.create("https://www.apache.org/licenses/LICENSE-2.0.txt"), "1.0",
+            representationMap, null);
+    }
+
+    private static URL url(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Creates an offered resource.
+     *
+     * @param representations The number of representations
+     * @param policy          The policy of the resource
+     * @return The resource
+     */
+    static OfferedResource offeredResource(int representations, String policy) {
+        final var now = new Date();
+        return new OfferedResource(UUID.randomUUID(), now, now,
+            resourceMetadata(representations, policy), null);
+    }
+}
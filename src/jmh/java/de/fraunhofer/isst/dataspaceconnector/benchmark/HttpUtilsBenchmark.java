@@ -0,0 +1,80 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.HttpUtils;
+import de.fraunhofer.isst.ids.framework.communication.http.HttpService;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the URL building of backend requests: replacing path variables, appending the encoded
+ * query parameters and parsing the result. The backend is replaced by a canned response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpUtilsBenchmark {
+
+    @Param({"1", "10"})
+    public int parameters;
+
+    private HttpUtils httpUtils;
+    private String address;
+    private QueryInput queryInput;
+
+    @Setup
+    public void setup() throws Exception {
+        final var httpService = BenchmarkFixtures.stub(HttpService.class);
+        when(httpService.getWithHeaders(any(), any()))
+            .thenAnswer(invocation -> response(invocation.getArgument(0)));
+        httpUtils = new HttpUtils(httpService);
+
+        final var pathBuilder = new StringBuilder("https://localhost:9000/api");
+        queryInput = new QueryInput();
+        for (int i = 0; i < parameters; i++) {
+            pathBuilder.append("/{path").append(i).append('}');
+            queryInput.getPathVariables().put("path" + i, "segment" + i);
+            queryInput.getParams().put("param " + i, "value/" + i + "?&=");
+            queryInput.getHeaders().put("X-Header-" + i, "value" + i);
+        }
+        address = pathBuilder.toString();
+    }
+
+    @Benchmark
+    public String sendHttpGetRequest() throws Exception {
+        return httpUtils.sendHttpGetRequest(address, queryInput);
+    }
+
+    private static Response response(URI uri) {
+        return new Response.Builder()
+            .request(new Request.Builder().url(uri.toString()).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create("{}", MediaType.get("application/json")))
+            .build();
+    }
+}
@@ -0,0 +1,57 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of an offered resource to an information model resource, which is done
+ * for every resource of every self-description.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdsUtilsBenchmark {
+
+    @Param({"1", "10"})
+    public int representations;
+
+    /**
+     * The size of the date conversion cache, 0 disables it.
+     */
+    @Param({"0", "10000"})
+    public int dateCacheSize;
+
+    private IdsUtils idsUtils;
+    private OfferedResource resource;
+
+    @Setup
+    public void setup() {
+        idsUtils = new IdsUtils(BenchmarkFixtures.configurationContainer(),
+            BenchmarkFixtures.serializerProvider(), dateCacheSize);
+        resource = BenchmarkFixtures.offeredResource(representations,
+            BenchmarkFixtures.policy(PolicyHandler.Pattern.PROVIDE_ACCESS));
+    }
+
+    @Benchmark
+    public Resource getAsResource() {
+        return idsUtils.getAsResource(resource);
+    }
+}
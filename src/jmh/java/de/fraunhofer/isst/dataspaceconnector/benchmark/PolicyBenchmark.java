@@ -0,0 +1,71 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.iais.eis.Contract;
+import de.fraunhofer.isst.dataspaceconnector.config.PolicyConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.NegotiationService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyVerifier;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.RemotePolicyDecisionPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the policy pattern recognition and the comparison of a requested contract with the
+ * offered one for the supported policy patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyBenchmark {
+
+    @Param({"PROVIDE_ACCESS", "N_TIMES_USAGE", "USAGE_UNTIL_DELETION", "USAGE_NOTIFICATION"})
+    public PolicyHandler.Pattern pattern;
+
+    private PolicyHandler policyHandler;
+    private NegotiationService negotiationService;
+    private String policy;
+    private Contract request;
+    private Contract offer;
+
+    @Setup
+    public void setup() throws Exception {
+        final var serializerProvider = BenchmarkFixtures.serializerProvider();
+        final var configurationContainer = BenchmarkFixtures.configurationContainer();
+
+        policyHandler = new PolicyHandler(BenchmarkFixtures.stub(PolicyVerifier.class),
+            serializerProvider, BenchmarkFixtures.stub(PolicyConfiguration.class),
+            BenchmarkFixtures.stub(RemotePolicyDecisionPoint.class), configurationContainer);
+        negotiationService = new NegotiationService(
+            BenchmarkFixtures.stub(ContractMessageService.class), policyHandler,
+            serializerProvider, configurationContainer);
+
+        policy = BenchmarkFixtures.policy(pattern);
+        request = policyHandler.validateContract(policy);
+        offer = policyHandler.validateContract(policy);
+    }
+
+    @Benchmark
+    public PolicyHandler.Pattern getPattern() throws Exception {
+        return policyHandler.getPattern(policy);
+    }
+
+    @Benchmark
+    public boolean compareContracts() {
+        return negotiationService.compareContracts(request, offer);
+    }
+}
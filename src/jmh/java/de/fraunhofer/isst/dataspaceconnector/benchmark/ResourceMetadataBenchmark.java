@@ -0,0 +1,60 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON (de)serialization of resource metadata as done by the resource endpoints and
+ * when logging resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceMetadataBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int representations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResourceMetadata metadata;
+    private String json;
+
+    @Setup
+    public void setup() throws Exception {
+        metadata = BenchmarkFixtures.resourceMetadata(representations,
+            BenchmarkFixtures.policy(PolicyHandler.Pattern.N_TIMES_USAGE));
+        json = objectMapper.writeValueAsString(metadata);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(metadata);
+    }
+
+    @Benchmark
+    public ResourceMetadata deserialize() throws Exception {
+        return objectMapper.readValue(json, ResourceMetadata.class);
+    }
+
+    @Benchmark
+    public String metadataToString() {
+        return metadata.toString();
+    }
+}
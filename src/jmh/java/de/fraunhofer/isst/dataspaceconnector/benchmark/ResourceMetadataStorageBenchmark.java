@@ -0,0 +1,86 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadataConverter;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing resource metadata with Java serialization, as done by older versions, and with
+ * the {@link ResourceMetadataConverter}. The row sizes of both formats are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceMetadataStorageBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int representations;
+
+    private final ResourceMetadataConverter converter = new ResourceMetadataConverter();
+    private ResourceMetadata metadata;
+    private byte[] javaRow;
+    private byte[] binaryRow;
+
+    @Setup
+    public void setup() throws IOException {
+        metadata = BenchmarkFixtures.resourceMetadata(representations,
+            BenchmarkFixtures.policy(PolicyHandler.Pattern.N_TIMES_USAGE));
+        javaRow = writeJava();
+        binaryRow = converter.convertToDatabaseColumn(metadata);
+
+        System.out.printf("Row size [representations=(%d), java=(%d bytes), binary=(%d bytes)]%n",
+            representations, javaRow.length, binaryRow.length);
+    }
+
+    @Benchmark
+    public byte[] writeJava() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (var stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(metadata);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object readJava() throws IOException, ClassNotFoundException {
+        try (var stream = new ObjectInputStream(new ByteArrayInputStream(javaRow))) {
+            return stream.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBinary() {
+        return converter.convertToDatabaseColumn(metadata);
+    }
+
+    @Benchmark
+    public ResourceMetadata readBinary() {
+        return converter.convertToEntityAttribute(binaryRow);
+    }
+
+    @Benchmark
+    public ResourceMetadata readLegacy() {
+        return converter.convertToEntityAttribute(javaRow);
+    }
+}
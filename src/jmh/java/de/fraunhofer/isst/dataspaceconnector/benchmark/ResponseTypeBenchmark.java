@@ -0,0 +1,118 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.iais.eis.ArtifactResponseMessageBuilder;
+import de.fraunhofer.iais.eis.DescriptionResponseMessageBuilder;
+import de.fraunhofer.iais.eis.DynamicAttributeTokenBuilder;
+import de.fraunhofer.iais.eis.Message;
+import de.fraunhofer.iais.eis.RejectionMessageBuilder;
+import de.fraunhofer.iais.eis.RejectionReason;
+import de.fraunhofer.iais.eis.TokenFormat;
+import de.fraunhofer.iais.eis.UploadResponseMessageBuilder;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static de.fraunhofer.isst.ids.framework.util.IDSUtils.getGregorianNow;
+
+/**
+ * Measures the detection of the response type of a received message header. The types are
+ * tried in order, so types at the end of the list are the most expensive ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseTypeBenchmark {
+
+    @Param({"ARTIFACT_RESPONSE", "DESCRIPTION_RESPONSE", "REJECTION", "UPLOAD_RESPONSE"})
+    public ResponseType responseType;
+
+    private MessageService messageService;
+    private String header;
+
+    @Setup
+    public void setup() throws Exception {
+        messageService = BenchmarkFixtures.messageService(
+            BenchmarkFixtures.stub(OfferedResourceServiceImpl.class));
+        header = buildHeader(responseType).toRdf();
+    }
+
+    @Benchmark
+    public ResponseType getResponseType() {
+        return messageService.getResponseType(header);
+    }
+
+    private static Message buildHeader(ResponseType type) throws Exception {
+        final var connectorId = BenchmarkFixtures.CONNECTOR_ID;
+        final var correlationMessage = URI.create(
+            "https://w3id.org/idsa/autogen/descriptionRequestMessage/"
+                + "b7c9d390-837b-4edc-b47c-877c3d3570f0");
+        final var token = new DynamicAttributeTokenBuilder()
+            ._tokenFormat_(TokenFormat.JWT)
+            ._tokenValue_("token")
+            .build();
+
+        switch (type) {
+            case ARTIFACT_RESPONSE:
+                return new ArtifactResponseMessageBuilder()
+                    ._issued_(getGregorianNow())
+                    ._modelVersion_("4.0.0")
+                    ._issuerConnector_(connectorId)
+                    ._senderAgent_(connectorId)
+                    ._securityToken_(token)
+                    ._correlationMessage_(correlationMessage)
+                    ._recipientConnector_(Util.asList(connectorId))
+                    .build();
+            case DESCRIPTION_RESPONSE:
+                return new DescriptionResponseMessageBuilder()
+                    ._issued_(getGregorianNow())
+                    ._modelVersion_("4.0.0")
+                    ._issuerConnector_(connectorId)
+                    ._senderAgent_(connectorId)
+                    ._securityToken_(token)
+                    ._correlationMessage_(correlationMessage)
+                    ._recipientConnector_(Util.asList(connectorId))
+                    .build();
+            case REJECTION:
+                return new RejectionMessageBuilder()
+                    ._issued_(getGregorianNow())
+                    ._modelVersion_("4.0.0")
+                    ._issuerConnector_(connectorId)
+                    ._senderAgent_(connectorId)
+                    ._securityToken_(token)
+                    ._correlationMessage_(correlationMessage)
+                    ._recipientConnector_(Util.asList(connectorId))
+                    ._rejectionReason_(RejectionReason.NOT_FOUND)
+                    .build();
+            case UPLOAD_RESPONSE:
+                return new UploadResponseMessageBuilder()
+                    ._issued_(getGregorianNow())
+                    ._modelVersion_("4.0.0")
+                    ._issuerConnector_(connectorId)
+                    ._senderAgent_(connectorId)
+                    ._securityToken_(token)
+                    ._correlationMessage_(correlationMessage)
+                    ._recipientConnector_(Util.asList(connectorId))
+                    .build();
+            default:
+                throw new IllegalArgumentException("Unsupported response type: " + type);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.isst.dataspaceconnector.services.utils.GregorianCalendarCache;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils;
+import de.fraunhofer.isst.ids.framework.util.IDSUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of dates to XMLGregorianCalendar, which is done twice per resource of a
+ * self-description and for every message. The factory benchmarks are the baseline of the previous
+ * implementation, which looked up the DatatypeFactory on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeUtilsBenchmark {
+
+    private final Date date = new Date();
+    private final GregorianCalendarCache calendarCache = new GregorianCalendarCache(10000);
+
+    @Benchmark
+    public XMLGregorianCalendar factoryGregorianOf() throws DatatypeConfigurationException {
+        final var calendar = new GregorianCalendar();
+        calendar.setTime(date);
+        return DatatypeFactory.newInstance().newXMLGregorianCalendar(calendar);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar getGregorianOf() {
+        return TimeUtils.getGregorianOf(date);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar cachedGregorianOf() {
+        return calendarCache.getGregorianOf(date);
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar frameworkGregorianNow() {
+        return IDSUtils.getGregorianNow();
+    }
+
+    @Benchmark
+    public XMLGregorianCalendar getGregorianNow() {
+        return TimeUtils.getGregorianNow();
+    }
+}
@@ -0,0 +1,74 @@
+package de.fraunhofer.isst.dataspaceconnector.benchmark;
+
+import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the extraction of UUIDs from resource, representation and artifact URIs. The regex
+ * benchmarks are the baseline of the previous implementation, which compiled the pattern and
+ * collected all UUIDs on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UUIDUtilsBenchmark {
+
+    private final URI artifactUri = URI.create(
+        "https://w3id.org/idsa/autogen/artifact/b7c9d390-837b-4edc-b47c-877c3d3570f0");
+    private final URI endpointUri = URI.create("https://localhost:8080/admin/api/resources/"
+        + "b7c9d390-837b-4edc-b47c-877c3d3570f0/4ad9a9ba-1a0b-4012-87de-13a8734e3765");
+
+    @Benchmark
+    public UUID uuidFromUri() {
+        return UUIDUtils.uuidFromUri(artifactUri);
+    }
+
+    @Benchmark
+    public UUID lastUuidFromUri() {
+        return UUIDUtils.uuidFromUri(endpointUri);
+    }
+
+    @Benchmark
+    public UUID firstUuidFromUri() {
+        return UUIDUtils.uuidFromUri(endpointUri, 0);
+    }
+
+    @Benchmark
+    public UUID regexUuidFromUri() {
+        return regexUuidFromUri(artifactUri);
+    }
+
+    @Benchmark
+    public UUID regexLastUuidFromUri() {
+        return regexUuidFromUri(endpointUri);
+    }
+
+    private static UUID regexUuidFromUri(URI uri) {
+        final var matcher = Pattern
+            .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}")
+            .matcher(uri.toString());
+
+        final var uuids = new ArrayList<String>();
+        while (matcher.find()) {
+            uuids.add(matcher.group(0));
+        }
+        return UUID.fromString(uuids.get(uuids.size() - 1));
+    }
+}
@@ -0,0 +1,225 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Credentials;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A client for the admin api of a connector, authenticated with the default admin credentials.
+ */
+public class AdminClient {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final MediaType TEXT = MediaType.get("text/plain");
+
+    private static final String VALIDATION_PREFIX = "Validation: ";
+    private static final byte[] SAVED_PREFIX = "Saved at: ".getBytes();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final OkHttpClient HTTP_CLIENT = new OkHttpClient.Builder()
+        .connectTimeout(10, TimeUnit.SECONDS)
+        .readTimeout(5, TimeUnit.MINUTES)
+        .writeTimeout(5, TimeUnit.MINUTES)
+        .build();
+
+    private final HttpUrl baseUrl;
+    private final String credentials;
+
+    /**
+     * Constructor for AdminClient.
+     *
+     * @param baseUrl The url of the connector
+     * @throws IllegalArgumentException if the url is invalid.
+     */
+    public AdminClient(String baseUrl) throws IllegalArgumentException {
+        this.baseUrl = HttpUrl.get(baseUrl);
+        this.credentials = Credentials.basic("admin", "password");
+    }
+
+    /**
+     * @return True if the actuator of the connector answers requests.
+     */
+    public boolean isAvailable() {
+        final var request = request(url("admin/actuator/metrics").build()).get().build();
+        try (var response = HTTP_CLIENT.newCall(request).execute()) {
+            return response.isSuccessful();
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Fetches an example contract offer.
+     *
+     * @param pattern The policy pattern
+     * @return The contract offer as JSON-LD.
+     * @throws IOException if the request failed.
+     */
+    public String examplePolicy(String pattern) throws IOException {
+        final var url = url("admin/api/example/usage-policy")
+            .addQueryParameter("pattern", pattern)
+            .build();
+        return execute(request(url).post(RequestBody.create(new byte[0], null)).build());
+    }
+
+    /**
+     * Creates a resource with a single representation backed by an http endpoint.
+     *
+     * @param resourceId       The id of the resource
+     * @param representationId The id of the representation
+     * @param policy           The usage policy
+     * @param dataUrl          The url of the backend data
+     * @throws IOException if the request failed.
+     */
+    public void createResource(UUID resourceId, UUID representationId, String policy,
+        String dataUrl) throws IOException {
+        final var metadata = Map.of(
+            "title", "Load test resource " + resourceId,
+            "description", "Created by the load test.",
+            "keywords", List.of("load-test"),
+            "policy", policy,
+            "representations", List.of(Map.of(
+                "uuid", representationId.toString(),
+                "type", "json",
+                "name", "data",
+                "source", Map.of("type", "http-get", "url", dataUrl))));
+
+        final var url = url("admin/api/resources/resource")
+            .addQueryParameter("id", resourceId.toString())
+            .build();
+        execute(request(url)
+            .post(RequestBody.create(OBJECT_MAPPER.writeValueAsBytes(metadata), JSON))
+            .build());
+    }
+
+    /**
+     * Requests the metadata of a resource from another connector.
+     *
+     * @param recipient  The ids endpoint of the provider
+     * @param resourceId The id of the resource
+     * @return The validation key of the stored resource.
+     * @throws IOException if the request failed.
+     */
+    public UUID requestDescription(String recipient, String resourceId) throws IOException {
+        final var url = url("admin/api/request/description")
+            .addQueryParameter("recipient", recipient)
+            .addQueryParameter("requestedResource", resourceId)
+            .build();
+        final var body = execute(request(url).post(RequestBody.create(new byte[0], null))
+            .build());
+
+        if (!body.startsWith(VALIDATION_PREFIX)) {
+            throw new IOException("Unexpected description response: " + abbreviate(body));
+        }
+        final var end = body.indexOf('\n');
+        return UUID.fromString(body.substring(VALIDATION_PREFIX.length(),
+            end < 0 ? body.length() : end).trim());
+    }
+
+    /**
+     * Negotiates a contract for an artifact with another connector.
+     *
+     * @param recipient  The ids endpoint of the provider
+     * @param artifactId The id of the artifact
+     * @param policy     The requested contract offer
+     * @return The id of the contract agreement.
+     * @throws IOException if the request failed.
+     */
+    public String requestContract(String recipient, String artifactId, String policy)
+        throws IOException {
+        final var url = url("admin/api/request/contract")
+            .addQueryParameter("recipient", recipient)
+            .addQueryParameter("requestedArtifact", artifactId)
+            .build();
+        final var body = execute(request(url).post(RequestBody.create(policy, TEXT)).build())
+            .trim();
+
+        // Rejections are answered with status 200 as well.
+        if (!body.startsWith("http")) {
+            throw new IOException("Unexpected contract response: " + abbreviate(body));
+        }
+        return body;
+    }
+
+    /**
+     * Requests the data of an artifact from another connector.
+     *
+     * @param recipient  The ids endpoint of the provider
+     * @param artifactId The id of the artifact
+     * @param contractId The id of the contract agreement
+     * @param key        The validation key of the resource
+     * @return The size of the response in bytes.
+     * @throws IOException if the request failed.
+     */
+    public long requestArtifact(String recipient, String artifactId, String contractId,
+        UUID key) throws IOException {
+        final var url = url("admin/api/request/artifact")
+            .addQueryParameter("recipient", recipient)
+            .addQueryParameter("requestedArtifact", artifactId)
+            .addQueryParameter("transferContract", contractId)
+            .addQueryParameter("key", key.toString())
+            .build();
+        final var request = request(url).post(RequestBody.create("{}", JSON)).build();
+        try (var response = HTTP_CLIENT.newCall(request).execute()) {
+            final var body = Objects.requireNonNull(response.body()).bytes();
+            if (!response.isSuccessful() || !startsWith(body, SAVED_PREFIX)) {
+                throw new IOException("Request failed. [status=(" + response.code()
+                    + "), body=(" + abbreviate(new String(body)) + ")]");
+            }
+            return body.length;
+        }
+    }
+
+    /**
+     * @return The used heap of the connector in bytes.
+     * @throws IOException if the request failed.
+     */
+    public long heapUsed() throws IOException {
+        final var url = url("admin/actuator/metrics/jvm.memory.used")
+            .addQueryParameter("tag", "area:heap")
+            .build();
+        final var metric = OBJECT_MAPPER.readTree(execute(request(url).get().build()));
+        return metric.path("measurements").path(0).path("value").asLong();
+    }
+
+    private HttpUrl.Builder url(String path) {
+        return baseUrl.newBuilder().addPathSegments(path);
+    }
+
+    private Request.Builder request(HttpUrl url) {
+        return new Request.Builder().url(url).header("Authorization", credentials);
+    }
+
+    private static String execute(Request request) throws IOException {
+        try (var response = HTTP_CLIENT.newCall(request).execute()) {
+            final var body = Objects.requireNonNull(response.body()).string();
+            if (!response.isSuccessful()) {
+                throw new IOException("Request failed. [status=(" + response.code()
+                    + "), body=(" + abbreviate(body) + ")]");
+            }
+            return body;
+        }
+    }
+
+    private static boolean startsWith(byte[] body, byte[] prefix) {
+        return body.length >= prefix.length
+            && Arrays.equals(body, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+    }
+}
@@ -0,0 +1,158 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connector started for a load test, either in the current JVM or in a forked one.
+ */
+public class ConnectorInstance implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorInstance.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final String name;
+    private final int port;
+    private final ConfigurableApplicationContext context;
+    private final Process process;
+    private final AdminClient client;
+
+    private ConnectorInstance(String name, int port, ConfigurableApplicationContext context,
+        Process process) {
+        this.name = name;
+        this.port = port;
+        this.context = context;
+        this.process = process;
+        this.client = new AdminClient(getBaseUrl());
+    }
+
+    /**
+     * Starts a connector.
+     *
+     * @param name    The name of the connector
+     * @param options The load test options
+     * @return The started connector
+     * @throws IOException if the connector could not be started.
+     */
+    public static ConnectorInstance start(String name, LoadTestOptions options)
+        throws IOException {
+        final var port = freePort();
+        LOGGER.info("Starting connector. [name=({}), port=({}), mode=({})]", name, port,
+            options.getMode());
+
+        if (options.getMode() == LoadTestOptions.Mode.EMBEDDED) {
+            final var context = ConnectorLauncher.start(name, port,
+                options.getConnectorProperties());
+            return new ConnectorInstance(name, port, context, null);
+        }
+
+        final var command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator
+            + "java");
+        command.add("-Xmx" + options.getConnectorHeap());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ConnectorLauncher.class.getName());
+        command.addAll(List.of(ConnectorLauncher.arguments(name, port,
+            options.getConnectorProperties())));
+
+        final var logFile = new File("target", "load-test-" + name + ".log");
+        final var process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile)
+            .start();
+
+        final var instance = new ConnectorInstance(name, port, null, process);
+        instance.awaitStartup(logFile);
+        return instance;
+    }
+
+    /**
+     * @return The url of the connector.
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * @return The url of the IDS endpoint of the connector.
+     */
+    public String getIdsUrl() {
+        return getBaseUrl() + "/api/ids/data";
+    }
+
+    /**
+     * @return The client for the admin api of the connector.
+     */
+    public AdminClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return The name of the connector.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+
+        if (process != null) {
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException exception) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void awaitStartup(File logFile) throws IOException {
+        final var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("The connector " + name + " terminated during startup. See "
+                    + logFile + ".");
+            }
+
+            if (client.isAvailable()) {
+                return;
+            }
+
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the connector.", exception);
+            }
+        }
+
+        close();
+        throw new IOException("The connector " + name + " did not start in time. See " + logFile
+            + ".");
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import de.fraunhofer.isst.dataspaceconnector.ConnectorApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Starts a connector configured for load tests: plain HTTP, an in-memory database, the load test
+ * connector configuration and the {@link StubDaps}.
+ */
+public final class ConnectorLauncher {
+
+    private ConnectorLauncher() {
+    }
+
+    /**
+     * Starts a connector in a forked JVM. The arguments are Spring properties in the form
+     * {@code --name=value}.
+     *
+     * @param args The arguments
+     */
+    public static void main(String[] args) {
+        newBuilder().run(args);
+    }
+
+    /**
+     * Starts a connector in the current JVM.
+     *
+     * @param name       The name of the connector, used for its database
+     * @param port       The http port
+     * @param properties Additional Spring properties
+     * @return The application context of the connector
+     */
+    static ConfigurableApplicationContext start(String name, int port,
+        Map<String, String> properties) {
+        return newBuilder().run(arguments(name, port, properties));
+    }
+
+    /**
+     * Builds the Spring arguments of a connector.
+     *
+     * @param name       The name of the connector, used for its database
+     * @param port       The http port
+     * @param properties Additional Spring properties
+     * @return The arguments
+     */
+    static String[] arguments(String name, int port, Map<String, String> properties) {
+        final var defaults = Map.of(
+            "server.port", String.valueOf(port),
+            "server.ssl.enabled", "false",
+            "spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto", "create",
+            "spring.h2.console.enabled", "false",
+            "spring.main.banner-mode", "off",
+            "configuration.path", "conf/load-test-config.json",
+            "management.endpoints.web.exposure.include", "metrics");
+
+        final var arguments = new ArrayList<String>();
+        defaults.forEach((key, value) -> {
+            if (!properties.containsKey(key)) {
+                arguments.add("--" + key + "=" + value);
+            }
+        });
+        properties.forEach((key, value) -> arguments.add("--" + key + "=" + value));
+        return arguments.toArray(new String[0]);
+    }
+
+    private static SpringApplicationBuilder newBuilder() {
+        return new SpringApplicationBuilder(ConnectorApplication.class)
+            .initializers(new StubDaps());
+    }
+}
@@ -0,0 +1,63 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of completed request sequences and the number of failed ones.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    /**
+     * Records a completed sequence.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    /**
+     * Records a failed sequence.
+     */
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    /**
+     * @return The number of completed sequences.
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The number of failed sequences.
+     */
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Computes a percentile of the recorded latencies with the nearest-rank method.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public synchronized double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        final var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final var rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.min(Math.max(rank, 1), count) - 1] / 1_000_000d;
+    }
+}
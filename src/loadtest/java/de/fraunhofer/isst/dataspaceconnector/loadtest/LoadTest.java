@@ -0,0 +1,296 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs description, contract and artifact request sequences from a consumer connector against a
+ * provider connector and reports throughput, latency percentiles and heap usage per scenario.
+ *
+ * <p>Run with {@code mvn -P load-test test-compile exec:exec -Dloadtest.args="..."}. See
+ * {@link LoadTestOptions} for the arguments.</p>
+ */
+public final class LoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final String RESOURCE_PREFIX = "https://w3id.org/idsa/autogen/resource/";
+    private static final String ARTIFACT_PREFIX = "https://w3id.org/idsa/autogen/artifact/";
+
+    /**
+     * The number of resources of the payload scenarios.
+     */
+    private static final int PAYLOAD_SCENARIO_RESOURCES = 10;
+
+    private final LoadTestOptions options;
+    private final ConnectorInstance provider;
+    private final ConnectorInstance consumer;
+    private final StubBackend backend;
+    private final String policy;
+
+    private LoadTest(LoadTestOptions options, ConnectorInstance provider,
+        ConnectorInstance consumer, StubBackend backend) throws IOException {
+        this.options = options;
+        this.provider = provider;
+        this.consumer = consumer;
+        this.backend = backend;
+        this.policy = provider.getClient().examplePolicy("PROVIDE_ACCESS");
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args The arguments in the form --name=value
+     * @throws Exception if the load test could not be run.
+     */
+    public static void main(String[] args) throws Exception {
+        final var options = new LoadTestOptions(args);
+
+        final var results = new ArrayList<Result>();
+        try (var backend = new StubBackend(options.getConcurrency());
+             var provider = ConnectorInstance.start("provider", options);
+             var consumer = ConnectorInstance.start("consumer", options)) {
+            final var loadTest = new LoadTest(options, provider, consumer, backend);
+            for (final var name : options.getScenarios()) {
+                results.add(loadTest.run(name));
+            }
+        }
+
+        report(options, results);
+        System.exit(0);
+    }
+
+    private Result run(String name) throws Exception {
+        final int resources;
+        final int payload;
+        switch (name) {
+            case "small":
+                resources = PAYLOAD_SCENARIO_RESOURCES;
+                payload = options.getSmallPayload();
+                break;
+            case "large":
+                resources = PAYLOAD_SCENARIO_RESOURCES;
+                payload = options.getLargePayload();
+                break;
+            case "catalog":
+                resources = options.getCatalogSize();
+                payload = options.getSmallPayload();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + name
+                    + ". Expected small, large or catalog.");
+        }
+
+        LOGGER.info("Preparing scenario. [scenario=({}), resources=({}), payload=({})]", name,
+            resources, payload);
+        final var targets = createResources(resources, payload);
+
+        LOGGER.info("Warming up. [scenario=({}), seconds=({})]", name,
+            options.getWarmupSeconds());
+        drive(targets, options.getWarmupSeconds(), new LatencyRecorder());
+
+        LOGGER.info("Measuring. [scenario=({}), seconds=({})]", name,
+            options.getDurationSeconds());
+        final var recorder = new LatencyRecorder();
+        final var providerHeap = new HeapSampler(provider);
+        final var consumerHeap = new HeapSampler(consumer);
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            providerHeap.sample();
+            consumerHeap.sample();
+        }, 0, 1, TimeUnit.SECONDS);
+
+        final var start = System.nanoTime();
+        try {
+            drive(targets, options.getDurationSeconds(), recorder);
+        } finally {
+            sampler.shutdownNow();
+        }
+        final var seconds = (System.nanoTime() - start) / 1e9;
+
+        final var result = new Result(name, resources, payload, recorder, seconds,
+            providerHeap.getMax(), consumerHeap.getMax());
+        LOGGER.info("Finished scenario. [scenario=({}), sequences=({}), errors=({})]", name,
+            recorder.getCount(), recorder.getErrors());
+        return result;
+    }
+
+    private List<UUID[]> createResources(int count, int payload) throws Exception {
+        final var dataUrl = backend.getDataUrl(payload);
+        final var tasks = new ArrayList<Callable<UUID[]>>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(() -> {
+                final var resourceId = UUID.randomUUID();
+                final var representationId = UUID.randomUUID();
+                provider.getClient().createResource(resourceId, representationId, policy,
+                    dataUrl);
+                return new UUID[]{resourceId, representationId};
+            });
+        }
+
+        final var executor = Executors.newFixedThreadPool(options.getConcurrency());
+        try {
+            final var targets = new ArrayList<UUID[]>();
+            for (final var future : executor.invokeAll(tasks)) {
+                targets.add(future.get());
+            }
+            return targets;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void drive(List<UUID[]> targets, int seconds, LatencyRecorder recorder)
+        throws InterruptedException, ExecutionException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        final ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        try {
+            final var workers = new ArrayList<Callable<Void>>();
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                workers.add(() -> {
+                    while (System.nanoTime() < deadline) {
+                        final var target = targets.get(
+                            ThreadLocalRandom.current().nextInt(targets.size()));
+                        final var start = System.nanoTime();
+                        try {
+                            sequence(target[0], target[1]);
+                            recorder.record(System.nanoTime() - start);
+                        } catch (IOException exception) {
+                            LOGGER.debug("Sequence failed. [exception=({})]",
+                                exception.getMessage());
+                            recorder.recordError();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            for (final var future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void sequence(UUID resourceId, UUID representationId) throws IOException {
+        final var client = consumer.getClient();
+        final var recipient = provider.getIdsUrl();
+        final var artifactId = ARTIFACT_PREFIX + representationId;
+
+        final var key = client.requestDescription(recipient, RESOURCE_PREFIX + resourceId);
+        final var contractId = client.requestContract(recipient, artifactId, policy);
+        client.requestArtifact(recipient, artifactId, contractId, key);
+    }
+
+    private static void report(LoadTestOptions options, List<Result> results)
+        throws IOException {
+        final var lines = new ArrayList<String>();
+        lines.add(Result.HEADER);
+        for (final var result : results) {
+            lines.add(result.toCsv());
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Load test: mode=%s, concurrency=%d, duration=%ds%n",
+            options.getMode().name().toLowerCase(Locale.ROOT), options.getConcurrency(),
+            options.getDurationSeconds());
+        if (options.getMode() == LoadTestOptions.Mode.EMBEDDED) {
+            System.out.println("Both connectors share one JVM, so their heap values are equal.");
+        }
+        for (final var line : lines) {
+            final var columns = line.split(",");
+            final var row = new StringBuilder();
+            for (final var column : columns) {
+                row.append(String.format(Locale.ROOT, "%-15s", column));
+            }
+            System.out.println(row.toString().stripTrailing());
+        }
+
+        final var reportFile = options.getReportFile();
+        if (reportFile != null) {
+            Files.write(Path.of(reportFile), lines, StandardCharsets.UTF_8);
+            LOGGER.info("Wrote report. [file=({})]", reportFile);
+        }
+    }
+
+    /**
+     * Samples the heap usage of a connector and keeps the maximum.
+     */
+    private static final class HeapSampler {
+
+        private final ConnectorInstance connector;
+        private final AtomicLong max = new AtomicLong();
+
+        HeapSampler(ConnectorInstance connector) {
+            this.connector = connector;
+        }
+
+        void sample() {
+            try {
+                final var used = connector.getClient().heapUsed();
+                max.accumulateAndGet(used, Math::max);
+            } catch (IOException exception) {
+                LOGGER.debug("Failed to sample heap. [connector=({}), exception=({})]",
+                    connector.getName(), exception.getMessage());
+            }
+        }
+
+        long getMax() {
+            return max.get();
+        }
+    }
+
+    /**
+     * The result of a scenario.
+     */
+    private static final class Result {
+
+        static final String HEADER = "scenario,resources,payload,sequences,errors,throughput/s,"
+            + "p50 ms,p90 ms,p99 ms,max ms,provider MiB,consumer MiB";
+
+        private final String name;
+        private final int resources;
+        private final int payload;
+        private final LatencyRecorder recorder;
+        private final double seconds;
+        private final long providerHeap;
+        private final long consumerHeap;
+
+        Result(String name, int resources, int payload, LatencyRecorder recorder,
+            double seconds, long providerHeap, long consumerHeap) {
+            this.name = name;
+            this.resources = resources;
+            this.payload = payload;
+            this.recorder = recorder;
+            this.seconds = seconds;
+            this.providerHeap = providerHeap;
+            this.consumerHeap = consumerHeap;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d",
+                name, resources, payload, recorder.getCount(), recorder.getErrors(),
+                recorder.getCount() / seconds, recorder.percentile(50),
+                recorder.percentile(90), recorder.percentile(99), recorder.percentile(100),
+                providerHeap / (1024 * 1024), consumerHeap / (1024 * 1024));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The options of a load test run, read from command line arguments in the form
+ * {@code --name=value}. Arguments starting with {@code --connector.} are passed to both
+ * connectors as Spring properties, e.g. {@code --connector.http-tracing.enabled=false}.
+ */
+public class LoadTestOptions {
+
+    /**
+     * How the connectors are started.
+     */
+    public enum Mode {
+        /**
+         * Both connectors run in the JVM of the load test.
+         */
+        EMBEDDED,
+        /**
+         * Each connector runs in its own JVM.
+         */
+        PROCESS
+    }
+
+    private static final String CONNECTOR_PREFIX = "connector.";
+
+    private final Map<String, String> options = new HashMap<>();
+    private final Map<String, String> connectorProperties = new HashMap<>();
+
+    /**
+     * Constructor for LoadTestOptions.
+     *
+     * @param args The command line arguments
+     * @throws IllegalArgumentException if an argument is not in the form --name=value.
+     */
+    public LoadTestOptions(String[] args) throws IllegalArgumentException {
+        for (final var arg : args) {
+            final var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid argument: " + arg
+                    + ". Expected --name=value.");
+            }
+
+            final var name = arg.substring(2, separator);
+            final var value = arg.substring(separator + 1);
+            if (name.startsWith(CONNECTOR_PREFIX)) {
+                connectorProperties.put(name.substring(CONNECTOR_PREFIX.length()), value);
+            } else {
+                options.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * @return How the connectors are started. Defaults to embedded.
+     */
+    public Mode getMode() {
+        return Mode.valueOf(options.getOrDefault("mode", "embedded").toUpperCase());
+    }
+
+    /**
+     * @return The number of concurrent request sequences. Defaults to 8.
+     */
+    public int getConcurrency() {
+        return getInt("concurrency", 8);
+    }
+
+    /**
+     * @return The warmup time of each scenario in seconds. Defaults to 10.
+     */
+    public int getWarmupSeconds() {
+        return getInt("warmup", 10);
+    }
+
+    /**
+     * @return The measured time of each scenario in seconds. Defaults to 30.
+     */
+    public int getDurationSeconds() {
+        return getInt("duration", 30);
+    }
+
+    /**
+     * @return The payload size of the small payload scenario in bytes. Defaults to 1 KiB.
+     */
+    public int getSmallPayload() {
+        return getInt("small-payload", 1024);
+    }
+
+    /**
+     * @return The payload size of the large payload scenario in bytes. Defaults to 5 MiB.
+     */
+    public int getLargePayload() {
+        return getInt("large-payload", 5 * 1024 * 1024);
+    }
+
+    /**
+     * @return The number of resources of the large catalog scenario. Defaults to 2000.
+     */
+    public int getCatalogSize() {
+        return getInt("catalog-size", 2000);
+    }
+
+    /**
+     * @return The names of the scenarios to run. Defaults to all scenarios.
+     */
+    public List<String> getScenarios() {
+        final var scenarios = new ArrayList<String>();
+        for (final var name : options.getOrDefault("scenarios", "small,large,catalog")
+            .split(",")) {
+            if (!name.isBlank()) {
+                scenarios.add(name.trim());
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * @return The file the report is written to as CSV, or null.
+     */
+    public String getReportFile() {
+        return options.get("report");
+    }
+
+    /**
+     * @return The maximum heap of forked connectors. Defaults to 1g.
+     */
+    public String getConnectorHeap() {
+        return options.getOrDefault("connector-heap", "1g");
+    }
+
+    /**
+     * @return The Spring properties passed to both connectors.
+     */
+    public Map<String, String> getConnectorProperties() {
+        return connectorProperties;
+    }
+
+    private int getInt(String name, int defaultValue) {
+        final var value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
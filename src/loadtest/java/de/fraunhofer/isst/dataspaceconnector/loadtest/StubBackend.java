@@ -0,0 +1,80 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local backend serving the data of the offered resources. A GET request to
+ * {@code /data/<bytes>} is answered with a JSON document of the given size.
+ */
+public class StubBackend implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, byte[]> payloads = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the backend on a free port.
+     *
+     * @param threads The number of threads handling requests
+     * @throws IOException if the server could not be started.
+     */
+    public StubBackend(int threads) throws IOException {
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/data/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @param bytes The payload size
+     * @return The url serving a payload of the given size.
+     */
+    public String getDataUrl(int bytes) {
+        return "http://localhost:" + server.getAddress().getPort() + "/data/" + bytes;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final int size;
+            try {
+                size = Integer.parseInt(exchange.getRequestURI().getPath()
+                    .substring("/data/".length()));
+            } catch (NumberFormatException exception) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            final var payload = payloads.computeIfAbsent(size, StubBackend::payload);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            exchange.getResponseBody().write(payload);
+        }
+    }
+
+    private static byte[] payload(int size) {
+        // {"data":"xxx..."}
+        final var prefix = "{\"data\":\"".getBytes();
+        final var suffix = "\"}".getBytes();
+        final var payload = new byte[Math.max(size, prefix.length + suffix.length)];
+        Arrays.fill(payload, (byte) 'x');
+        System.arraycopy(prefix, 0, payload, 0, prefix.length);
+        System.arraycopy(suffix, 0, payload, payload.length - suffix.length, suffix.length);
+        return payload;
+    }
+}
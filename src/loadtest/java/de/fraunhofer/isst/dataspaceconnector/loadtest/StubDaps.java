@@ -0,0 +1,41 @@
+package de.fraunhofer.isst.dataspaceconnector.loadtest;
+
+import de.fraunhofer.iais.eis.DynamicAttributeToken;
+import de.fraunhofer.iais.eis.DynamicAttributeTokenBuilder;
+import de.fraunhofer.iais.eis.TokenFormat;
+import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Replaces the DAPS by a token provider returning a static token, so the connectors neither need
+ * a DAPS nor a registered certificate. Incoming tokens are not validated as the load test
+ * configuration uses the test deployment mode.
+ */
+public class StubDaps implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    /**
+     * The static token.
+     */
+    static final String TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJub25lIn0.eyJzdWIiOiJsb2FkLXRlc3QifQ.";
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        context.registerBean("stubDapsTokenProvider", DapsTokenProvider.class,
+            StubDaps::tokenProvider, definition -> definition.setPrimary(true));
+    }
+
+    private static DapsTokenProvider tokenProvider() {
+        final DynamicAttributeToken token = new DynamicAttributeTokenBuilder()
+            ._tokenFormat_(TokenFormat.JWT)
+            ._tokenValue_(TOKEN)
+            .build();
+
+        final var tokenProvider = Mockito.mock(DapsTokenProvider.class,
+            Mockito.withSettings().stubOnly());
+        Mockito.when(tokenProvider.getDAT()).thenReturn(token);
+        Mockito.when(tokenProvider.provideDapsToken()).thenReturn(TOKEN);
+        return tokenProvider;
+    }
+}
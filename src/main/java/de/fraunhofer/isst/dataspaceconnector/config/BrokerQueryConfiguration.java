@@ -0,0 +1,33 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * This class holds the settings of broker queries.
+ */
+@Configuration
+public class BrokerQueryConfiguration {
+    @Value("${broker-query.max-response-size:64MB}")
+    private DataSize maxResponseSize;
+
+    @Value("${broker-query.max-page-size:10000}")
+    private int maxPageSize;
+
+    public DataSize getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public void setMaxResponseSize(DataSize maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
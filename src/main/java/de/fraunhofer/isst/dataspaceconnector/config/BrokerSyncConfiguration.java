@@ -0,0 +1,90 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class holds the settings of the broker synchronization.
+ */
+@Configuration
+public class BrokerSyncConfiguration {
+    @Value("${broker-sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("#{'${broker-sync.brokers:}'.split(',')}")
+    private List<String> brokers;
+
+    @Value("${broker-sync.batch-size:100}")
+    private int batchSize;
+
+    @Value("${broker-sync.concurrency:4}")
+    private int concurrency;
+
+    @Value("${broker-sync.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${broker-sync.retry-delay:1s}")
+    private Duration retryDelay;
+
+    @Value("${broker-sync.watermark-skew:10s}")
+    private Duration watermarkSkew;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getBrokers() {
+        return brokers;
+    }
+
+    public void setBrokers(List<String> brokers) {
+        this.brokers = brokers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public Duration getWatermarkSkew() {
+        return watermarkSkew;
+    }
+
+    public void setWatermarkSkew(Duration watermarkSkew) {
+        this.watermarkSkew = watermarkSkew;
+    }
+}
@@ -0,0 +1,67 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * This class holds the settings of the clearing house logging.
+ */
+@Configuration
+public class ClearingHouseConfiguration {
+    @Value("${clearing-house.enabled:false}")
+    private boolean enabled;
+
+    @Value("${clearing-house.batch-size:50}")
+    private int batchSize;
+
+    @Value("${clearing-house.retry-delay:1s}")
+    private Duration retryDelay;
+
+    @Value("${clearing-house.max-retry-delay:1h}")
+    private Duration maxRetryDelay;
+
+    @Value("${clearing-house.max-attempts:10}")
+    private int maxAttempts;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    public Duration getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    public void setMaxRetryDelay(Duration maxRetryDelay) {
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+}
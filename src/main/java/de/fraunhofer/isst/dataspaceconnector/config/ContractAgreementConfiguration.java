@@ -0,0 +1,21 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class holds the settings of the contract agreement storage.
+ */
+@Configuration
+public class ContractAgreementConfiguration {
+    @Value("${contract-agreement.cache-size:1000}")
+    private int cacheSize;
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
@@ -0,0 +1,134 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class holds the settings of the http tracing filter.
+ */
+@Configuration
+public class HttpTraceConfiguration {
+    @Value("${http-tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http-tracing.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${http-tracing.capture-bodies:false}")
+    private boolean captureBodies;
+
+    @Value("${http-tracing.max-body-size:4096}")
+    private int maxBodySize;
+
+    @Value("#{'${http-tracing.redacted-headers:Authorization,Proxy-Authorization,Cookie,Set-Cookie}'.split(',')}")
+    private List<String> redactedHeaders;
+
+    @Value("#{'${http-tracing.include-paths:/**}'.split(',')}")
+    private List<String> includePaths;
+
+    @Value("#{'${http-tracing.exclude-paths:/admin/database/**}'.split(',')}")
+    private List<String> excludePaths;
+
+    @Value("${http-tracing.buffer-capacity:1024}")
+    private int bufferCapacity;
+
+    @Value("${http-tracing.store.enabled:true}")
+    private boolean storeEnabled;
+
+    @Value("${http-tracing.store.batch-size:100}")
+    private int storeBatchSize;
+
+    @Value("${http-tracing.store.retention:24h}")
+    private Duration storeRetention;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isCaptureBodies() {
+        return captureBodies;
+    }
+
+    public void setCaptureBodies(boolean captureBodies) {
+        this.captureBodies = captureBodies;
+    }
+
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public List<String> getRedactedHeaders() {
+        return redactedHeaders;
+    }
+
+    public void setRedactedHeaders(List<String> redactedHeaders) {
+        this.redactedHeaders = redactedHeaders;
+    }
+
+    public List<String> getIncludePaths() {
+        return includePaths;
+    }
+
+    public void setIncludePaths(List<String> includePaths) {
+        this.includePaths = includePaths;
+    }
+
+    public List<String> getExcludePaths() {
+        return excludePaths;
+    }
+
+    public void setExcludePaths(List<String> excludePaths) {
+        this.excludePaths = excludePaths;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public boolean isStoreEnabled() {
+        return storeEnabled;
+    }
+
+    public void setStoreEnabled(boolean storeEnabled) {
+        this.storeEnabled = storeEnabled;
+    }
+
+    public int getStoreBatchSize() {
+        return storeBatchSize;
+    }
+
+    public void setStoreBatchSize(int storeBatchSize) {
+        this.storeBatchSize = storeBatchSize;
+    }
+
+    public Duration getStoreRetention() {
+        return storeRetention;
+    }
+
+    public void setStoreRetention(Duration storeRetention) {
+        this.storeRetention = storeRetention;
+    }
+}
@@ -0,0 +1,95 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import de.fraunhofer.isst.dataspaceconnector.services.utils.FastIdGenerator;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.JdkIdGenerator;
+
+/**
+ * This class holds the settings of the id generation and provides the id generators for resources
+ * and http traces.
+ */
+@Configuration
+public class IdGenerationConfiguration {
+    @Value("${id-generation.resources:TIME_ORDERED}")
+    private IdGenerationStrategy resourceStrategy;
+
+    @Value("${id-generation.traces:FAST}")
+    private IdGenerationStrategy traceStrategy;
+
+    public IdGenerationStrategy getResourceStrategy() {
+        return resourceStrategy;
+    }
+
+    public void setResourceStrategy(IdGenerationStrategy resourceStrategy) {
+        this.resourceStrategy = resourceStrategy;
+    }
+
+    public IdGenerationStrategy getTraceStrategy() {
+        return traceStrategy;
+    }
+
+    public void setTraceStrategy(IdGenerationStrategy traceStrategy) {
+        this.traceStrategy = traceStrategy;
+    }
+
+    /**
+     * Bean generating the ids of new resources and representations.
+     *
+     * @return The id generator for resources
+     */
+    @Bean
+    public IdGenerator resourceIdGenerator() {
+        return resourceStrategy.createGenerator();
+    }
+
+    /**
+     * Bean generating the ids of http traces.
+     *
+     * @return The id generator for traces
+     */
+    @Bean
+    public IdGenerator traceIdGenerator() {
+        return traceStrategy.createGenerator();
+    }
+
+    public enum IdGenerationStrategy {
+        /**
+         * Time-ordered version 7 UUIDs, see {@link TimeOrderedIdGenerator}.
+         */
+        TIME_ORDERED("TIME_ORDERED"),
+        /**
+         * Version 4 UUIDs from {@link java.util.UUID#randomUUID()}.
+         */
+        RANDOM("RANDOM"),
+        /**
+         * Non-cryptographic version 4 UUIDs, see {@link FastIdGenerator}.
+         */
+        FAST("FAST");
+
+        private final String strategy;
+
+        IdGenerationStrategy(String string) {
+            strategy = string;
+        }
+
+        IdGenerator createGenerator() {
+            switch (this) {
+                case TIME_ORDERED:
+                    return new TimeOrderedIdGenerator();
+                case FAST:
+                    return new FastIdGenerator();
+                default:
+                    return new JdkIdGenerator();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return strategy;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * This class holds the settings for reading the payloads of incoming IDS messages.
+ */
+@Configuration
+public class MessagePayloadConfiguration {
+    @Value("${message-payload.max-size:16MB}")
+    private DataSize maxSize;
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
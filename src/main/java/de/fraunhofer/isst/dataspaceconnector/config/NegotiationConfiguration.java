@@ -0,0 +1,45 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * This class holds the settings of contract negotiations started by this connector.
+ */
+@Configuration
+public class NegotiationConfiguration {
+    @Value("${negotiation.concurrency:8}")
+    private int concurrency;
+
+    @Value("${negotiation.instance-id:${random.uuid}}")
+    private String instanceId;
+
+    @Value("${negotiation.lease:5m}")
+    private Duration lease;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+}
@@ -0,0 +1,43 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class holds the settings of the in-memory cache of offered and requested resources.
+ */
+@Configuration
+public class ResourceCacheConfiguration {
+    @Value("${resource-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${resource-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${resource-cache.shared-database:false}")
+    private boolean sharedDatabase;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public boolean isSharedDatabase() {
+        return sharedDatabase;
+    }
+
+    public void setSharedDatabase(boolean sharedDatabase) {
+        this.sharedDatabase = sharedDatabase;
+    }
+}
@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * This class holds the settings of the connector self-description.
+ */
+@Configuration
+public class SelfDescriptionConfiguration {
+    @Value("${self-description.chunk-size:256}")
+    private int chunkSize;
+
+    @Value("${self-description.max-resources:0}")
+    private int maxResources;
+
+    @Value("${self-description.cache-max-resources:1000}")
+    private int cacheMaxResources;
+
+    @Value("${self-description.shared-catalog-check:5s}")
+    private Duration sharedCatalogCheck;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxResources() {
+        return maxResources;
+    }
+
+    public void setMaxResources(int maxResources) {
+        this.maxResources = maxResources;
+    }
+
+    public int getCacheMaxResources() {
+        return cacheMaxResources;
+    }
+
+    public void setCacheMaxResources(int cacheMaxResources) {
+        this.cacheMaxResources = cacheMaxResources;
+    }
+
+    public Duration getSharedCatalogCheck() {
+        return sharedCatalogCheck;
+    }
+
+    public void setSharedCatalogCheck(Duration sharedCatalogCheck) {
+        this.sharedCatalogCheck = sharedCatalogCheck;
+    }
+}
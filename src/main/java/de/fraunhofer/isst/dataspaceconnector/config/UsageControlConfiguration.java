@@ -0,0 +1,121 @@
+package de.fraunhofer.isst.dataspaceconnector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class holds the settings of the remote policy decision point that is used when the usage
+ * control framework is set to MYDATA or MYDATA_INTERCEPTOR.
+ */
+@Configuration
+public class UsageControlConfiguration {
+    @Value("${policy.pdp.url:http://localhost:8081/policy/decision}")
+    private String pdpUrl;
+
+    @Value("${policy.pdp.timeout:2000}")
+    private long timeout;
+
+    @Value("${policy.pdp.max-idle-connections:16}")
+    private int maxIdleConnections;
+
+    @Value("${policy.pdp.cache.ttl:30000}")
+    private long cacheTtl;
+
+    @Value("${policy.pdp.cache.refresh-ahead:5000}")
+    private long cacheRefreshAhead;
+
+    @Value("${policy.pdp.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${policy.pdp.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${policy.pdp.breaker.open-duration:30000}")
+    private long breakerOpenDuration;
+
+    @Value("${policy.pdp.fallback-decision:false}")
+    private boolean fallbackDecision;
+
+    @Value("${policy.pdp.stale-if-error:0}")
+    private long staleIfError;
+
+    public String getPdpUrl() {
+        return pdpUrl;
+    }
+
+    public void setPdpUrl(String pdpUrl) {
+        this.pdpUrl = pdpUrl;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getCacheRefreshAhead() {
+        return cacheRefreshAhead;
+    }
+
+    public void setCacheRefreshAhead(long cacheRefreshAhead) {
+        this.cacheRefreshAhead = cacheRefreshAhead;
+    }
+
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    public void setBreakerFailureThreshold(int breakerFailureThreshold) {
+        this.breakerFailureThreshold = breakerFailureThreshold;
+    }
+
+    public long getBreakerOpenDuration() {
+        return breakerOpenDuration;
+    }
+
+    public void setBreakerOpenDuration(long breakerOpenDuration) {
+        this.breakerOpenDuration = breakerOpenDuration;
+    }
+
+    public boolean isFallbackDecision() {
+        return fallbackDecision;
+    }
+
+    public void setFallbackDecision(boolean fallbackDecision) {
+        this.fallbackDecision = fallbackDecision;
+    }
+
+    public long getStaleIfError() {
+        return staleIfError;
+    }
+
+    public void setStaleIfError(long staleIfError) {
+        this.staleIfError = staleIfError;
+    }
+}
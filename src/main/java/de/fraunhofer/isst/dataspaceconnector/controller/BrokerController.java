@@ -5,6 +5,8 @@ import de.fraunhofer.iais.eis.ConfigurationModelImpl;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ResourceCatalogBuilder;
 import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.config.BrokerQueryConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.PayloadTooLargeException;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
 import de.fraunhofer.isst.ids.framework.communication.broker.IDSBrokerService;
@@ -17,14 +19,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import static de.fraunhofer.isst.dataspaceconnector.services.utils.ControllerUtils.*;
 
@@ -37,10 +45,17 @@ import static de.fraunhofer.isst.dataspaceconnector.services.utils.ControllerUti
     description = "Endpoints for invoking broker communication")
 public class BrokerController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrokerController.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final Pattern LIMIT_OR_OFFSET =
+        Pattern.compile("\\b(LIMIT|OFFSET)\\s+\\d+", Pattern.CASE_INSENSITIVE);
+
     private final DapsTokenProvider tokenProvider;
     private final IDSBrokerService brokerService;
     private final ResourceService resourceService;
     private final ConfigurationContainer configurationContainer;
+    private final BrokerQueryConfiguration queryConfiguration;
 
     /**
      * Constructor for BrokerController.
@@ -49,13 +64,15 @@ public class BrokerController {
      * @param configurationContainer The container with the configuration
      * @param offeredResourceService The service for the offered resources
      * @param brokerService The service for the broker
+     * @param queryConfiguration The broker query configuration
      * @throws IllegalArgumentException if any of the parameters is null.
      */
     @Autowired
     public BrokerController(DapsTokenProvider tokenProvider,
         ConfigurationContainer configurationContainer,
         OfferedResourceServiceImpl offeredResourceService,
-        IDSBrokerService brokerService)
+        IDSBrokerService brokerService,
+        BrokerQueryConfiguration queryConfiguration)
         throws IllegalArgumentException {
         if (offeredResourceService == null)
             throw new IllegalArgumentException("The OfferedResourceService cannot be null.");
@@ -69,10 +86,14 @@ public class BrokerController {
         if (brokerService == null)
             throw new IllegalArgumentException("The IDSBrokerService cannot be null.");
 
+        if (queryConfiguration == null)
+            throw new IllegalArgumentException("The BrokerQueryConfiguration cannot be null.");
+
         this.tokenProvider = tokenProvider;
         this.resourceService = offeredResourceService;
         this.configurationContainer = configurationContainer;
         this.brokerService = brokerService;
+        this.queryConfiguration = queryConfiguration;
     }
 
     /**
@@ -146,42 +167,98 @@ public class BrokerController {
     }
 
     /**
-     * Pass a query message to an ids broker.
+     * Pass a query message to an ids broker. The broker response is streamed to the caller
+     * without being buffered. If a page is requested, the query is limited accordingly.
      *
      * @param url The broker address.
-     * @return The broker response message or an error.
+     * @param page The page of the query results.
+     * @param size The number of query results per page.
+     * @param query The SPARQL query.
+     * @param response The http response the broker response is written to.
+     * @return Error response or null, if the broker response has been written.
+     * @throws IOException if the broker response could not be passed on.
      */
     @Operation(summary = "Broker Query Request", description = "Send a query request to an IDS broker.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "400", description = "Invalid page"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")})
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "502", description = "Broker response too large")})
     @RequestMapping(value = "/query", method = RequestMethod.POST)
     @ResponseBody
     public ResponseEntity<String> queryBroker(
         @Parameter(description = "The url of the broker.",
             required = true, example = "https://broker.ids.isst.fraunhofer.de/infrastructure")
         @RequestParam("broker") String url,
+        @Parameter(description = "The page of the query results.")
+        @RequestParam(value = "page", required = false) Integer page,
+        @Parameter(description = "The number of query results per page.")
+        @RequestParam(value = "size", required = false) Integer size,
         @Schema(description = "Database query (SparQL)", required = true,
             example = "SELECT ?subject ?predicate ?object\n" +
                 "FROM <urn:x-arq:UnionGraph>\n" +
                 "WHERE {\n" +
                 "  ?subject ?predicate ?object\n" +
-                "};") @RequestBody String query) {
+                "};") @RequestBody String query,
+        HttpServletResponse response) throws IOException {
         // Make sure the request is authorized.
-        if (tokenProvider.getDAT() != null) {
-            // Send the query request to the broker.
-            try {
-                final var brokerResponse = brokerService.queryBroker(url, query,
-                    null, null, null);
-                return new ResponseEntity<>(brokerResponse.body().string(), HttpStatus.OK);
-            } catch (IOException exception) {
-                return respondBrokerCommunicationFailed(exception);
-            }
-        } else {
+        if (tokenProvider.getDAT() == null) {
             // The request was unauthorized.
             return respondRejectUnauthorized(url);
         }
+
+        var brokerQuery = query;
+        if (page != null || size != null) {
+            final int pageNumber = page == null ? 0 : page;
+            final int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > queryConfiguration.getMaxPageSize()) {
+                return new ResponseEntity<>("The page must not be negative and the size must be "
+                    + "between 1 and " + queryConfiguration.getMaxPageSize() + ".",
+                    HttpStatus.BAD_REQUEST);
+            }
+
+            if (LIMIT_OR_OFFSET.matcher(query).find()) {
+                return new ResponseEntity<>("A query with LIMIT or OFFSET cannot be paged.",
+                    HttpStatus.BAD_REQUEST);
+            }
+
+            brokerQuery = withPage(query, pageNumber, pageSize);
+        }
+
+        // Send the query request to the broker.
+        try (var brokerResponse = brokerService.queryBroker(url, brokerQuery,
+            null, null, null)) {
+            final var body = brokerResponse.body();
+            if (body == null) {
+                return respondBrokerCommunicationFailed(
+                    new IOException("The broker response has no body."));
+            }
+
+            final var maxSize = queryConfiguration.getMaxResponseSize().toBytes();
+            if (body.contentLength() > maxSize) {
+                LOGGER.debug("Broker response too large. [url=({}), size=({})]", url,
+                    body.contentLength());
+                return new ResponseEntity<>("The broker response exceeds the size limit.",
+                    HttpStatus.BAD_GATEWAY);
+            }
+
+            response.setStatus(HttpStatus.OK.value());
+            final var contentType = body.contentType();
+            if (contentType != null) {
+                response.setContentType(contentType.toString());
+            }
+
+            copy(body.byteStream(), response.getOutputStream(), maxSize);
+            return null;
+        } catch (PayloadTooLargeException exception) {
+            abortIfCommitted(response, exception);
+            return new ResponseEntity<>("The broker response exceeds the size limit.",
+                HttpStatus.BAD_GATEWAY);
+        } catch (IOException exception) {
+            abortIfCommitted(response, exception);
+            return respondBrokerCommunicationFailed(exception);
+        }
     }
 
     /**
@@ -295,4 +372,52 @@ public class BrokerController {
 
         configurationContainer.updateConfiguration(configurationModel);
     }
+
+    /**
+     * Limits a query to a page of results.
+     */
+    private static String withPage(String query, int page, int size) {
+        var end = query.length();
+        while (end > 0 && (Character.isWhitespace(query.charAt(end - 1))
+            || query.charAt(end - 1) == ';')) {
+            end--;
+        }
+
+        return query.substring(0, end) + "\nLIMIT " + size + "\nOFFSET " + (long) page * size;
+    }
+
+    /**
+     * Prepares the response for an error after a failed transfer. Bytes that have not been sent
+     * yet are dropped, so the error is not appended to a partial result.
+     *
+     * @throws IOException the exception, if a part of the result has been sent already. This
+     *                     aborts the transfer, so that the caller does not take a partial result.
+     */
+    private static void abortIfCommitted(HttpServletResponse response, IOException exception)
+        throws IOException {
+        if (response.isCommitted()) {
+            throw exception;
+        }
+
+        response.resetBuffer();
+    }
+
+    /**
+     * Copies the broker response, failing as soon as it exceeds the size limit.
+     */
+    private static void copy(InputStream input, OutputStream output, long maxSize)
+        throws IOException {
+        final var buffer = new byte[8192];
+        var total = 0L;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            total += read;
+            if (total > maxSize) {
+                LOGGER.warn("Aborted a broker response exceeding the size limit. "
+                    + "[maxSize=({})]", maxSize);
+                throw new PayloadTooLargeException("The broker response exceeds the size limit.");
+            }
+            output.write(buffer, 0, read);
+        }
+    }
 }
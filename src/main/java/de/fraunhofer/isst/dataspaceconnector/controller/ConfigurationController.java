@@ -1,6 +1,7 @@
 package de.fraunhofer.isst.dataspaceconnector.controller;
 
 import de.fraunhofer.iais.eis.ConfigurationModel;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationUpdateException;
 import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
@@ -31,25 +32,32 @@ public class ConfigurationController {
 
     private final ConfigurationContainer configurationContainer;
     private final SerializerProvider serializerProvider;
+    private final SelfDescriptionVersion selfDescriptionVersion;
 
     /**
      * Constructor for ConfigurationController.
      *
      * @param configurationContainer The container with the configuration
      * @param serializerProvider The provider for serialization
+     * @param selfDescriptionVersion The version of the self-description
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
     public ConfigurationController(ConfigurationContainer configurationContainer,
-        SerializerProvider serializerProvider) throws IllegalArgumentException {
+        SerializerProvider serializerProvider, SelfDescriptionVersion selfDescriptionVersion)
+        throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
 
         if (serializerProvider == null)
             throw new IllegalArgumentException("The SerializerProvider cannot be null.");
 
+        if (selfDescriptionVersion == null)
+            throw new IllegalArgumentException("The SelfDescriptionVersion cannot be null.");
+
         this.configurationContainer = configurationContainer;
         this.serializerProvider = serializerProvider;
+        this.selfDescriptionVersion = selfDescriptionVersion;
     }
 
     @Hidden
@@ -69,6 +77,7 @@ public class ConfigurationController {
                 serializer.deserialize(updatedConfiguration, ConfigurationModel.class);
 
             configurationContainer.updateConfiguration(new_configurationModel);
+            selfDescriptionVersion.configurationChanged();
             return new ResponseEntity<>("Configuration successfully updated.", HttpStatus.OK);
         } catch (NullPointerException exception) {
             LOGGER.warn("Failed to receive the serializer. [exception=({})]", exception.getMessage());
@@ -1,34 +1,42 @@
 package de.fraunhofer.isst.dataspaceconnector.controller;
 
-import de.fraunhofer.iais.eis.BaseConnectorImpl;
-import de.fraunhofer.iais.eis.ResourceCatalog;
-import de.fraunhofer.iais.eis.ResourceCatalogBuilder;
-import de.fraunhofer.iais.eis.util.ConstraintViolationException;
-import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.isst.dataspaceconnector.config.PolicyConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.ConnectorConfigurationException;
-import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
-import de.fraunhofer.isst.dataspaceconnector.services.resources.RequestedResourceServiceImpl;
-import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
-import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
-import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings.Phase;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescription;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionService;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionService.Catalog;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.StreamedSelfDescription;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * This class provides endpoints for basic connector services.
@@ -39,69 +47,55 @@ public class MainController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MainController.class);
 
-    private final SerializerProvider serializerProvider;
-    private final ResourceService offeredResourceService, requestedResourceService;
+    private static final MediaType JSON_LD = MediaType.parseMediaType("application/ld+json");
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final SelfDescriptionService selfDescriptionService;
     private final PolicyConfiguration policyConfiguration;
-    private final ConfigurationContainer configurationContainer;
 
     /**
      * Constructor for MainController.
      *
-     * @param serializerProvider The provider for serialization
-     * @param offeredResourceService The service for the offered resources
-     * @param requestedResourceService The service for the requested resources
+     * @param selfDescriptionService The service for building the self-description
+     * @param policyConfiguration The policy configuration
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
-    public MainController(SerializerProvider serializerProvider,
-                          OfferedResourceServiceImpl offeredResourceService,
-                          RequestedResourceServiceImpl requestedResourceService,
-                          ConfigurationContainer configurationContainer,
+    public MainController(SelfDescriptionService selfDescriptionService,
                           PolicyConfiguration policyConfiguration) throws IllegalArgumentException {
-        if (serializerProvider == null)
-            throw new IllegalArgumentException("The SerializerProvider cannot be null.");
-
-        if (offeredResourceService == null)
-            throw new IllegalArgumentException("The OfferedResourceService cannot be null.");
-
-        if (requestedResourceService == null)
-            throw new IllegalArgumentException("The RequestedResourceService cannot be null.");
+        if (selfDescriptionService == null)
+            throw new IllegalArgumentException("The SelfDescriptionService cannot be null.");
 
         if (policyConfiguration == null)
             throw new IllegalArgumentException("The PolicyConfiguration cannot be null.");
 
-        if (configurationContainer == null)
-            throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
-
-        this.serializerProvider = serializerProvider;
-        this.offeredResourceService = offeredResourceService;
-        this.requestedResourceService = requestedResourceService;
+        this.selfDescriptionService = selfDescriptionService;
         this.policyConfiguration = policyConfiguration;
-        this.configurationContainer = configurationContainer;
     }
 
     /**
      * Gets connector self-description without catalog.
      *
-     * @return Self-description or error response.
+     * @param acceptEncoding The encodings accepted by the client.
+     * @return Self-description, not modified or error response.
      */
     @Operation(summary = "Public Endpoint for Connector Self-description",
         description = "Get the connector's reduced self-description.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")})
     @RequestMapping(value = {"/", ""}, method = RequestMethod.GET)
     @ResponseBody
-    public ResponseEntity<String> getPublicSelfDescription() {
+    public ResponseEntity<Object> getPublicSelfDescription(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
         try {
-            // Get a local copy of the current connector.
-            var connector = (BaseConnectorImpl) configurationContainer.getConnector();
-
-            // Modify a connector for exposing the reduced self-description.
-            connector.setResourceCatalog(null);
-
-            return new ResponseEntity<>(serializerProvider.getSerializer().serialize(connector),
-                HttpStatus.OK);
+            return respondSelfDescription(ResponseEntity.ok(), acceptEncoding,
+                RequestTimings.time(Phase.SERIALIZATION,
+                    () -> selfDescriptionService.getSelfDescription(Catalog.NONE, 0)));
         } catch (ConnectorConfigurationException exception) {
             // No connector found
             LOGGER.warn("No connector has been configurated.");
@@ -117,37 +111,69 @@ public class MainController {
     }
 
     /**
-     * Gets connector self-description.
+     * Gets connector self-description. With paging, the offered and the requested resources are
+     * paged alike and the neighbouring pages are linked in the Link header. A complete catalog
+     * too large to be kept in memory is streamed.
      *
-     * @return Self-description or error response.
+     * @param page The page of the resource catalog.
+     * @param size The number of resources per page.
+     * @param acceptEncoding The encodings accepted by the client.
+     * @param request The request, for answering conditional requests.
+     * @return Self-description, not modified or error response.
      */
     @Operation(summary = "Connector Self-description",
         description = "Get the connector's self-description.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid page"),
             @ApiResponse(responseCode = "500", description = "Internal server error")})
     @RequestMapping(value = {"/admin/api/connector"}, method = RequestMethod.GET)
     @ResponseBody
-    public ResponseEntity<String> getSelfService() {
+    public ResponseEntity<StreamingResponseBody> getSelfService(
+        @Parameter(description = "The page of the resource catalog.")
+        @RequestParam(value = "page", required = false) Integer page,
+        @Parameter(description = "The number of resources per page.")
+        @RequestParam(value = "size", required = false) Integer size,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding, WebRequest request) {
         try {
-            // Get a local copy of the current connector.
-            var connector = (BaseConnectorImpl) configurationContainer.getConnector();
+            if (page == null && size == null) {
+                if (!selfDescriptionService.isCached(Catalog.ALL, 0)) {
+                    return streamSelfDescription(request, ResponseEntity.ok(), acceptEncoding,
+                        selfDescriptionService.streamSelfDescription(Catalog.ALL));
+                }
 
-            // Modify a connector for exposing a resource catalog
-            connector.setResourceCatalog(Util.asList(buildResourceCatalog()));
+                return streamSelfDescription(request, ResponseEntity.ok(), acceptEncoding,
+                    RequestTimings.time(Phase.SERIALIZATION,
+                        () -> selfDescriptionService.getSelfDescription(Catalog.ALL, 0)));
+            }
 
-            return new ResponseEntity<>(serializerProvider.getSerializer().serialize(connector),
-                HttpStatus.OK);
+            final int pageNumber = page == null ? 0 : page;
+            final int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                LOGGER.debug("Invalid self-description page. [page=({}), size=({})]", page,
+                    size);
+                return respondText("The page must not be negative and the size must be "
+                    + "between 1 and " + MAX_PAGE_SIZE + ".", HttpStatus.BAD_REQUEST);
+            }
+
+            final var pageable = PageRequest.of(pageNumber, pageSize);
+            final var total = selfDescriptionService.countResources(Catalog.ALL);
+            return streamSelfDescription(request,
+                ResponseEntity.ok().header(HttpHeaders.LINK, buildPageLinks(pageable, total)),
+                acceptEncoding, RequestTimings.time(Phase.SERIALIZATION,
+                    () -> selfDescriptionService.getSelfDescription(Catalog.ALL, pageable)));
         } catch (ConnectorConfigurationException exception) {
             // No connector found
             LOGGER.warn("No connector has been configurated.");
-            return new ResponseEntity<>("No connector is currently available.",
+            return respondText("No connector is currently available.",
                 HttpStatus.INTERNAL_SERVER_ERROR);
         } catch (IOException exception) {
             // Could not serialize the connector.
             LOGGER.warn("Could not serialize the connector. [exception=({})]",
                 exception.getMessage());
-            return new ResponseEntity<>("No connector is currently available.",
+            return respondText("No connector is currently available.",
                 HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -234,10 +260,138 @@ public class MainController {
         }
     }
 
-    private ResourceCatalog buildResourceCatalog() throws ConstraintViolationException {
-        return new ResourceCatalogBuilder()
-            ._offeredResource_(new ArrayList<>(offeredResourceService.getResources()))
-            ._requestedResource_(new ArrayList<>(requestedResourceService.getResources()))
-            .build();
+    /**
+     * Builds the response for a self-description. The validators let Spring answer conditional
+     * requests with 304 Not Modified. The body is sent gzip encoded if the client accepts it.
+     */
+    private static ResponseEntity<Object> respondSelfDescription(
+        ResponseEntity.BodyBuilder response, String acceptEncoding,
+        SelfDescription selfDescription) {
+        response.contentType(JSON_LD)
+            .eTag(selfDescription.getETag())
+            .lastModified(selfDescription.getLastModified())
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(selfDescription.getGzipBody());
+        }
+
+        return response.body(selfDescription.getBody());
+    }
+
+    /**
+     * Builds the streamed response for a self-description kept in memory.
+     */
+    private static ResponseEntity<StreamingResponseBody> streamSelfDescription(WebRequest request,
+        ResponseEntity.BodyBuilder response, String acceptEncoding,
+        SelfDescription selfDescription) {
+        return streamSelfDescription(request, response, acceptEncoding, selfDescription.getETag(),
+            selfDescription.getLastModified(),
+            output -> output.write(selfDescription.getBody()),
+            output -> output.write(selfDescription.getGzipBody()));
+    }
+
+    /**
+     * Builds the streamed response for a self-description that is written while it is sent.
+     * Every chunk of resources is passed on, also when it is compressed.
+     */
+    private static ResponseEntity<StreamingResponseBody> streamSelfDescription(WebRequest request,
+        ResponseEntity.BodyBuilder response, String acceptEncoding,
+        StreamedSelfDescription selfDescription) {
+        return streamSelfDescription(request, response, acceptEncoding, selfDescription.getETag(),
+            selfDescription.getLastModified(), selfDescription::writeTo, output -> {
+                final var gzip = new GZIPOutputStream(output, true);
+                selfDescription.writeTo(gzip);
+                gzip.finish();
+            });
+    }
+
+    /**
+     * Spring does not check the validators of streamed bodies, so conditional requests are
+     * answered with 304 Not Modified here, before the body is built. The check also sets the
+     * validators of the response.
+     */
+    private static ResponseEntity<StreamingResponseBody> streamSelfDescription(WebRequest request,
+        ResponseEntity.BodyBuilder response, String acceptEncoding, String eTag,
+        long lastModified, StreamingResponseBody body, StreamingResponseBody gzipBody) {
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+
+        response.contentType(JSON_LD)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipBody);
+        }
+
+        return response.body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> respondText(String text,
+        HttpStatus status) {
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN)
+            .body(output -> output.write(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        // An explicit gzip coding takes precedence over the wildcard.
+        var wildcard = false;
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parameters = coding.split(";");
+            final var name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                return !isRejected(parameters);
+            } else if (name.equals("*")) {
+                wildcard = !isRejected(parameters);
+            }
+        }
+
+        return wildcard;
+    }
+
+    private static boolean isRejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final var parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException exception) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static String buildPageLinks(Pageable pageable, long total) {
+        final var lastPage = Math.max((total - 1) / pageable.getPageSize(), 0);
+        final var links = new ArrayList<String>();
+        links.add(buildPageLink(pageable, 0, "first"));
+        if (pageable.getPageNumber() > 0) {
+            links.add(buildPageLink(pageable,
+                Math.min(pageable.getPageNumber() - 1, lastPage), "prev"));
+        }
+        if (pageable.getPageNumber() < lastPage) {
+            links.add(buildPageLink(pageable, pageable.getPageNumber() + 1, "next"));
+        }
+        links.add(buildPageLink(pageable, lastPage, "last"));
+        return String.join(", ", links);
+    }
+
+    private static String buildPageLink(Pageable pageable, long page, String relation) {
+        final var uri = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("page", page)
+            .replaceQueryParam("size", pageable.getPageSize())
+            .toUriString();
+        return "<" + uri + ">; rel=\"" + relation + "\"";
     }
 }
@@ -1,7 +1,6 @@
 package de.fraunhofer.isst.dataspaceconnector.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.ContractException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageBuilderException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
@@ -9,8 +8,8 @@ import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageNotSentEx
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageResponseException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.InvalidResourceException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceException;
-import de.fraunhofer.isst.dataspaceconnector.model.RequestedResource;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.ContractNegotiationService;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.NegotiationService;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ArtifactMessageService;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
@@ -18,6 +17,7 @@ import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.De
 import de.fraunhofer.isst.dataspaceconnector.services.resources.RequestedResourceServiceImpl;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
 import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.JsonUtils;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.ValidationUtils;
 import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.Map;
@@ -52,8 +53,8 @@ public class RequestController {
     private final DescriptionMessageService descriptionMessageService;
     private final ContractMessageService contractMessageService;
     private final NegotiationService negotiationService;
+    private final ContractNegotiationService contractNegotiationService;
     private final ResourceService resourceService;
-    private final ObjectMapper objectMapper;
 
 
     /**
@@ -64,6 +65,7 @@ public class RequestController {
      * @param descriptionMessageService The service for description messages
      * @param contractMessageService The service for contract messages
      * @param negotiationService The service for negotiations
+     * @param contractNegotiationService The service for negotiation sessions
      * @param requestedResourceService The service for the requested resources
      * @throws IllegalArgumentException if any of the parameters is null.
      */
@@ -73,6 +75,7 @@ public class RequestController {
                              DescriptionMessageService descriptionMessageService,
                              ContractMessageService contractMessageService,
                              NegotiationService negotiationService,
+                             ContractNegotiationService contractNegotiationService,
                              RequestedResourceServiceImpl requestedResourceService)
         throws IllegalArgumentException {
         if (tokenProvider == null)
@@ -90,6 +93,9 @@ public class RequestController {
         if (negotiationService == null)
             throw new IllegalArgumentException("The NegotiationService cannot be null.");
 
+        if (contractNegotiationService == null)
+            throw new IllegalArgumentException("The ContractNegotiationService cannot be null.");
+
         if (requestedResourceService == null)
             throw new IllegalArgumentException("The RequestedResourceServiceImpl cannot be null.");
 
@@ -98,8 +104,8 @@ public class RequestController {
         this.descriptionMessageService = descriptionMessageService;
         this.contractMessageService = contractMessageService;
         this.negotiationService = negotiationService;
+        this.contractNegotiationService = contractNegotiationService;
         this.resourceService = requestedResourceService;
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -219,8 +225,9 @@ public class RequestController {
             // Start policy negotiation.
             final var request = negotiationService.buildContractRequest(contractOffer, artifactId);
             // Send ContractRequestMessage.
-            contractMessageService.setRequestParameters(recipient, request.getId());
-            response = contractMessageService.sendRequestMessage(request.toRdf());
+            response = contractMessageService.sendMessage(
+                contractMessageService.buildRequestHeader(recipient, request.getId()),
+                request.toRdf(), recipient);
         } catch (IllegalArgumentException exception) {
             LOGGER.warn("Failed to build contract request. [exception=({})]", exception.getMessage());
             return new ResponseEntity<>("Failed to build contract request.",
@@ -285,6 +292,118 @@ public class RequestController {
         return new ResponseEntity<>(String.valueOf(agreementId), HttpStatus.OK);
     }
 
+    /**
+     * Starts a contract negotiation with a connector in the background. The outcome can be polled
+     * with the returned session.
+     *
+     * @param recipient The URI of the requested IDS connector.
+     * @param artifactId The URI of the requested artifact.
+     * @param contractOffer The contract offer for the requested resource.
+     * @return The new negotiation session or an error response.
+     */
+    @Operation(summary = "Start Contract Negotiation",
+        description = "Start a contract negotiation with another IDS connector. The returned "
+            + "session is updated in the background.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid contract offer"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")})
+    @RequestMapping(value = "/negotiation", method = RequestMethod.POST)
+    @ResponseBody
+    public ResponseEntity<Object> startNegotiation(
+        @Parameter(description = "The URI of the requested IDS connector.", required = true,
+            example = "https://localhost:8080/api/ids/data")
+        @RequestParam("recipient") URI recipient,
+        @Parameter(description = "The URI of the requested artifact.", required = true,
+            example = "https://w3id.org/idsa/autogen/artifact/a4212311-86e4-40b3-ace3-ef29cd687cf9")
+        @RequestParam(value = "requestedArtifact") URI artifactId,
+        @Parameter(description = "The contract offer for the requested resource.")
+        @RequestBody(required = false) String contractOffer) {
+        if (tokenProvider.getDAT() == null) {
+            LOGGER.debug("Unauthorized call. No DAT token found. [recipient=({}), "
+                + "requestedArtifact=({})]", recipient, artifactId);
+            return new ResponseEntity<>("Please check your DAT token.", HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            final var negotiation =
+                contractNegotiationService.startNegotiation(recipient, artifactId, contractOffer);
+            final var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{uuid}").buildAndExpand(negotiation.getUuid()).toUri();
+            return ResponseEntity.accepted().location(location).body(negotiation);
+        } catch (IllegalArgumentException exception) {
+            LOGGER.debug("Failed to build contract request. [exception=({})]",
+                exception.getMessage());
+            return new ResponseEntity<>("Failed to build contract request.",
+                HttpStatus.BAD_REQUEST);
+        } catch (MessageException exception) {
+            LOGGER.warn("Failed to build contract request. [exception=({})]",
+                exception.getMessage());
+            return new ResponseEntity<>("Failed to build contract request.",
+                HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns the state of a contract negotiation.
+     *
+     * @param uuid The id of the negotiation session.
+     * @return The session or an error response.
+     */
+    @Operation(summary = "Get Contract Negotiation",
+        description = "Get the state of a contract negotiation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "404", description = "Not found")})
+    @RequestMapping(value = "/negotiation/{uuid}", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<Object> getNegotiation(
+        @Parameter(description = "The id of the negotiation session.", required = true)
+        @PathVariable("uuid") UUID uuid) {
+        final var negotiation = contractNegotiationService.getNegotiation(uuid);
+        if (negotiation == null) {
+            return new ResponseEntity<>("Negotiation not found.", HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(negotiation, HttpStatus.OK);
+    }
+
+    /**
+     * Resumes a failed contract negotiation.
+     *
+     * @param uuid The id of the negotiation session.
+     * @return The session or an error response.
+     */
+    @Operation(summary = "Resume Contract Negotiation",
+        description = "Resume a failed contract negotiation from its last completed step.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Accepted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Not found"),
+            @ApiResponse(responseCode = "409", description = "Negotiation has not failed")})
+    @RequestMapping(value = "/negotiation/{uuid}/resume", method = RequestMethod.POST)
+    @ResponseBody
+    public ResponseEntity<Object> resumeNegotiation(
+        @Parameter(description = "The id of the negotiation session.", required = true)
+        @PathVariable("uuid") UUID uuid) {
+        if (tokenProvider.getDAT() == null) {
+            LOGGER.debug("Unauthorized call. No DAT token found. [negotiation=({})]", uuid);
+            return new ResponseEntity<>("Please check your DAT token.", HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            final var negotiation = contractNegotiationService.resumeNegotiation(uuid);
+            if (negotiation == null) {
+                return new ResponseEntity<>("Negotiation not found.", HttpStatus.NOT_FOUND);
+            }
+
+            return new ResponseEntity<>(negotiation, HttpStatus.ACCEPTED);
+        } catch (IllegalStateException exception) {
+            return new ResponseEntity<>(exception.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
     /**
      * Requests data from an external connector by building an ArtifactRequestMessage.
      *
@@ -346,7 +465,8 @@ public class RequestController {
         try {
             // Send ArtifactRequestMessage.
             artifactMessageService.setRequestParameters(recipient, artifactId, contractId);
-            response = artifactMessageService.sendRequestMessage(objectMapper.writeValueAsString(queryInput));
+            response = artifactMessageService.sendRequestMessage(
+                JsonUtils.getObjectMapper().writeValueAsString(queryInput));
         } catch (MessageBuilderException exception) {
             // Failed to build the artifact request message.
             LOGGER.warn("Failed to build a request. [exception=({})]", exception.getMessage());
@@ -387,9 +507,8 @@ public class RequestController {
 
         try {
             // Save contract agreement id and requested artifact.
-            final var resource = (RequestedResource) resourceService.getResource(key);
-            resource.setContractAgreement(contractId);
-            resource.setRequestedArtifact(artifactId);
+            ((RequestedResourceServiceImpl) resourceService)
+                .updateAgreement(key, contractId, artifactId);
         } catch (ResourceException exception) {
             LOGGER.warn("Could not update resource. [exception=({})]",
                     exception.getMessage());
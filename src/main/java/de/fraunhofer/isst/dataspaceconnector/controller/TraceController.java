@@ -0,0 +1,112 @@
+package de.fraunhofer.isst.dataspaceconnector.controller;
+
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.HttpTraceStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * This class provides endpoints for querying the persisted http traces.
+ */
+@RestController
+@RequestMapping("/admin/api/traces")
+@Tag(name = "Connector: HTTP Traces", description = "Endpoints for querying http traces")
+public class TraceController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TraceController.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final HttpTraceStore traceStore;
+
+    /**
+     * Constructor for TraceController.
+     *
+     * @param traceStore The store containing the http traces
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public TraceController(HttpTraceStore traceStore) throws IllegalArgumentException {
+        if (traceStore == null)
+            throw new IllegalArgumentException("The HttpTraceStore cannot be null.");
+
+        this.traceStore = traceStore;
+    }
+
+    /**
+     * Finds http traces. All criteria are optional and combined.
+     *
+     * @return The matching traces, newest first.
+     */
+    @Operation(summary = "Query HTTP Traces",
+        description = "Get http traces by time range, path, status and duration.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "400", description = "Invalid query")})
+    @RequestMapping(value = "", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<Object> findTraces(
+        @Parameter(description = "The earliest timestamp.", example = "2020-10-01T00:00:00")
+        @RequestParam(value = "from", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "The latest timestamp.", example = "2020-10-02T00:00:00")
+        @RequestParam(value = "to", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @Parameter(description = "The path prefix.", example = "/api/ids")
+        @RequestParam(value = "path", required = false) String path,
+        @Parameter(description = "The response status.")
+        @RequestParam(value = "status", required = false) Integer status,
+        @Parameter(description = "The minimal duration in milliseconds.")
+        @RequestParam(value = "minDuration", required = false) Long minDuration,
+        @Parameter(description = "The maximal duration in milliseconds.")
+        @RequestParam(value = "maxDuration", required = false) Long maxDuration,
+        @RequestParam(value = "page", defaultValue = "0") int page,
+        @RequestParam(value = "size", defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            LOGGER.debug("Invalid trace query. [page=({}), size=({})]", page, size);
+            return new ResponseEntity<>("Invalid page or size. The size must be between 1 and "
+                + MAX_PAGE_SIZE + ".", HttpStatus.BAD_REQUEST);
+        }
+
+        final var pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
+        return new ResponseEntity<>(traceStore.findTraces(from, to, path, status, minDuration,
+            maxDuration, pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Gets a http trace by its id.
+     *
+     * @param traceId The trace id.
+     * @return The trace or an error.
+     */
+    @Operation(summary = "Get HTTP Trace", description = "Get a http trace by its id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ok"),
+            @ApiResponse(responseCode = "404", description = "Not found")})
+    @RequestMapping(value = "/{trace-id}", method = RequestMethod.GET)
+    @ResponseBody
+    public ResponseEntity<Object> getTrace(
+        @Parameter(description = "The trace id.", required = true)
+        @PathVariable("trace-id") UUID traceId) {
+        final var records = traceStore.getTrace(traceId);
+        if (records.isEmpty()) {
+            return new ResponseEntity<>("Trace not found.", HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(records, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,20 @@
+package de.fraunhofer.isst.dataspaceconnector.exceptions.message;
+
+import java.io.IOException;
+
+/**
+ * Thrown to indicate that the payload of an incoming message or response exceeds the size limit.
+ */
+public class PayloadTooLargeException extends IOException {
+    //Default serial version uid
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct a PayloadTooLargeException with the specified detail message.
+     *
+     * @param msg The detail message.
+     */
+    public PayloadTooLargeException(String msg) {
+        super(msg);
+    }
+}
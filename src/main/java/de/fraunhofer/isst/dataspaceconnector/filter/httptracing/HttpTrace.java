@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
- * This class stores information about a http connection
+ * This class stores information about a http connection. One trace describes the request and
+ * its response. The total duration is given in milliseconds, the phase durations in fractional
+ * milliseconds.
  */
 @Data
 @JsonInclude(Include.NON_NULL)
@@ -21,8 +23,20 @@ public class HttpTrace {
     public String method;
     public String url;
     public String body;
+    public Long bodySize;
+    public Boolean bodyTruncated;
     public String headers;
     public int status;
     public String client;
     public String parameterMap;
+    public String responseBody;
+    public Long responseBodySize;
+    public Boolean responseBodyTruncated;
+    public String responseHeaders;
+    public Long duration;
+    public Double dispatchDuration;
+    public Double databaseDuration;
+    public Double policyDuration;
+    public Double backendDuration;
+    public Double serializationDuration;
 }
@@ -1,47 +1,112 @@
 package de.fraunhofer.isst.dataspaceconnector.filter.httptracing;
 
+import de.fraunhofer.isst.dataspaceconnector.config.HttpTraceConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Handles the processing of HttpTraces.
+ * Handles the processing of HttpTraces. Traces are put into a bounded buffer and processed in
+ * batches by a background thread, so the request thread never waits for the processing. If the
+ * buffer is full, new traces are dropped.
  */
 @Component
 public class HttpTraceEventHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpTraceEventHandler.class);
-    private final ApplicationEventPublisher publisher;
+
+    private final HttpTraceStore traceStore;
+    private final int batchSize;
+    private final BlockingQueue<HttpTrace> buffer;
+    private final AtomicLong droppedTraces = new AtomicLong();
+    private Thread worker;
 
     /**
      * Constructor
      *
-     * @param publisher The http trace event publisher
+     * @param configuration The http tracing configuration
+     * @param traceStore The store persisting the traces
      */
-    HttpTraceEventHandler(ApplicationEventPublisher publisher) {
-        this.publisher = publisher;
+    HttpTraceEventHandler(HttpTraceConfiguration configuration, HttpTraceStore traceStore) {
+        this.traceStore = traceStore;
+        this.batchSize = Math.max(configuration.getStoreBatchSize(), 1);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(configuration.getBufferCapacity(), 1));
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::drain, "http-trace-handler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
     }
 
     /**
      * Processes raised HttpTraceEvents
      *
-     * @param trace The HttpTrace that needs to be processed
+     * @param traces The HttpTraces that need to be processed
      */
-    @Async
-    @EventListener
-    public void handleHttpTraceEvent(HttpTrace trace) {
-        LOGGER.info("{}", trace);
+    public void handleHttpTraceEvents(List<HttpTrace> traces) {
+        if (LOGGER.isDebugEnabled()) {
+            for (final var trace : traces) {
+                LOGGER.debug("{}", trace);
+            }
+        }
+
+        traceStore.saveAll(traces);
     }
 
     /**
-     * Raise an HttpTraceEvent.
+     * Raise an HttpTraceEvent. Does not block.
      *
      * @param trace The http trace that others should be notified about.
      */
     public void sendHttpTraceEvent(HttpTrace trace) {
-        publisher.publishEvent(trace);
+        if (!buffer.offer(trace)) {
+            final var dropped = droppedTraces.incrementAndGet();
+            LOGGER.debug("Trace buffer is full. Dropped trace. [id=({}), dropped=({})]",
+                trace.id, dropped);
+        }
+    }
+
+    /**
+     * @return The number of traces dropped because the buffer was full.
+     */
+    public long getDroppedTraces() {
+        return droppedTraces.get();
+    }
+
+    private void drain() {
+        final var batch = new ArrayList<HttpTrace>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, batchSize - 1);
+                try {
+                    handleHttpTraceEvents(batch);
+                } catch (RuntimeException exception) {
+                    LOGGER.warn("Failed to process traces. [count=({}), exception=({})]",
+                        batch.size(), exception.getMessage());
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
     }
 }
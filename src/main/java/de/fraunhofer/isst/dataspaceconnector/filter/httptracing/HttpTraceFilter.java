@@ -1,140 +1,226 @@
 package de.fraunhofer.isst.dataspaceconnector.filter.httptracing;
 
+import de.fraunhofer.isst.dataspaceconnector.config.HttpTraceConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings.Phase;
 import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.internal.RequestWrapper;
-import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.internal.ResponseWrapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.IdGenerator;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 
 /**
- * Use this class to log all incoming and outgoing http traffic.
+ * Use this class to log all incoming and outgoing http traffic. Which requests are traced is
+ * controlled by sampling and path rules. Credentials in the configured headers are redacted
+ * before a trace leaves the filter. Bodies may contain tokens as well, so they are only captured
+ * if enabled, while they are streamed and truncated to the configured size. The time spent in the
+ * phases of a request is recorded in the trace and in the http.trace.* metrics.
  */
 @Component
 @Order(1)
 public class HttpTraceFilter extends OncePerRequestFilter {
 
-    private UUID traceId;
     private final HttpTraceEventHandler eventHandler;
+    private final HttpTraceConfiguration configuration;
+    private static final String TRACE_ID = "traceId";
+    private static final String REDACTED = "[REDACTED]";
+
+    private final MeterRegistry meterRegistry;
+    private final IdGenerator traceIdGenerator;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
     /**
      * Constructor
      *
      * @param eventHandler The handler responsible for HttpTrace events raised by this class
+     * @param configuration The http tracing configuration
+     * @param meterRegistry The registry for the timing histograms
+     * @param traceIdGenerator The generator of the trace ids
      */
-    public HttpTraceFilter(HttpTraceEventHandler eventHandler) {
+    public HttpTraceFilter(HttpTraceEventHandler eventHandler,
+        HttpTraceConfiguration configuration, MeterRegistry meterRegistry,
+        @Qualifier("traceIdGenerator") IdGenerator traceIdGenerator) {
         this.eventHandler = eventHandler;
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.traceIdGenerator = traceIdGenerator;
     }
 
-    private static UUID generateUUID() {
-        return UUIDUtils.createUUID(uuid -> false);
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!configuration.isEnabled()) {
+            return true;
+        }
+
+        final var path = request.getRequestURI();
+        if (!matchesAny(configuration.getIncludePaths(), path)
+            || matchesAny(configuration.getExcludePaths(), path)) {
+            return true;
+        }
+
+        final var sampleRate = configuration.getSampleRate();
+        return sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
         FilterChain filterChain) throws ServletException, IOException {
-        final var requestWrapper = new RequestWrapper(request);
-        final var responseWrapper = new ContentCachingResponseWrapper(response);
+        // Without body capture only the body sizes are counted.
+        final var bodyLimit = configuration.isCaptureBodies() ? configuration.getMaxBodySize() : 0;
+        final var requestWrapper = new RequestWrapper(request, bodyLimit);
+        final var responseWrapper = new ResponseWrapper(response, bodyLimit);
 
-        traceId = generateUUID();
-        beforeRequest(requestWrapper);
+        final var trace = new HttpTrace();
+        trace.id = traceIdGenerator.generateId();
+        trace.timestamp = LocalDateTime.now();
+        final var timings = RequestTimings.open(trace.id);
+        MDC.put(TRACE_ID, trace.id.toString());
 
         try {
             filterChain.doFilter(requestWrapper, responseWrapper);
         } finally {
-            afterRequest(responseWrapper);
-            responseWrapper.copyBodyToResponse();
+            responseWrapper.flushWriter();
+            final var elapsed = timings.getElapsed();
+            RequestTimings.close();
+            MDC.remove(TRACE_ID);
+
+            // The bodies are only known after they have been streamed.
+            addRequest(trace, requestWrapper);
+            addResponse(trace, responseWrapper);
+            addTimings(trace, timings, elapsed);
+            eventHandler.sendHttpTraceEvent(trace);
         }
     }
 
-    private void beforeRequest(RequestWrapper request) {
-        final var trace = new HttpTrace();
-        trace.id = traceId;
-        trace.timestamp = LocalDateTime.now();
+    private void addRequest(HttpTrace trace, RequestWrapper request) {
         trace.url = request.getRequestURI();
         trace.method = request.getMethod();
         trace.client = request.getRemoteAddr();
+        trace.headers = join(request.getHeaderNames(), redacted(request::getHeader));
+        trace.parameterMap = join(request.getParameterNames(), request::getParameter);
 
-        trace.headers = "{";
-        var headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            var key = headerNames.nextElement();
-            var value = request.getHeader(key);
-            trace.headers += key + ": " + value;
+        final var capture = request.getCapture();
+        if (configuration.isCaptureBodies()) {
+            trace.body = capture.toString(getCharset(request.getCharacterEncoding()));
+            trace.bodyTruncated = capture.isTruncated();
+        }
+        trace.bodySize = capture.getTotalSize();
+    }
 
-            if (headerNames.hasMoreElements()) {
-                trace.headers += ", ";
+    private void addResponse(HttpTrace trace, ResponseWrapper response) {
+        trace.status = response.getStatus();
+        trace.responseHeaders = join(response.getHeaderNames(), redacted(response::getHeader));
+
+        final var capture = response.getCapture();
+        if (configuration.isCaptureBodies()) {
+            // Encoded bodies are binary, only their size is kept.
+            if (response.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+                trace.responseBody = capture.toString(getCharset(response.getCharacterEncoding()));
             }
+            trace.responseBodyTruncated = capture.isTruncated();
         }
-        trace.headers += "}";
+        trace.responseBodySize = capture.getTotalSize();
+    }
 
-        trace.parameterMap = "{";
-        var parameterNames = request.getParameterNames();
-        while (parameterNames.hasMoreElements()) {
-            var key = parameterNames.nextElement();
-            var value = request.getHeader(key);
-            trace.parameterMap += key + ": " + value;
+    private Function<String, String> redacted(Function<String, String> headers) {
+        return name -> isRedacted(name) ? REDACTED : headers.apply(name);
+    }
 
-            if (parameterNames.hasMoreElements()) {
-                trace.parameterMap += ", ";
+    private boolean isRedacted(String header) {
+        for (final var redacted : configuration.getRedactedHeaders()) {
+            if (redacted.trim().equalsIgnoreCase(header)) {
+                return true;
             }
         }
-        trace.parameterMap += "}";
+        return false;
+    }
 
-        try{
-            trace.body = new String(request.getRequestBody(), StandardCharsets.UTF_8);
-        }catch(IOException exception){
-            exception.printStackTrace();
+    private void addTimings(HttpTrace trace, RequestTimings timings, long elapsed) {
+        trace.duration = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        trace.dispatchDuration = toMillis(timings.getDuration(Phase.DISPATCH));
+        trace.databaseDuration = toMillis(timings.getDuration(Phase.DATABASE));
+        trace.policyDuration = toMillis(timings.getDuration(Phase.POLICY));
+        trace.backendDuration = toMillis(timings.getDuration(Phase.BACKEND));
+        trace.serializationDuration = toMillis(timings.getDuration(Phase.SERIALIZATION));
+
+        final var status = String.valueOf(trace.status);
+        Timer.builder("http.trace.duration")
+            .description("Total time of traced http requests")
+            .tags("method", trace.method, "status", status)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+
+        for (final var phase : Phase.values()) {
+            final var duration = timings.getDuration(phase);
+            if (duration > 0) {
+                Timer.builder("http.trace.phase")
+                    .description("Time spent in a phase of traced http requests")
+                    .tags("phase", phase.name().toLowerCase(), "method", trace.method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(duration, TimeUnit.NANOSECONDS);
+            }
         }
-
-        eventHandler.sendHttpTraceEvent(trace);
     }
 
-    private void afterRequest(
-        ContentCachingResponseWrapper responseWrapper) {
-        final var trace = new HttpTrace();
-        trace.id = traceId;
-        trace.timestamp = LocalDateTime.now();
-        trace.status = responseWrapper.getStatus();
-        trace.body = getResponseAsPayload(responseWrapper);
-
-        trace.headers = "{";
-        var headerNames = responseWrapper.getHeaderNames();
-        for (var key : headerNames) {
-            var value = responseWrapper.getHeader(key);
-            trace.headers += key + ": " + value;
+    private static Double toMillis(long nanos) {
+        return nanos > 0 ? nanos / 1_000_000.0 : null;
+    }
 
-            if (key != headerNames.toArray()[headerNames.toArray().length - 1]) {
-                trace.headers += ", ";
+    private boolean matchesAny(Collection<String> patterns, String path) {
+        for (final var pattern : patterns) {
+            final var trimmed = pattern.trim();
+            if (!trimmed.isEmpty() && pathMatcher.match(trimmed, path)) {
+                return true;
             }
         }
-        trace.headers += "}";
-
-        eventHandler.sendHttpTraceEvent(trace);
+        return false;
     }
 
-    private String getResponseAsPayload(ContentCachingResponseWrapper wrappedResponse) {
+    private static Charset getCharset(String encoding) {
         try {
-            if (wrappedResponse.getContentSize() <= 0) {
-                return "";
-            }
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException exception) {
+            return StandardCharsets.UTF_8;
+        }
+    }
 
-            return new String(wrappedResponse.getContentAsByteArray(), 0,
-                wrappedResponse.getContentSize(),
-                wrappedResponse.getCharacterEncoding());
-        } catch (UnsupportedEncodingException e) {
-            return "ERROR";
+    private static String join(Enumeration<String> names, Function<String, String> values) {
+        final var builder = new StringBuilder("{");
+        while (names.hasMoreElements()) {
+            final var key = names.nextElement();
+            builder.append(key).append(": ").append(values.apply(key));
+            if (names.hasMoreElements()) {
+                builder.append(", ");
+            }
         }
+        return builder.append('}').toString();
+    }
+
+    private static String join(Collection<String> names, Function<String, String> values) {
+        return join(Collections.enumeration(names), values);
     }
 }
@@ -0,0 +1,185 @@
+package de.fraunhofer.isst.dataspaceconnector.filter.httptracing;
+
+import de.fraunhofer.isst.dataspaceconnector.config.HttpTraceConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.HttpTraceRecord;
+import de.fraunhofer.isst.dataspaceconnector.repositories.HttpTraceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class persists http traces in batches and provides queries on them. Traces older than the
+ * configured retention are removed periodically.
+ */
+@Component
+@EnableScheduling
+public class HttpTraceStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpTraceStore.class);
+
+    /**
+     * The escape character of the LIKE patterns.
+     */
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final HttpTraceRepository httpTraceRepository;
+    private final HttpTraceConfiguration configuration;
+
+    /**
+     * Constructor for HttpTraceStore.
+     *
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public HttpTraceStore(HttpTraceRepository httpTraceRepository,
+        HttpTraceConfiguration configuration) throws IllegalArgumentException {
+        if (httpTraceRepository == null)
+            throw new IllegalArgumentException("The HttpTraceRepository cannot be null.");
+
+        if (configuration == null)
+            throw new IllegalArgumentException("The HttpTraceConfiguration cannot be null.");
+
+        this.httpTraceRepository = httpTraceRepository;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Appends a batch of traces.
+     *
+     * @param traces the traces.
+     */
+    public void saveAll(Collection<HttpTrace> traces) {
+        if (!configuration.isStoreEnabled() || traces.isEmpty()) {
+            return;
+        }
+
+        final var records = new ArrayList<HttpTraceRecord>(traces.size());
+        for (final var trace : traces) {
+            records.add(toRecord(trace));
+        }
+
+        httpTraceRepository.saveAll(records);
+        LOGGER.debug("Persisted traces. [count=({})]", records.size());
+    }
+
+    /**
+     * Finds the records of a trace.
+     *
+     * @param traceId the trace id.
+     * @return the records.
+     */
+    public List<HttpTraceRecord> getTrace(UUID traceId) {
+        return httpTraceRepository.findByTraceId(traceId);
+    }
+
+    /**
+     * Finds traces matching all given criteria. Criteria that are null are ignored.
+     *
+     * @param from        the earliest timestamp.
+     * @param to          the latest timestamp.
+     * @param path        the path prefix of the requested url.
+     * @param status      the response status.
+     * @param minDuration the minimal duration in milliseconds.
+     * @param maxDuration the maximal duration in milliseconds.
+     * @param pageable    the requested page.
+     * @return the page of matching traces.
+     */
+    public Page<HttpTraceRecord> findTraces(LocalDateTime from, LocalDateTime to, String path,
+        Integer status, Long minDuration, Long maxDuration, Pageable pageable) {
+        Specification<HttpTraceRecord> specification = (root, query, builder) -> builder.conjunction();
+
+        if (from != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<LocalDateTime>get("timestamp"), from));
+        }
+        if (to != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.lessThanOrEqualTo(root.<LocalDateTime>get("timestamp"), to));
+        }
+        if (path != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.like(root.<String>get("url"), escapeLike(path) + "%", LIKE_ESCAPE));
+        }
+        if (status != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.equal(root.get("status"), status));
+        }
+        if (minDuration != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<Long>get("duration"), minDuration));
+        }
+        if (maxDuration != null) {
+            specification = specification.and((root, query, builder) ->
+                builder.lessThanOrEqualTo(root.<Long>get("duration"), maxDuration));
+        }
+
+        return httpTraceRepository.findAll(specification, pageable);
+    }
+
+    /**
+     * Escapes the wildcards of a LIKE pattern, so the path is matched literally.
+     */
+    private static String escapeLike(String value) {
+        final var escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Removes all traces older than the retention time.
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    @Transactional
+    public void removeExpiredTraces() {
+        final var cutoff = LocalDateTime.now().minus(configuration.getStoreRetention());
+        final var removed = httpTraceRepository.deleteOlderThan(cutoff);
+        if (removed > 0) {
+            LOGGER.debug("Removed expired traces. [count=({}), cutoff=({})]", removed, cutoff);
+        }
+    }
+
+    private static HttpTraceRecord toRecord(HttpTrace trace) {
+        final var record = new HttpTraceRecord();
+        record.setTraceId(trace.id);
+        record.setTimestamp(trace.timestamp);
+        record.setMethod(trace.method);
+        record.setUrl(trace.url);
+        record.setStatus(trace.status);
+        record.setDuration(trace.duration);
+        record.setDispatchDuration(trace.dispatchDuration);
+        record.setDatabaseDuration(trace.databaseDuration);
+        record.setPolicyDuration(trace.policyDuration);
+        record.setBackendDuration(trace.backendDuration);
+        record.setSerializationDuration(trace.serializationDuration);
+        record.setClient(trace.client);
+        record.setHeaders(trace.headers);
+        record.setParameterMap(trace.parameterMap);
+        record.setBody(trace.body);
+        record.setBodySize(trace.bodySize);
+        record.setBodyTruncated(trace.bodyTruncated);
+        record.setResponseHeaders(trace.responseHeaders);
+        record.setResponseBody(trace.responseBody);
+        record.setResponseBodySize(trace.responseBodySize);
+        record.setResponseBodyTruncated(trace.responseBodyTruncated);
+        return record;
+    }
+}
@@ -0,0 +1,31 @@
+package de.fraunhofer.isst.dataspaceconnector.filter.httptracing;
+
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the time spent in repositories, policy evaluation and backend calls to the
+ * {@link RequestTimings} of the current request.
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeDatabase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimings.time(Phase.DATABASE, joinPoint::proceed);
+    }
+
+    @Around("execution(public * de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler.*(..))")
+    public Object timePolicy(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimings.time(Phase.POLICY, joinPoint::proceed);
+    }
+
+    @Around("execution(public * de.fraunhofer.isst.dataspaceconnector.services.utils.HttpUtils.send*(..))")
+    public Object timeBackend(ProceedingJoinPoint joinPoint) throws Throwable {
+        return RequestTimings.time(Phase.BACKEND, joinPoint::proceed);
+    }
+}
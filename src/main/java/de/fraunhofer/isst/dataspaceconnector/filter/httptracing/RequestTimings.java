@@ -0,0 +1,150 @@
+package de.fraunhofer.isst.dataspaceconnector.filter.httptracing;
+
+import java.util.UUID;
+
+/**
+ * Collects the time spent in the phases of the request handled by the current thread. The
+ * context is opened and closed by the {@link HttpTraceFilter}; outside of a traced request all
+ * calls are no-ops. Nested measurements of the same phase are only counted once.
+ */
+public final class RequestTimings {
+
+    /**
+     * The measured phases of a request.
+     */
+    public enum Phase {
+        /**
+         * Time until an IDS message handler is invoked. Covers the multipart parsing, the
+         * header deserialization and the DAT validation done by the IDS framework.
+         */
+        DISPATCH,
+        /**
+         * Time spent in repository calls.
+         */
+        DATABASE,
+        /**
+         * Time spent in policy evaluation.
+         */
+        POLICY,
+        /**
+         * Time spent fetching data from backends.
+         */
+        BACKEND,
+        /**
+         * Time spent serializing information model objects.
+         */
+        SERIALIZATION
+    }
+
+    /**
+     * A call whose duration is recorded.
+     *
+     * @param <T> The result type
+     * @param <E> The exception type
+     */
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Throwable> {
+        T call() throws E;
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final UUID traceId;
+    private final long start;
+    private final long[] durations = new long[Phase.values().length];
+    private final int[] depth = new int[Phase.values().length];
+    private boolean dispatched;
+
+    private RequestTimings(UUID traceId, long start) {
+        this.traceId = traceId;
+        this.start = start;
+    }
+
+    /**
+     * Opens a timing context for the current thread.
+     *
+     * @param traceId The id of the trace
+     * @return The opened context
+     */
+    static RequestTimings open(UUID traceId) {
+        final var timings = new RequestTimings(traceId, System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Closes the timing context of the current thread.
+     */
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The id of the trace handled by the current thread, or null.
+     */
+    public static UUID currentTraceId() {
+        final var timings = CURRENT.get();
+        return timings != null ? timings.traceId : null;
+    }
+
+    /**
+     * Marks that the request has reached an IDS message handler.
+     */
+    public static void dispatched() {
+        final var timings = CURRENT.get();
+        if (timings != null && !timings.dispatched) {
+            timings.dispatched = true;
+            timings.durations[Phase.DISPATCH.ordinal()] = System.nanoTime() - timings.start;
+        }
+    }
+
+    /**
+     * Executes a call and adds its duration to a phase.
+     *
+     * @param phase The phase
+     * @param call  The call
+     * @param <T>   The result type
+     * @param <E>   The exception type
+     * @return The result of the call
+     * @throws E if the call fails
+     */
+    public static <T, E extends Throwable> T time(Phase phase, TimedCall<T, E> call) throws E {
+        final var timings = CURRENT.get();
+        if (timings == null) {
+            return call.call();
+        }
+
+        final var index = phase.ordinal();
+        if (timings.depth[index]++ > 0) {
+            // Already measured by an outer call.
+            try {
+                return call.call();
+            } finally {
+                timings.depth[index]--;
+            }
+        }
+
+        final var begin = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            timings.durations[index] += System.nanoTime() - begin;
+            timings.depth[index]--;
+        }
+    }
+
+    /**
+     * @param phase The phase
+     * @return The time spent in the phase in nanoseconds
+     */
+    long getDuration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    /**
+     * @return The time since the context was opened in nanoseconds
+     */
+    long getElapsed() {
+        return System.nanoTime() - start;
+    }
+}
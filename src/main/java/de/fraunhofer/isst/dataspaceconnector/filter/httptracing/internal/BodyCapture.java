@@ -0,0 +1,98 @@
+package de.fraunhofer.isst.dataspaceconnector.filter.httptracing.internal;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Use this class to keep a copy of the first bytes of a message body while it is streamed. Bytes
+ * beyond the configured limit are counted but not stored.
+ */
+public class BodyCapture {
+
+    private final int limit;
+    private byte[] buffer;
+    private int size;
+    private long totalSize;
+
+    /**
+     * The Constructor
+     *
+     * @param limit The maximum number of bytes that are kept
+     */
+    public BodyCapture(int limit) {
+        this.limit = Math.max(limit, 0);
+        this.buffer = new byte[Math.min(this.limit, 256)];
+    }
+
+    /**
+     * Record a single byte.
+     *
+     * @param b The byte
+     */
+    public void write(int b) {
+        totalSize++;
+        if (size < limit) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+    }
+
+    /**
+     * Record a part of a byte array.
+     *
+     * @param b   The bytes
+     * @param off The start offset
+     * @param len The number of bytes
+     */
+    public void write(byte[] b, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+
+        totalSize += len;
+        final var copy = Math.min(len, limit - size);
+        if (copy > 0) {
+            ensureCapacity(size + copy);
+            System.arraycopy(b, off, buffer, size, copy);
+            size += copy;
+        }
+    }
+
+    /**
+     * @return The captured bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Decode the captured bytes.
+     *
+     * @param charset The charset of the body
+     * @return The captured body
+     */
+    public String toString(Charset charset) {
+        return new String(buffer, 0, size, charset);
+    }
+
+    /**
+     * @return The number of bytes that passed through, including the ones not kept
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * @return True if the body was larger than the limit
+     */
+    public boolean isTruncated() {
+        return totalSize > size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            // Grow geometrically to keep copying linear in the body size.
+            buffer = Arrays.copyOf(buffer, Math.min(limit, Math.max(capacity, buffer.length * 2)));
+        }
+    }
+}
@@ -1,55 +1,52 @@
 package de.fraunhofer.isst.dataspaceconnector.filter.httptracing.internal;
 
-import com.google.common.primitives.Bytes;
-
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Use this class to wrap incoming HTTP requests too read the message payload multiple times.
+ * Use this class to wrap incoming HTTP requests to capture the message payload while it is read
+ * by the application. The payload is not buffered up front; only the first bytes up to the given
+ * limit are kept for tracing.
  */
 public class RequestWrapper extends HttpServletRequestWrapper {
 
-    private byte[] requestBody = new byte[0];
-    private boolean isBufferFilled = false;
+    private final BodyCapture capture;
+    private TeeServletInputStream inputStream;
+    private BufferedReader reader;
 
     /**
      * The Constructor
      *
-     * @param request The request to be wrapped
+     * @param request      The request to be wrapped
+     * @param maxBodySize  The maximum number of body bytes kept for tracing
      */
-    public RequestWrapper(HttpServletRequest request) {
+    public RequestWrapper(HttpServletRequest request, int maxBodySize) {
         super(request);
+        this.capture = new BodyCapture(maxBodySize);
     }
 
     /**
-     * Get the request body of the message
+     * Get the part of the request body that has been read so far, limited to the maximum body
+     * size.
      *
-     * @return The request body
-     * @throws IOException if the request body could not be read
+     * @return The captured request body
      */
-    public byte[] getRequestBody() throws IOException {
-        if (isBufferFilled) {
-            return Arrays.copyOf(requestBody, requestBody.length);
-        }
-
-        var inputStream = super.getInputStream();
-        if(inputStream != null){
-            var buffer = new byte[128];
-            var bytesRead = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                requestBody = Bytes.concat(requestBody, Arrays.copyOfRange(buffer, 0, bytesRead));
-            }
-
-            isBufferFilled = true;
-        }
+    public byte[] getRequestBody() {
+        return capture.toByteArray();
+    }
 
-        return requestBody;
+    /**
+     * @return The capture of the request body
+     */
+    public BodyCapture getCapture() {
+        return capture;
     }
 
     /**
@@ -60,34 +57,72 @@ public class RequestWrapper extends HttpServletRequestWrapper {
      */
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        return new CustomServletInputStream(getRequestBody());
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
+    }
+
+    /**
+     * Get the request body of the message as reader
+     *
+     * @return The request body as reader
+     * @throws IOException if the request body could not be read
+     */
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            final var encoding = getCharacterEncoding();
+            final var charset = encoding != null ? Charset.forName(encoding)
+                : StandardCharsets.ISO_8859_1;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
     }
 
-    private static class CustomServletInputStream extends ServletInputStream {
-        private final ByteArrayInputStream buffer;
+    private static class TeeServletInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+        private final BodyCapture capture;
 
-        public CustomServletInputStream(byte[] contents) {
-            this.buffer = new ByteArrayInputStream(contents);
+        public TeeServletInputStream(ServletInputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
         }
 
         @Override
-        public int read() {
-            return buffer.read();
+        public int read() throws IOException {
+            final var b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final var bytesRead = delegate.read(b, off, len);
+            capture.write(b, off, bytesRead);
+            return bytesRead;
         }
 
         @Override
         public boolean isFinished() {
-            return buffer.available() == 0;
+            return delegate.isFinished();
         }
 
         @Override
         public boolean isReady() {
-            return true;
+            return delegate.isReady();
         }
 
         @Override
         public void setReadListener(ReadListener listener) {
-            throw new RuntimeException("Not implemented");
+            delegate.setReadListener(listener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
         }
     }
 }
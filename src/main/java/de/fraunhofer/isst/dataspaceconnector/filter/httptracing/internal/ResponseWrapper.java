@@ -0,0 +1,114 @@
+package de.fraunhofer.isst.dataspaceconnector.filter.httptracing.internal;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Use this class to wrap outgoing HTTP responses to capture the message payload while it is
+ * written. The payload is passed through to the client directly; only the first bytes up to the
+ * given limit are kept for tracing.
+ */
+public class ResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BodyCapture capture;
+    private TeeServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * The Constructor
+     *
+     * @param response    The response to be wrapped
+     * @param maxBodySize The maximum number of body bytes kept for tracing
+     */
+    public ResponseWrapper(HttpServletResponse response, int maxBodySize) {
+        super(response);
+        this.capture = new BodyCapture(maxBodySize);
+    }
+
+    /**
+     * @return The capture of the response body
+     */
+    public BodyCapture getCapture() {
+        return capture;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeServletOutputStream(super.getOutputStream(), capture);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    /**
+     * Pass characters still buffered in the writer on to the client.
+     */
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private static class TeeServletOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final BodyCapture capture;
+
+        public TeeServletOutputStream(ServletOutputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.fraunhofer.isst.dataspaceconnector.model;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * This class summarizes the stored resources of one type. It changes whenever a resource is
+ * added, changed or deleted, so connectors sharing a database can detect each other's changes
+ * without loading the resources.
+ */
+@Data
+public class CatalogState {
+
+    private final long count;
+
+    private final long versionSum;
+
+    private final Date lastModified;
+
+    /**
+     * Constructor for CatalogState.
+     *
+     * @param count The number of resources
+     * @param versionSum The sum of the resource versions, null if there are no resources
+     * @param lastModified The latest modification date, null if there are no resources
+     */
+    public CatalogState(Long count, Long versionSum, Date lastModified) {
+        this.count = count == null ? 0 : count;
+        this.versionSum = versionSum == null ? 0 : versionSum;
+        this.lastModified = lastModified;
+    }
+}
@@ -0,0 +1,78 @@
+package de.fraunhofer.isst.dataspaceconnector.model;
+
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * This class describes a message waiting to be logged at the clearing house. Entries are
+ * removed once the clearing house received them. Entries that failed too often are kept as
+ * failed, so they can be inspected.
+ */
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "status, next_attempt"))
+public class ClearingHouseLogEntry {
+
+    /**
+     * The delivery states of an entry.
+     */
+    public enum Status {
+        /**
+         * The message has not been delivered yet and will be retried.
+         */
+        PENDING,
+        /**
+         * The message could not be delivered within the maximum number of attempts.
+         */
+        FAILED
+    }
+
+    @Id
+    private UUID uuid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    private Date created;
+
+    @Column(name = "next_attempt")
+    private Date nextAttempt;
+
+    private int attempts;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    /**
+     * Constructor for ClearingHouseLogEntry.
+     */
+    public ClearingHouseLogEntry() {
+    }
+
+    /**
+     * Constructor for ClearingHouseLogEntry.
+     *
+     * @param uuid The id of the entry
+     * @param payload The message payload
+     */
+    public ClearingHouseLogEntry(UUID uuid, String payload) {
+        this.uuid = uuid;
+        this.payload = payload;
+        this.status = Status.PENDING;
+        this.created = new Date();
+        this.nextAttempt = this.created;
+    }
+}
@@ -50,6 +50,13 @@ public interface ConnectorResource {
      */
     void setModified(Date modified);
 
+    /**
+     * Get the version of the stored resource, which changes with every update
+     *
+     * @return The version
+     */
+    long getVersion();
+
     /**
      * Get the metadata associated with this resource
      *
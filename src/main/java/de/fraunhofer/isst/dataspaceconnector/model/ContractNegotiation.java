@@ -0,0 +1,136 @@
+package de.fraunhofer.isst.dataspaceconnector.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * This class describes the state of a contract negotiation started by this connector. Each
+ * negotiation is one session with a provider and is stored after every step, so its outcome can
+ * be polled and a failed negotiation can be resumed where it stopped. A running negotiation
+ * belongs to the connector instance running it, which renews its lease until it stops.
+ */
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "status"))
+public class ContractNegotiation {
+
+    /**
+     * The steps of a negotiation.
+     */
+    public enum Status {
+        /**
+         * The negotiation was created, the contract request has not been sent yet.
+         */
+        PENDING,
+        /**
+         * The contract request was sent, the provider did not answer yet.
+         */
+        REQUEST_SENT,
+        /**
+         * The provider sent a contract agreement, which has not been confirmed yet.
+         */
+        AGREEMENT_RECEIVED,
+        /**
+         * The contract agreement was confirmed to the provider.
+         */
+        CONFIRMED,
+        /**
+         * The provider rejected the contract request.
+         */
+        REJECTED,
+        /**
+         * A step failed. The negotiation may be resumed.
+         */
+        FAILED
+    }
+
+    @Id
+    @JsonProperty("uuid")
+    private UUID uuid;
+
+    @JsonProperty("recipient")
+    private String recipient;
+
+    @JsonProperty("artifactId")
+    private String artifactId;
+
+    @JsonProperty("status")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+
+    @JsonProperty("contractRequestId")
+    private String contractRequestId;
+
+    @JsonProperty("contractRequest")
+    @Column(columnDefinition = "TEXT")
+    private String contractRequest;
+
+    @JsonProperty("requestMessageId")
+    private String requestMessageId;
+
+    @JsonIgnore
+    @Column(columnDefinition = "TEXT")
+    private String agreementHeader;
+
+    @JsonIgnore
+    @Column(columnDefinition = "TEXT")
+    private String agreementPayload;
+
+    @JsonProperty("agreementId")
+    private String agreementId;
+
+    @JsonProperty("detail")
+    @Column(columnDefinition = "TEXT")
+    private String detail;
+
+    @JsonIgnore
+    private String owner;
+
+    @JsonIgnore
+    private Date leaseExpiry;
+
+    @JsonProperty("created")
+    private Date created;
+
+    @JsonProperty("modified")
+    private Date modified;
+
+    /**
+     * Constructor for ContractNegotiation.
+     */
+    public ContractNegotiation() {
+    }
+
+    /**
+     * Constructor for ContractNegotiation.
+     *
+     * @param uuid The id of the negotiation
+     * @param recipient The provider connector
+     * @param artifactId The requested artifact
+     * @param contractRequestId The id of the contract request
+     * @param contractRequest The contract request
+     */
+    public ContractNegotiation(UUID uuid, String recipient, String artifactId,
+        String contractRequestId, String contractRequest) {
+        this.uuid = uuid;
+        this.recipient = recipient;
+        this.artifactId = artifactId;
+        this.contractRequestId = contractRequestId;
+        this.contractRequest = contractRequest;
+        this.status = Status.PENDING;
+        this.created = new Date();
+        this.modified = this.created;
+    }
+}
@@ -0,0 +1,109 @@
+package de.fraunhofer.isst.dataspaceconnector.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * This class describes a persisted http trace. Records are only appended and removed once they
+ * exceed the retention time.
+ */
+@Data
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_http_trace_trace_id", columnList = "traceId"),
+    @Index(name = "idx_http_trace_timestamp", columnList = "timestamp")
+})
+public class HttpTraceRecord {
+
+    @Id
+    @GeneratedValue
+    @JsonProperty("uuid")
+    private UUID uuid;
+
+    @JsonProperty("traceId")
+    private UUID traceId;
+
+    @JsonProperty("timestamp")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd@HH:mm:ss.SSS")
+    private LocalDateTime timestamp;
+
+    @JsonProperty("method")
+    private String method;
+
+    @JsonProperty("url")
+    @Column(columnDefinition = "TEXT")
+    private String url;
+
+    @JsonProperty("status")
+    private Integer status;
+
+    @JsonProperty("duration")
+    private Long duration;
+
+    @JsonProperty("dispatchDuration")
+    private Double dispatchDuration;
+
+    @JsonProperty("databaseDuration")
+    private Double databaseDuration;
+
+    @JsonProperty("policyDuration")
+    private Double policyDuration;
+
+    @JsonProperty("backendDuration")
+    private Double backendDuration;
+
+    @JsonProperty("serializationDuration")
+    private Double serializationDuration;
+
+    @JsonProperty("client")
+    private String client;
+
+    @JsonProperty("headers")
+    @Column(columnDefinition = "TEXT")
+    private String headers;
+
+    @JsonProperty("parameterMap")
+    @Column(columnDefinition = "TEXT")
+    private String parameterMap;
+
+    @JsonProperty("body")
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @JsonProperty("bodySize")
+    private Long bodySize;
+
+    @JsonProperty("bodyTruncated")
+    private Boolean bodyTruncated;
+
+    @JsonProperty("responseHeaders")
+    @Column(columnDefinition = "TEXT")
+    private String responseHeaders;
+
+    @JsonProperty("responseBody")
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    @JsonProperty("responseBodySize")
+    private Long responseBodySize;
+
+    @JsonProperty("responseBodyTruncated")
+    private Boolean responseBodyTruncated;
+
+    /**
+     * Constructor for HttpTraceRecord.
+     */
+    public HttpTraceRecord() {
+
+    }
+}
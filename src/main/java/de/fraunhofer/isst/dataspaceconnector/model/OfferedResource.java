@@ -1,12 +1,15 @@
 package de.fraunhofer.isst.dataspaceconnector.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import java.util.Date;
 import java.util.UUID;
@@ -31,6 +34,7 @@ public class OfferedResource implements ConnectorResource {
 
     @NotNull
     @Column(columnDefinition = "BYTEA")
+    @Convert(converter = ResourceMetadataConverter.class)
     @JsonProperty("metadata")
     private ResourceMetadata resourceMetadata;
 
@@ -38,6 +42,22 @@ public class OfferedResource implements ConnectorResource {
     @JsonProperty("data")
     private String data;
 
+    /**
+     * The version of the validation rules the resource has passed. It is null for resources
+     * stored before the version was recorded.
+     */
+    @JsonIgnore
+    private Integer validationVersion;
+
+    /**
+     * The version of the stored row, increased by every change. Shared caches compare it to find
+     * out whether a cached resource is current.
+     */
+    @Version
+    @JsonIgnore
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long version;
+
     /**
      * Constructor for OfferedResource.
      */
@@ -1,5 +1,6 @@
 package de.fraunhofer.isst.dataspaceconnector.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -42,6 +43,7 @@ public class RequestedResource implements ConnectorResource {
 
     @NotNull
     @Column(columnDefinition = "BYTEA")
+    @Convert(converter = ResourceMetadataConverter.class)
     @JsonProperty("metadata")
     private ResourceMetadata resourceMetadata;
 
@@ -52,6 +54,22 @@ public class RequestedResource implements ConnectorResource {
     @JsonProperty("accessed")
     private Integer accessed;
 
+    /**
+     * The version of the validation rules the resource has passed. It is null for resources
+     * stored before the version was recorded.
+     */
+    @JsonIgnore
+    private Integer validationVersion;
+
+    /**
+     * The version of the stored row, increased by every change. Shared caches compare it to find
+     * out whether a cached resource is current.
+     */
+    @Version
+    @JsonIgnore
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long version;
+
     /**
      * Constructor for RequestedResource.
      */
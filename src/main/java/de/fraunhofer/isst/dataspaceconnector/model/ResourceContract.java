@@ -6,15 +6,23 @@ import lombok.Data;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import java.util.Date;
 import java.util.UUID;
 
 /**
- * This class provides a model to handle agreed resource contracts.
+ * This class provides a model to handle agreed resource contracts. Besides the contract's text,
+ * the target artifact, the consumer and the validity are stored in their own columns, so they can
+ * be looked up without parsing the contract. Agreements stored by older versions have none of
+ * these values.
  */
 @Data
 @Entity
-@Table
+@Table(indexes = {
+    @Index(columnList = "artifact_id"),
+    @Index(columnList = "consumer")
+})
 public class ResourceContract {
     @Id
     @JsonProperty("uuid")
@@ -24,6 +32,20 @@ public class ResourceContract {
     @Column(columnDefinition = "TEXT")
     private String contract;
 
+    @JsonProperty("artifactId")
+    @Column(name = "artifact_id")
+    private String artifactId;
+
+    @JsonProperty("consumer")
+    @Column(name = "consumer")
+    private String consumer;
+
+    @JsonProperty("contractStart")
+    private Date contractStart;
+
+    @JsonProperty("contractEnd")
+    private Date contractEnd;
+
     /**
      * Constructor for ResourceContract.
      */
@@ -40,4 +62,24 @@ public class ResourceContract {
         this.id = id;
         this.contract = contract;
     }
+
+    /**
+     * Constructor for ResourceContract.
+     *
+     * @param id The id
+     * @param contract The contract's text.
+     * @param artifactId The id of the artifact the contract applies to.
+     * @param consumer The id of the consumer.
+     * @param contractStart The start of the validity.
+     * @param contractEnd The end of the validity.
+     */
+    public ResourceContract(UUID id, String contract, String artifactId, String consumer,
+        Date contractStart, Date contractEnd) {
+        this.id = id;
+        this.contract = contract;
+        this.artifactId = artifactId;
+        this.consumer = consumer;
+        this.contractStart = contractStart;
+        this.contractEnd = contractEnd;
+    }
 }
@@ -6,9 +6,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.JsonUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -22,8 +24,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * This class provides a model to handle data resource metadata.
@@ -109,10 +109,9 @@ public class ResourceMetadata implements Serializable {
 
     @Override
     public String toString() {
-        ObjectMapper mapper = new ObjectMapper();
         String jsonString = null;
         try {
-            jsonString = mapper.writeValueAsString(this);
+            jsonString = JsonUtils.getObjectMapper().writeValueAsString(this);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
@@ -133,36 +132,29 @@ public class ResourceMetadata implements Serializable {
         }
     }
 
+    /**
+     * Reads the representations one by one from the parser, without building a tree first.
+     */
     private static class JsonToRepresentation extends
         JsonDeserializer<Map<UUID, ResourceRepresentation>> {
 
         @Override
+        @SuppressWarnings("unchecked")
         public Map<UUID, ResourceRepresentation> deserialize(JsonParser p,
-            DeserializationContext ctx) {
-            try {
-                var node = p.readValueAsTree();
-                final var objectMapper = new ObjectMapper();
-
-                var representations = IntStream.range(0, node.size()).boxed()
-                    .map(i -> {
-                        try {
-                            return objectMapper
-                                .readValue(node.get(i).toString(), ResourceRepresentation.class);
-                        } catch (IOException e) {
-                            throw new RuntimeException();
-                        }
-                    }).collect(Collectors.toList());
-
-                var output = new HashMap<UUID, ResourceRepresentation>();
-                for (var representation : representations) {
-                    output.put(representation.getUuid() == null ? UUID.randomUUID() : representation.getUuid(), representation);
+            DeserializationContext ctx) throws IOException {
+            if (!p.isExpectedStartArrayToken())
+                return (Map<UUID, ResourceRepresentation>) ctx.handleUnexpectedToken(Map.class, p);
+
+            var output = new HashMap<UUID, ResourceRepresentation>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                final var representation = ctx.readValue(p, ResourceRepresentation.class);
+                if (representation != null) {
+                    output.put(representation.getUuid() == null ? UUID.randomUUID()
+                        : representation.getUuid(), representation);
                 }
-
-                return output;
-            } catch (IOException exception) {
-                exception.printStackTrace();
-                return null;
             }
+
+            return output;
         }
     }
 }
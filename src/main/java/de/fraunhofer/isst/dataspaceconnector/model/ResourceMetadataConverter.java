@@ -0,0 +1,115 @@
+package de.fraunhofer.isst.dataspaceconnector.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores resource metadata in the binary Smile format of Jackson. Every value starts with a
+ * header of two magic bytes and a format version, so the format can be changed later on. Values
+ * stored with Java serialization by older versions are still read; they are rewritten by the
+ * {@link de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceMetadataMigration}.
+ */
+@Converter
+public class ResourceMetadataConverter implements AttributeConverter<ResourceMetadata, byte[]> {
+
+    private static final byte MAGIC_0 = 'R';
+    private static final byte MAGIC_1 = 'M';
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte JAVA_MAGIC_0 = (byte) 0xAC;
+    private static final byte JAVA_MAGIC_1 = (byte) 0xED;
+
+    // Legacy values may only contain the model and JDK classes.
+    private static final ObjectInputFilter LEGACY_FILTER = ObjectInputFilter.Config.createFilter(
+        "de.fraunhofer.isst.dataspaceconnector.model.*;java.**;!*");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new SmileFactory())
+        .addMixIn(ResourceMetadata.class, StoredResourceMetadata.class)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Override
+    public byte[] convertToDatabaseColumn(ResourceMetadata metadata) {
+        if (metadata == null)
+            return null;
+
+        try {
+            final var body = MAPPER.writeValueAsBytes(metadata);
+            final var value = new byte[HEADER_LENGTH + body.length];
+            value[0] = MAGIC_0;
+            value[1] = MAGIC_1;
+            value[2] = VERSION;
+            System.arraycopy(body, 0, value, HEADER_LENGTH, body.length);
+            return value;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not serialize resource metadata.", exception);
+        }
+    }
+
+    @Override
+    public ResourceMetadata convertToEntityAttribute(byte[] value) {
+        if (value == null)
+            return null;
+
+        try {
+            if (isLegacyFormat(value))
+                return readLegacy(value);
+
+            if (value.length < HEADER_LENGTH || value[0] != MAGIC_0 || value[1] != MAGIC_1)
+                throw new IllegalArgumentException("Unknown resource metadata format.");
+
+            if (value[2] != VERSION)
+                throw new IllegalArgumentException(
+                    "Unsupported resource metadata version " + value[2] + ".");
+
+            return MAPPER.readValue(value, HEADER_LENGTH, value.length - HEADER_LENGTH,
+                ResourceMetadata.class);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not deserialize resource metadata.", exception);
+        }
+    }
+
+    /**
+     * Checks whether a stored value was written with Java serialization.
+     *
+     * @param value the stored value.
+     * @return true, if the value has to be rewritten.
+     */
+    public static boolean isLegacyFormat(byte[] value) {
+        return value != null && value.length >= 2
+            && value[0] == JAVA_MAGIC_0 && value[1] == JAVA_MAGIC_1;
+    }
+
+    private static ResourceMetadata readLegacy(byte[] value) throws IOException {
+        try (var stream = new ObjectInputStream(new ByteArrayInputStream(value))) {
+            stream.setObjectInputFilter(LEGACY_FILTER);
+            return (ResourceMetadata) stream.readObject();
+        } catch (ClassNotFoundException | ClassCastException exception) {
+            throw new IOException("Not a resource metadata object.", exception);
+        }
+    }
+
+    /**
+     * Stores the representations with their keys, instead of the list used by the REST API.
+     */
+    private abstract static class StoredResourceMetadata {
+        @JsonSerialize(using = JsonSerializer.None.class)
+        @JsonDeserialize(using = JsonDeserializer.None.class)
+        private Map<UUID, ResourceRepresentation> representations;
+    }
+}
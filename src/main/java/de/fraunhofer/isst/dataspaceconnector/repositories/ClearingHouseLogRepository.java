@@ -0,0 +1,28 @@
+package de.fraunhofer.isst.dataspaceconnector.repositories;
+
+import de.fraunhofer.isst.dataspaceconnector.model.ClearingHouseLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface to the repository containing the messages waiting for the clearing house.
+ */
+@Repository
+public interface ClearingHouseLogRepository extends JpaRepository<ClearingHouseLogEntry, UUID> {
+
+    /**
+     * Finds the entries with a status that are due to be sent, the longest waiting first.
+     *
+     * @param status the status of the entries
+     * @param now the current time
+     * @param pageable the maximum number of entries
+     * @return the entries
+     */
+    List<ClearingHouseLogEntry> findByStatusAndNextAttemptLessThanEqualOrderByNextAttemptAsc(
+        ClearingHouseLogEntry.Status status, Date now, Pageable pageable);
+}
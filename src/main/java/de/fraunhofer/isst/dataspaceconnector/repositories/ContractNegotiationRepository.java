@@ -0,0 +1,62 @@
+package de.fraunhofer.isst.dataspaceconnector.repositories;
+
+import de.fraunhofer.isst.dataspaceconnector.model.ContractNegotiation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface to the repository containing the contract negotiations.
+ */
+@Repository
+public interface ContractNegotiationRepository extends JpaRepository<ContractNegotiation, UUID> {
+
+    /**
+     * Finds the negotiations in the given states that belong to a connector instance, to no
+     * instance, or whose lease expired.
+     *
+     * @param status the states
+     * @param owner the connector instance
+     * @param now the current time
+     * @return the negotiations
+     */
+    @Query("SELECT n FROM ContractNegotiation n WHERE n.status IN :status AND (n.owner = :owner"
+        + " OR n.owner IS NULL OR n.leaseExpiry IS NULL OR n.leaseExpiry < :now)")
+    List<ContractNegotiation> findInterrupted(
+        @Param("status") Collection<ContractNegotiation.Status> status,
+        @Param("owner") String owner, @Param("now") Date now);
+
+    /**
+     * Finds the negotiations in the given states whose lease expired.
+     *
+     * @param status the states
+     * @param now the current time
+     * @return the negotiations
+     */
+    List<ContractNegotiation> findByStatusInAndLeaseExpiryBefore(
+        Collection<ContractNegotiation.Status> status, Date now);
+
+    /**
+     * Extends the leases of the negotiations in the given states that belong to a connector
+     * instance.
+     *
+     * @param status the states
+     * @param owner the connector instance
+     * @param expiry the new end of the leases
+     * @return the number of renewed leases
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContractNegotiation n SET n.leaseExpiry = :expiry"
+        + " WHERE n.owner = :owner AND n.status IN :status")
+    int renewLeases(@Param("status") Collection<ContractNegotiation.Status> status,
+        @Param("owner") String owner, @Param("expiry") Date expiry);
+}
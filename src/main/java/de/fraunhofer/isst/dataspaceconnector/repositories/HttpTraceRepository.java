@@ -0,0 +1,39 @@
+package de.fraunhofer.isst.dataspaceconnector.repositories;
+
+import de.fraunhofer.isst.dataspaceconnector.model.HttpTraceRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface to the repository containing the persisted http traces.
+ */
+@Repository
+public interface HttpTraceRepository extends JpaRepository<HttpTraceRecord, UUID>,
+    JpaSpecificationExecutor<HttpTraceRecord> {
+
+    /**
+     * Finds all records of a trace.
+     *
+     * @param traceId the trace id.
+     * @return the records.
+     */
+    List<HttpTraceRecord> findByTraceId(UUID traceId);
+
+    /**
+     * Deletes all records older than the given time.
+     *
+     * @param cutoff the oldest time to keep.
+     * @return the number of deleted records.
+     */
+    @Modifying
+    @Query("DELETE FROM HttpTraceRecord t WHERE t.timestamp < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
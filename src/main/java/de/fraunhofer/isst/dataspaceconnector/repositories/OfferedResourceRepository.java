@@ -1,9 +1,17 @@
 package de.fraunhofer.isst.dataspaceconnector.repositories;
 
+import de.fraunhofer.isst.dataspaceconnector.model.CatalogState;
 import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -12,4 +20,77 @@ import java.util.UUID;
 @Repository
 public interface OfferedResourceRepository extends JpaRepository<OfferedResource, UUID> {
 
+    /**
+     * Finds the version of a resource, without loading the resource.
+     *
+     * @param uuid the id of the resource.
+     * @return the version or null, if the resource does not exist.
+     */
+    @Query("SELECT r.version FROM OfferedResource r WHERE r.uuid = :uuid")
+    Long findVersionByUuid(@Param("uuid") UUID uuid);
+
+    /**
+     * Summarizes the stored resources, without loading them.
+     *
+     * @return the number, the version sum and the latest modification of the resources.
+     */
+    @Query("SELECT new de.fraunhofer.isst.dataspaceconnector.model.CatalogState("
+        + "COUNT(r), SUM(r.version), MAX(r.modified)) FROM OfferedResource r")
+    CatalogState findCatalogState();
+
+    /**
+     * Stores the version of the validation rules a resource has passed, without loading the
+     * resource or changing its modification date and version.
+     *
+     * @param uuid the id of the resource.
+     * @param version the version of the validation rules.
+     * @return the number of updated resources.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OfferedResource r SET r.validationVersion = :version WHERE r.uuid = :uuid")
+    int updateValidationVersion(@Param("uuid") UUID uuid, @Param("version") int version);
+
+    /**
+     * Finds the first resources, ordered by id.
+     *
+     * @param pageable the number of resources, the page must be the first one.
+     * @return the resources.
+     */
+    @Query("SELECT r FROM OfferedResource r ORDER BY r.uuid")
+    List<OfferedResource> findOrderedById(Pageable pageable);
+
+    /**
+     * Finds the next resources, ordered by id.
+     *
+     * @param after the id of the last resource already found.
+     * @param pageable the number of resources, the page must be the first one.
+     * @return the resources.
+     */
+    @Query("SELECT r FROM OfferedResource r WHERE r.uuid > :after ORDER BY r.uuid")
+    List<OfferedResource> findOrderedById(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Finds the first resources modified since the given time, ordered by id.
+     *
+     * @param since the earliest modification time.
+     * @param pageable the number of resources, the page must be the first one.
+     * @return the resources.
+     */
+    @Query("SELECT r FROM OfferedResource r WHERE r.modified >= :since ORDER BY r.uuid")
+    List<OfferedResource> findModifiedSince(@Param("since") Date since, Pageable pageable);
+
+    /**
+     * Finds the next resources modified since the given time, ordered by id. Continuing after
+     * the last id instead of skipping pages keeps concurrent deletions from hiding resources.
+     *
+     * @param since the earliest modification time.
+     * @param after the id of the last resource already found.
+     * @param pageable the number of resources, the page must be the first one.
+     * @return the resources.
+     */
+    @Query("SELECT r FROM OfferedResource r WHERE r.modified >= :since AND r.uuid > :after "
+        + "ORDER BY r.uuid")
+    List<OfferedResource> findModifiedSince(@Param("since") Date since,
+        @Param("after") UUID after, Pageable pageable);
 }
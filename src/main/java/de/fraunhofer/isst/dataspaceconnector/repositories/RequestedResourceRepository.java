@@ -1,8 +1,13 @@
 package de.fraunhofer.isst.dataspaceconnector.repositories;
 
+import de.fraunhofer.isst.dataspaceconnector.model.CatalogState;
 import de.fraunhofer.isst.dataspaceconnector.model.RequestedResource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -12,4 +17,34 @@ import java.util.UUID;
 @Repository
 public interface RequestedResourceRepository extends JpaRepository<RequestedResource, UUID> {
 
+    /**
+     * Finds the version of a resource, without loading the resource.
+     *
+     * @param uuid the id of the resource.
+     * @return the version or null, if the resource does not exist.
+     */
+    @Query("SELECT r.version FROM RequestedResource r WHERE r.uuid = :uuid")
+    Long findVersionByUuid(@Param("uuid") UUID uuid);
+
+    /**
+     * Summarizes the stored resources, without loading them.
+     *
+     * @return the number, the version sum and the latest modification of the resources.
+     */
+    @Query("SELECT new de.fraunhofer.isst.dataspaceconnector.model.CatalogState("
+        + "COUNT(r), SUM(r.version), MAX(r.modified)) FROM RequestedResource r")
+    CatalogState findCatalogState();
+
+    /**
+     * Stores the version of the validation rules a resource has passed, without loading the
+     * resource or changing its modification date and version.
+     *
+     * @param uuid the id of the resource.
+     * @param version the version of the validation rules.
+     * @return the number of updated resources.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RequestedResource r SET r.validationVersion = :version WHERE r.uuid = :uuid")
+    int updateValidationVersion(@Param("uuid") UUID uuid, @Param("version") int version);
 }
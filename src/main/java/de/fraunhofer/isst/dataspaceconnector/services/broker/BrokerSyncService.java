@@ -0,0 +1,384 @@
+package de.fraunhofer.isst.dataspaceconnector.services.broker;
+
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.iais.eis.ResourceBuilder;
+import de.fraunhofer.isst.dataspaceconnector.config.BrokerSyncConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import de.fraunhofer.isst.ids.framework.communication.broker.IDSBrokerService;
+import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * This class keeps the configured brokers in sync with the offered resources. Instead of
+ * re-registering the whole connector, only the resources modified since the last successful
+ * synchronization are sent as resource updates, and deleted resources are announced as
+ * unavailable. The synchronization runs periodically and after every change of an offered
+ * resource. The connector itself has to be registered at the brokers beforehand.
+ *
+ * <p>A resource may be committed after the synchronization that should have found it has
+ * started. So every synchronization also looks at the resources modified shortly before the last
+ * one started, which sends some of them twice. Resource updates are idempotent at the broker.</p>
+ *
+ * <p>The progress is kept in memory. After a restart, all offered resources are sent once more,
+ * deletions that have not been announced before the restart are lost.</p>
+ */
+@Service
+@EnableScheduling
+public class BrokerSyncService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrokerSyncService.class);
+
+
+    /**
+     * The result of sending a single resource.
+     */
+    private enum Outcome {
+        /**
+         * The broker accepted the message.
+         */
+        SENT,
+        /**
+         * The broker rejected the message, sending it again would not help.
+         */
+        REJECTED,
+        /**
+         * The broker could not be reached.
+         */
+        FAILED
+    }
+
+    private final IDSBrokerService brokerService;
+    private final DapsTokenProvider tokenProvider;
+    private final OfferedResourceRepository offeredResourceRepository;
+    private final IdsUtils idsUtils;
+    private final BrokerSyncConfiguration configuration;
+
+    private final Map<String, BrokerState> brokers = new ConcurrentHashMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicBoolean syncRequested = new AtomicBoolean();
+    private final ExecutorService trigger;
+    private final ExecutorService senders;
+
+    /**
+     * Constructor for BrokerSyncService.
+     *
+     * @param brokerService The service for the broker
+     * @param tokenProvider The token provider
+     * @param offeredResourceRepository The repository containing the offered resources
+     * @param idsUtils The utility class for IDS objects
+     * @param configuration The broker synchronization configuration
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public BrokerSyncService(IDSBrokerService brokerService, DapsTokenProvider tokenProvider,
+        OfferedResourceRepository offeredResourceRepository, IdsUtils idsUtils,
+        BrokerSyncConfiguration configuration) throws IllegalArgumentException {
+        if (brokerService == null)
+            throw new IllegalArgumentException("The IDSBrokerService cannot be null.");
+
+        if (tokenProvider == null)
+            throw new IllegalArgumentException("The TokenProvider cannot be null.");
+
+        if (offeredResourceRepository == null)
+            throw new IllegalArgumentException("The OfferedResourceRepository cannot be null.");
+
+        if (idsUtils == null)
+            throw new IllegalArgumentException("The IdsUtils cannot be null.");
+
+        if (configuration == null)
+            throw new IllegalArgumentException("The BrokerSyncConfiguration cannot be null.");
+
+        this.brokerService = brokerService;
+        this.tokenProvider = tokenProvider;
+        this.offeredResourceRepository = offeredResourceRepository;
+        this.idsUtils = idsUtils;
+        this.configuration = configuration;
+
+        for (final var broker : configuration.getBrokers()) {
+            if (!broker.isBlank()) {
+                brokers.put(broker.trim(), new BrokerState());
+            }
+        }
+
+        this.trigger = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "broker-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.senders = Executors.newFixedThreadPool(Math.max(configuration.getConcurrency(), 1),
+            runnable -> {
+                final var thread = new Thread(runnable, "broker-sync-sender");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Reports that an offered resource has been created or updated.
+     */
+    public void resourceChanged() {
+        requestSync();
+    }
+
+    /**
+     * Reports that an offered resource has been deleted.
+     *
+     * @param resourceId the id of the deleted resource.
+     */
+    public void resourceDeleted(UUID resourceId) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        for (final var state : brokers.values()) {
+            state.pendingRemovals.add(resourceId);
+        }
+        requestSync();
+    }
+
+    /**
+     * Periodically synchronizes the brokers, which also retries failed messages.
+     */
+    @Scheduled(fixedDelayString = "${broker-sync.interval:60000}",
+        initialDelayString = "${broker-sync.interval:60000}")
+    public void schedule() {
+        if (configuration.isEnabled()) {
+            synchronize();
+        }
+    }
+
+    /**
+     * Sends the changes since the last successful synchronization to every broker. Concurrent
+     * calls wait for each other.
+     */
+    public void synchronize() {
+        syncLock.lock();
+        try {
+            for (final var broker : brokers.entrySet()) {
+                if (tokenProvider.getDAT() == null) {
+                    LOGGER.warn("Skipped broker synchronization without a valid DAT.");
+                    return;
+                }
+
+                synchronize(broker.getKey(), broker.getValue());
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the senders.
+     */
+    @PreDestroy
+    public void shutdown() {
+        trigger.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void requestSync() {
+        // At most one synchronization is queued, it includes all changes made until it starts.
+        if (configuration.isEnabled() && syncRequested.compareAndSet(false, true)) {
+            trigger.execute(() -> {
+                syncRequested.set(false);
+                synchronize();
+            });
+        }
+    }
+
+    private void synchronize(String broker, BrokerState state) {
+        // Changes made from now on are picked up by the next synchronization. Changes made
+        // before, but committed later, are picked up by the overlap of the next window.
+        final var start = new Date();
+        final var since = new Date(Math.max(state.watermark.getTime()
+            - configuration.getWatermarkSkew().toMillis(), 0));
+        var complete = true;
+
+        final var removals = new ArrayList<>(state.pendingRemovals);
+        for (final var batch : partition(removals)) {
+            final var outcomes = send(batch.stream()
+                .map(resourceId -> (Callable<Outcome>) () -> removeResource(broker, resourceId))
+                .collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                if (outcomes.get(i) == Outcome.FAILED) {
+                    complete = false;
+                } else {
+                    state.pendingRemovals.remove(batch.get(i));
+                }
+            }
+        }
+
+        final var batchSize = Math.max(configuration.getBatchSize(), 1);
+        var updates = 0;
+        UUID after = null;
+        while (true) {
+            final var batch = after == null
+                ? offeredResourceRepository.findModifiedSince(since,
+                    PageRequest.of(0, batchSize))
+                : offeredResourceRepository.findModifiedSince(since, after,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            final var outcomes = send(batch.stream()
+                .map(resource -> (Callable<Outcome>) () -> updateResource(broker, resource))
+                .collect(Collectors.toList()));
+            if (outcomes.contains(Outcome.FAILED)) {
+                complete = false;
+            }
+
+            updates += batch.size();
+            after = batch.get(batch.size() - 1).getUuid();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (complete) {
+            state.watermark = start;
+        }
+
+        if (updates > 0 || !removals.isEmpty()) {
+            LOGGER.debug("Synchronized broker. [broker=({}), updates=({}), removals=({}), "
+                + "complete=({})]", broker, updates, removals.size(), complete);
+        }
+    }
+
+    private List<Outcome> send(List<Callable<Outcome>> tasks) {
+        final var outcomes = new ArrayList<Outcome>(tasks.size());
+        try {
+            for (final Future<Outcome> future : senders.invokeAll(tasks)) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException exception) {
+                    LOGGER.warn("Failed to send a message to the broker. [exception=({})]",
+                        exception.getCause().getMessage());
+                    outcomes.add(Outcome.FAILED);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            while (outcomes.size() < tasks.size()) {
+                outcomes.add(Outcome.FAILED);
+            }
+        }
+
+        return outcomes;
+    }
+
+    private Outcome updateResource(String broker, OfferedResource offeredResource)
+        throws InterruptedException {
+        final Resource resource;
+        try {
+            resource = idsUtils.getAsResource(offeredResource);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not build the resource for the broker. [resourceId=({}), "
+                + "exception=({})]", offeredResource.getUuid(), exception.getMessage());
+            return Outcome.REJECTED;
+        }
+
+        return sendWithRetries(broker, offeredResource.getUuid(),
+            () -> brokerService.updateResourceAtBroker(broker, resource));
+    }
+
+    private Outcome removeResource(String broker, UUID resourceId) throws InterruptedException {
+        // The broker only needs the id of a resource that is no longer available.
+        final var resource = new ResourceBuilder(IdsUtils.getResourceUri(resourceId))
+            .build();
+        return sendWithRetries(broker, resourceId,
+            () -> brokerService.removeResourceFromBroker(broker, resource));
+    }
+
+    private Outcome sendWithRetries(String broker, UUID resourceId, BrokerCall call)
+        throws InterruptedException {
+        final var retryDelay = configuration.getRetryDelay().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            try (var response = call.send()) {
+                final var body = response.body() == null ? "" : response.body().string();
+                if (response.isSuccessful() && !body.contains("RejectionMessage")) {
+                    return Outcome.SENT;
+                }
+
+                if (response.isSuccessful()) {
+                    LOGGER.debug("The broker rejected the resource. [broker=({}), "
+                        + "resourceId=({})]", broker, resourceId);
+                    return Outcome.REJECTED;
+                }
+
+                LOGGER.debug("The broker could not process the resource. [broker=({}), "
+                    + "resourceId=({}), status=({})]", broker, resourceId, response.code());
+            } catch (IOException exception) {
+                LOGGER.debug("Could not reach the broker. [broker=({}), resourceId=({}), "
+                    + "exception=({})]", broker, resourceId, exception.getMessage());
+            }
+
+            if (attempt >= configuration.getMaxRetries()) {
+                return Outcome.FAILED;
+            }
+
+            // Back off exponentially, so that an overloaded broker can recover.
+            Thread.sleep(retryDelay << Math.min(attempt, 10));
+        }
+    }
+
+    private List<List<UUID>> partition(List<UUID> resourceIds) {
+        final var batchSize = Math.max(configuration.getBatchSize(), 1);
+        final var batches = new ArrayList<List<UUID>>();
+        for (int i = 0; i < resourceIds.size(); i += batchSize) {
+            batches.add(resourceIds.subList(i, Math.min(i + batchSize, resourceIds.size())));
+        }
+
+        return batches;
+    }
+
+    /**
+     * A message to the broker.
+     */
+    @FunctionalInterface
+    private interface BrokerCall {
+        Response send() throws IOException;
+    }
+
+    /**
+     * The progress of the synchronization with one broker.
+     */
+    private static final class BrokerState {
+        /**
+         * The start of the last complete synchronization.
+         */
+        private volatile Date watermark = new Date(0);
+
+        /**
+         * The deleted resources that have not been announced yet.
+         */
+        private final Set<UUID> pendingRemovals = ConcurrentHashMap.newKeySet();
+    }
+}
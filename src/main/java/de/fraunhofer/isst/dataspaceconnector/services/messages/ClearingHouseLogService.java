@@ -0,0 +1,228 @@
+package de.fraunhofer.isst.dataspaceconnector.services.messages;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ClearingHouseConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageResponseException;
+import de.fraunhofer.isst.dataspaceconnector.model.ClearingHouseLogEntry;
+import de.fraunhofer.isst.dataspaceconnector.repositories.ClearingHouseLogRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.LogMessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class sends messages to the clearing house in the background. Messages are stored in an
+ * outbox table first, so callers do not wait for the clearing house and nothing is lost while it
+ * cannot be reached. Failed messages are retried with an exponentially growing delay, until
+ * the maximum number of attempts is reached and they are marked as failed. Nothing is logged
+ * unless the clearing house is enabled.
+ */
+@Service
+@EnableScheduling
+public class ClearingHouseLogService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClearingHouseLogService.class);
+
+    private final LogMessageService logMessageService;
+    private final ClearingHouseLogRepository logRepository;
+    private final ClearingHouseConfiguration configuration;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final ExecutorService trigger;
+
+    /**
+     * Constructor for ClearingHouseLogService.
+     *
+     * @param logMessageService The service for log messages
+     * @param logRepository The repository containing the outbox
+     * @param configuration The clearing house configuration
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public ClearingHouseLogService(LogMessageService logMessageService,
+        ClearingHouseLogRepository logRepository, ClearingHouseConfiguration configuration)
+        throws IllegalArgumentException {
+        if (logMessageService == null)
+            throw new IllegalArgumentException("The LogMessageService cannot be null.");
+
+        if (logRepository == null)
+            throw new IllegalArgumentException("The ClearingHouseLogRepository cannot be null.");
+
+        if (configuration == null)
+            throw new IllegalArgumentException("The ClearingHouseConfiguration cannot be null.");
+
+        this.logMessageService = logMessageService;
+        this.logRepository = logRepository;
+        this.configuration = configuration;
+
+        this.trigger = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "clearing-house");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stores a message for the clearing house and starts sending it in the background. Inside a
+     * transaction, the message is stored with the other changes and sent after the commit.
+     *
+     * @param payload the message payload.
+     */
+    public void log(String payload) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        logRepository.save(new ClearingHouseLogEntry(UUID.randomUUID(), payload));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        requestDrain();
+                    }
+                });
+        } else {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Periodically sends the stored messages, which also retries failed messages.
+     */
+    @Scheduled(fixedDelayString = "${clearing-house.interval:10000}",
+        initialDelayString = "${clearing-house.interval:10000}")
+    public void schedule() {
+        if (configuration.isEnabled()) {
+            drain();
+        }
+    }
+
+    /**
+     * Sends all messages that are due, in batches. Stops at the first failure, as the remaining
+     * messages would most likely fail as well. Concurrent calls wait for each other.
+     */
+    public void drain() {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        drainLock.lock();
+        try {
+            final var batchSize = Math.max(configuration.getBatchSize(), 1);
+            var sent = 0;
+            while (true) {
+                final var batch = logRepository
+                    .findByStatusAndNextAttemptLessThanEqualOrderByNextAttemptAsc(
+                        ClearingHouseLogEntry.Status.PENDING, new Date(),
+                        PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                final var delivered = new ArrayList<ClearingHouseLogEntry>(batch.size());
+                ClearingHouseLogEntry failed = null;
+                for (final var entry : batch) {
+                    try {
+                        checkDelivered(logMessageService.sendRequestMessage(entry.getPayload()));
+                        delivered.add(entry);
+                    } catch (RuntimeException exception) {
+                        postpone(entry, exception);
+                        failed = entry;
+                        break;
+                    }
+                }
+
+                logRepository.deleteAll(delivered);
+                sent += delivered.size();
+                if (failed != null || batch.size() < batchSize) {
+                    break;
+                }
+            }
+
+            if (sent > 0) {
+                LOGGER.debug("Sent messages to the clearing house. [count=({})]", sent);
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background sender.
+     */
+    @PreDestroy
+    public void shutdown() {
+        trigger.shutdownNow();
+    }
+
+    private void requestDrain() {
+        // At most one run is queued, it includes all messages stored until it starts.
+        if (drainRequested.compareAndSet(false, true)) {
+            trigger.execute(() -> {
+                drainRequested.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Checks that the clearing house confirmed a message. Rejections and unexpected answers are
+     * retried like failed calls.
+     *
+     * @throws MessageResponseException if the message was not confirmed.
+     */
+    private void checkDelivered(Map<String, String> response) throws MessageResponseException {
+        if (response == null || response.get("header") == null) {
+            throw new MessageResponseException("Received no ids response.");
+        }
+
+        final var type = logMessageService.getResponseType(response.get("header"));
+        if (type != ResponseType.MESSAGE_PROCESSED_NOTIFICATION && type != ResponseType.RESULT) {
+            throw new MessageResponseException("The clearing house did not confirm the message. "
+                + "[type=(" + type + ")]");
+        }
+    }
+
+    private void postpone(ClearingHouseLogEntry entry, Exception exception) {
+        final var attempts = entry.getAttempts() + 1;
+        final var delay = Math.min(
+            configuration.getRetryDelay().toMillis() << Math.min(attempts - 1, 30),
+            configuration.getMaxRetryDelay().toMillis());
+
+        entry.setAttempts(attempts);
+        entry.setNextAttempt(new Date(System.currentTimeMillis() + delay));
+        entry.setLastError(exception.getMessage());
+
+        if (attempts >= configuration.getMaxAttempts()) {
+            entry.setStatus(ClearingHouseLogEntry.Status.FAILED);
+            logRepository.save(entry);
+
+            LOGGER.error("Gave up sending a log message. [uuid=({}), attempts=({}), "
+                + "exception=({})]", entry.getUuid(), attempts, exception.getMessage());
+            return;
+        }
+
+        logRepository.save(entry);
+
+        LOGGER.warn("Failed to send a log message. [uuid=({}), attempts=({}), retryIn=({}ms), "
+            + "exception=({})]", entry.getUuid(), attempts, delay, exception.getMessage());
+    }
+}
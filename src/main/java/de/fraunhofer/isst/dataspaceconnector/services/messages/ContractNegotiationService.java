@@ -0,0 +1,293 @@
+package de.fraunhofer.isst.dataspaceconnector.services.messages;
+
+import de.fraunhofer.iais.eis.ContractAgreementMessage;
+import de.fraunhofer.isst.dataspaceconnector.config.NegotiationConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.ContractException;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageResponseException;
+import de.fraunhofer.isst.dataspaceconnector.model.ContractNegotiation;
+import de.fraunhofer.isst.dataspaceconnector.model.ContractNegotiation.Status;
+import de.fraunhofer.isst.dataspaceconnector.repositories.ContractNegotiationRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class runs contract negotiations as sessions in the background. Every session is stored
+ * after each step, so callers can poll its outcome and negotiate with many providers at once.
+ * Sessions that failed, or were interrupted by a restart, can be resumed: a received agreement is
+ * confirmed again, otherwise the stored contract request is sent again with its first message id.
+ * The provider may receive a request more than once, so requests are delivered at least once.
+ * Each running session belongs to the connector instance running it, which renews its lease;
+ * sessions of a stopped instance are marked as failed once their lease expired.
+ */
+@Service
+@EnableScheduling
+public class ContractNegotiationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractNegotiationService.class);
+
+    private static final List<Status> RUNNING =
+        List.of(Status.PENDING, Status.REQUEST_SENT, Status.AGREEMENT_RECEIVED);
+
+    private final NegotiationService negotiationService;
+    private final ContractMessageService messageService;
+    private final ContractNegotiationRepository negotiationRepository;
+    private final String instanceId;
+    private final Duration lease;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for ContractNegotiationService.
+     *
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public ContractNegotiationService(NegotiationService negotiationService,
+        ContractMessageService contractMessageService,
+        ContractNegotiationRepository negotiationRepository,
+        NegotiationConfiguration negotiationConfiguration) throws IllegalArgumentException {
+        if (negotiationService == null)
+            throw new IllegalArgumentException("The NegotiationService cannot be null.");
+
+        if (contractMessageService == null)
+            throw new IllegalArgumentException("The ContractMessageService cannot be null.");
+
+        if (negotiationRepository == null)
+            throw new IllegalArgumentException("The ContractNegotiationRepository cannot be null.");
+
+        if (negotiationConfiguration == null)
+            throw new IllegalArgumentException("The NegotiationConfiguration cannot be null.");
+
+        this.negotiationService = negotiationService;
+        this.messageService = contractMessageService;
+        this.negotiationRepository = negotiationRepository;
+        this.instanceId = negotiationConfiguration.getInstanceId();
+        this.lease = negotiationConfiguration.getLease();
+        this.executor = Executors.newFixedThreadPool(
+            Math.max(negotiationConfiguration.getConcurrency(), 1), runnable -> {
+                final var thread = new Thread(runnable, "contract-negotiation");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Marks the sessions that were still running when this instance stopped, or whose instance
+     * stopped renewing their lease, as failed, so they can be resumed.
+     */
+    @PostConstruct
+    public void recoverInterruptedSessions() {
+        recover(negotiationRepository.findInterrupted(RUNNING, instanceId, new Date()));
+    }
+
+    /**
+     * Periodically renews the leases of the sessions running on this instance and marks the
+     * sessions of other instances as failed once their lease expired.
+     */
+    @Scheduled(fixedDelayString = "${negotiation.lease-renewal:60000}",
+        initialDelayString = "${negotiation.lease-renewal:60000}")
+    public void renewLeases() {
+        negotiationRepository.renewLeases(RUNNING, instanceId, leaseExpiry());
+        recover(negotiationRepository.findByStatusInAndLeaseExpiryBefore(RUNNING, new Date()));
+    }
+
+    private void recover(List<ContractNegotiation> interrupted) {
+        for (var negotiation : interrupted)
+            fail(negotiation, "The negotiation was interrupted.");
+
+        if (!interrupted.isEmpty())
+            LOGGER.info("Marked interrupted negotiations as failed. [count=({})]",
+                interrupted.size());
+    }
+
+    /**
+     * Stops the running negotiations.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds a contract request from a contract offer and starts negotiating it with a provider.
+     *
+     * @param recipient the provider connector.
+     * @param artifactId ID of the requested artifact.
+     * @param contractOffer the contract offer as string.
+     * @return the new session.
+     * @throws IllegalArgumentException if the contract offer could not be deserialized.
+     * @throws MessageException if the contract request could not be built.
+     */
+    public ContractNegotiation startNegotiation(URI recipient, URI artifactId,
+        String contractOffer) throws IllegalArgumentException, MessageException {
+        final var request = negotiationService.buildContractRequest(contractOffer, artifactId);
+        final var created = new ContractNegotiation(UUID.randomUUID(), recipient.toString(),
+            artifactId.toString(), request.getId().toString(), request.toRdf());
+        created.setOwner(instanceId);
+        created.setLeaseExpiry(leaseExpiry());
+        final var negotiation = negotiationRepository.save(created);
+
+        submit(negotiation.getUuid());
+        LOGGER.debug("Started contract negotiation. [uuid=({}), recipient=({})]",
+            negotiation.getUuid(), recipient);
+        return negotiation;
+    }
+
+    /**
+     * Finds a session by ID.
+     *
+     * @param uuid ID of the session
+     * @return the session or null, if it does not exist.
+     */
+    public ContractNegotiation getNegotiation(UUID uuid) {
+        return negotiationRepository.findById(uuid).orElse(null);
+    }
+
+    /**
+     * Resumes a failed session.
+     *
+     * @param uuid ID of the session
+     * @return the session or null, if it does not exist.
+     * @throws IllegalStateException if the session has not failed.
+     */
+    public synchronized ContractNegotiation resumeNegotiation(UUID uuid)
+        throws IllegalStateException {
+        final var negotiation = getNegotiation(uuid);
+        if (negotiation == null)
+            return null;
+
+        if (negotiation.getStatus() != Status.FAILED)
+            throw new IllegalStateException("Only failed negotiations can be resumed.");
+
+        negotiation.setOwner(instanceId);
+        final var resumed = update(negotiation, negotiation.getAgreementPayload() == null
+            ? Status.PENDING : Status.AGREEMENT_RECEIVED, null);
+        submit(uuid);
+        return resumed;
+    }
+
+    private void submit(UUID uuid) {
+        executor.execute(() -> run(uuid));
+    }
+
+    private void run(UUID uuid) {
+        var negotiation = getNegotiation(uuid);
+        if (negotiation == null)
+            return;
+
+        try {
+            if (negotiation.getStatus() == Status.PENDING) {
+                negotiation = sendRequest(negotiation);
+            }
+
+            if (negotiation.getStatus() == Status.AGREEMENT_RECEIVED) {
+                confirmAgreement(negotiation);
+            }
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Contract negotiation failed. [uuid=({}), exception=({})]", uuid,
+                exception.getMessage());
+            fail(negotiation, exception.getMessage());
+        }
+    }
+
+    /**
+     * Sends the contract request and stores the provider's answer. A resumed session sends the
+     * request with the message id of its first attempt.
+     */
+    private ContractNegotiation sendRequest(ContractNegotiation negotiation)
+        throws MessageException {
+        final var recipient = URI.create(negotiation.getRecipient());
+        final var messageId = negotiation.getRequestMessageId();
+        final var header = messageService.buildRequestHeader(recipient,
+            URI.create(negotiation.getContractRequestId()),
+            messageId == null ? null : URI.create(messageId));
+
+        negotiation.setRequestMessageId(header.getId().toString());
+        negotiation = update(negotiation, Status.REQUEST_SENT, null);
+
+        final var response =
+            messageService.sendMessage(header, negotiation.getContractRequest(), recipient);
+        if (response == null)
+            throw new MessageResponseException("Received no ids response.");
+
+        final var responseHeader = response.get("header");
+        final var responsePayload = response.get("payload");
+        final var responseType = messageService.getResponseType(responseHeader);
+        if (responseType != ResponseType.CONTRACT_AGREEMENT) {
+            return update(negotiation, Status.REJECTED, responseType + ": " + responsePayload);
+        }
+
+        // The agreement has to answer this session's contract request.
+        final URI correlationMessage;
+        try {
+            correlationMessage = messageService.getSerializerProvider().getSerializer()
+                .deserialize(responseHeader, ContractAgreementMessage.class)
+                .getCorrelationMessage();
+        } catch (IOException exception) {
+            throw new MessageResponseException("Could not read contract agreement.", exception);
+        }
+
+        if (correlationMessage == null
+            || !correlationMessage.toString().equals(negotiation.getRequestMessageId()))
+            throw new MessageResponseException("The contract agreement answers another message.");
+
+        negotiation.setAgreementHeader(responseHeader);
+        negotiation.setAgreementPayload(responsePayload);
+        return update(negotiation, Status.AGREEMENT_RECEIVED, null);
+    }
+
+    /**
+     * Confirms the received agreement to the provider.
+     */
+    private void confirmAgreement(ContractNegotiation negotiation)
+        throws ContractException, MessageException {
+        final var agreementId = negotiationService.contractAccepted(
+            URI.create(negotiation.getRecipient()), negotiation.getAgreementHeader(),
+            negotiation.getAgreementPayload());
+
+        negotiation.setAgreementId(agreementId.toString());
+        update(negotiation, Status.CONFIRMED, null);
+        LOGGER.debug("Completed contract negotiation. [uuid=({}), agreementId=({})]",
+            negotiation.getUuid(), agreementId);
+    }
+
+    private void fail(ContractNegotiation negotiation, String detail) {
+        try {
+            update(negotiation, Status.FAILED, detail);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not store failed negotiation. [uuid=({}), exception=({})]",
+                negotiation.getUuid(), exception.getMessage());
+        }
+    }
+
+    private ContractNegotiation update(ContractNegotiation negotiation, Status status,
+        String detail) {
+        negotiation.setStatus(status);
+        negotiation.setDetail(detail);
+        negotiation.setModified(new Date());
+        if (RUNNING.contains(status))
+            negotiation.setLeaseExpiry(leaseExpiry());
+        return negotiationRepository.save(negotiation);
+    }
+
+    private Date leaseExpiry() {
+        return new Date(System.currentTimeMillis() + lease.toMillis());
+    }
+}
@@ -0,0 +1,202 @@
+package de.fraunhofer.isst.dataspaceconnector.services.messages;
+
+import de.fraunhofer.iais.eis.Message;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.handler.Rejections;
+import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Records metrics for the incoming IDS message handlers and the outgoing IDS request messages:
+ * counts and latencies by outcome, rejections by reason, payload sizes and calls in flight.
+ * The handlers report through {@link #measureHandler(String, Supplier)}; they are not advised,
+ * as the IDS framework resolves them by the annotations of their runtime class. Outgoing messages
+ * are measured both through {@link MessageService#sendRequestMessage(String)} and through
+ * {@link MessageService#sendMessage(Message, String, URI)}. The former calls the latter on the
+ * target itself, bypassing the proxy, so every message is only recorded once.
+ */
+@Aspect
+@Component
+public class MessageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for MessageMetrics.
+     *
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public MessageMetrics(MeterRegistry meterRegistry) throws IllegalArgumentException {
+        if (meterRegistry == null)
+            throw new IllegalArgumentException("The MeterRegistry cannot be null.");
+
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Handles an incoming message and records its metrics.
+     *
+     * @param handler The name of the message handler
+     * @param call    The handling of the message
+     * @return The response of the handler
+     */
+    public MessageResponse measureHandler(String handler, Supplier<MessageResponse> call) {
+        final var active = getInFlight("ids.handler.active", "handler", handler);
+
+        recordRequestSize(handler);
+        Rejections.consumeReason();
+
+        var outcome = "error";
+        active.incrementAndGet();
+        final var start = System.nanoTime();
+        try {
+            final var response = call.get();
+            final var reason = Rejections.consumeReason();
+            if (reason != null) {
+                outcome = "rejected";
+                Counter.builder("ids.handler.rejections")
+                    .description("Rejected IDS messages by rejection reason")
+                    .tags("handler", handler, "reason", reasonName(String.valueOf(reason)))
+                    .register(meterRegistry)
+                    .increment();
+            } else {
+                outcome = "success";
+            }
+            return response;
+        } finally {
+            active.decrementAndGet();
+            Timer.builder("ids.handler.requests")
+                .description("Handling time of incoming IDS messages")
+                .tags("handler", handler, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(public * de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService+.sendRequestMessage(String)) && args(payload)")
+    public Object measureOutbound(ProceedingJoinPoint joinPoint, String payload)
+        throws Throwable {
+        return measure(joinPoint, payload);
+    }
+
+    @Around("execution(public * de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService+.sendMessage(de.fraunhofer.iais.eis.Message, String, java.net.URI)) && args(*, payload, *)")
+    public Object measureOutboundMessage(ProceedingJoinPoint joinPoint, String payload)
+        throws Throwable {
+        return measure(joinPoint, payload);
+    }
+
+    private Object measure(ProceedingJoinPoint joinPoint, String payload) throws Throwable {
+        final var type = messageType(joinPoint.getTarget().getClass().getSimpleName());
+        final var active = getInFlight("ids.outbound.active", "type", type);
+
+        if (payload != null) {
+            summary("ids.outbound.request.size", "Size of outgoing IDS request payloads",
+                "type", type).record(utf8Length(payload));
+        }
+
+        var outcome = "error";
+        active.incrementAndGet();
+        final var start = System.nanoTime();
+        try {
+            final var response = joinPoint.proceed();
+            outcome = "success";
+            if (response instanceof Map) {
+                final var responsePayload = ((Map<?, ?>) response).get("payload");
+                if (responsePayload instanceof String) {
+                    summary("ids.outbound.response.size",
+                        "Size of IDS response payloads to outgoing requests", "type", type)
+                        .record(utf8Length((String) responsePayload));
+                }
+            }
+            return response;
+        } finally {
+            active.decrementAndGet();
+            Timer.builder("ids.outbound.requests")
+                .description("Round-trip time of outgoing IDS request messages")
+                .tags("type", type, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordRequestSize(String handler) {
+        final var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            final var length = ((ServletRequestAttributes) attributes).getRequest()
+                .getContentLengthLong();
+            if (length >= 0) {
+                summary("ids.handler.request.size", "Size of incoming IDS multipart messages",
+                    "handler", handler).record(length);
+            }
+        }
+    }
+
+    private AtomicInteger getInFlight(String name, String tagKey, String tagValue) {
+        return inFlight.computeIfAbsent(name + ':' + tagValue, key -> {
+            final var gauge = new AtomicInteger();
+            meterRegistry.gauge(name, Tags.of(tagKey, tagValue), gauge);
+            return gauge;
+        });
+    }
+
+    private DistributionSummary summary(String name, String description, String tagKey,
+        String tagValue) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .baseUnit("bytes")
+            .tags(tagKey, tagValue)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String messageType(String serviceName) {
+        // e.g. ArtifactMessageService -> ArtifactMessage
+        return serviceName.endsWith("Service")
+            ? serviceName.substring(0, serviceName.length() - "Service".length())
+            : serviceName;
+    }
+
+    private static String reasonName(String reason) {
+        // Shorten serialized ids like https://w3id.org/idsa/code/NOT_FOUND
+        return reason.substring(reason.lastIndexOf('/') + 1);
+    }
+
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
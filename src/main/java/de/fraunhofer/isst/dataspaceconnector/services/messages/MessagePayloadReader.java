@@ -0,0 +1,127 @@
+package de.fraunhofer.isst.dataspaceconnector.services.messages;
+
+import de.fraunhofer.isst.dataspaceconnector.config.MessagePayloadConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.PayloadTooLargeException;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.JsonUtils;
+import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class reads the payloads of incoming IDS messages. Payloads are read from the underlying
+ * stream and rejected as soon as they exceed the configured size, so an oversized payload is never
+ * held in memory. JSON payloads are parsed from the stream by the shared object mapper without an
+ * intermediate string.
+ */
+@Service
+public class MessagePayloadReader {
+
+    private final MessagePayloadConfiguration payloadConfiguration;
+
+    /**
+     * Constructor for MessagePayloadReader.
+     *
+     * @param payloadConfiguration The configuration of the payload size limit
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public MessagePayloadReader(MessagePayloadConfiguration payloadConfiguration)
+        throws IllegalArgumentException {
+        if (payloadConfiguration == null)
+            throw new IllegalArgumentException("The MessagePayloadConfiguration cannot be null.");
+
+        this.payloadConfiguration = payloadConfiguration;
+    }
+
+    /**
+     * Reads a payload as string. Used for the IDS Information Model payloads, since the IDS
+     * serializer only parses strings.
+     *
+     * @param messagePayload the message payload.
+     * @return the payload as string.
+     * @throws PayloadTooLargeException if the payload exceeds the size limit.
+     * @throws IOException if the payload could not be read.
+     */
+    public String readString(MessagePayload messagePayload) throws IOException {
+        try (var stream = limit(messagePayload)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses a JSON payload directly from its stream.
+     *
+     * @param messagePayload the message payload.
+     * @param type the class of the payload.
+     * @param <T> the type of the payload.
+     * @return the parsed payload.
+     * @throws PayloadTooLargeException if the payload exceeds the size limit.
+     * @throws IOException if the payload could not be read or parsed.
+     */
+    public <T> T readValue(MessagePayload messagePayload, Class<T> type) throws IOException {
+        try (var stream = limit(messagePayload)) {
+            return JsonUtils.getObjectMapper().readValue(stream, type);
+        }
+    }
+
+    private InputStream limit(MessagePayload messagePayload) {
+        return new LimitedInputStream(messagePayload.getUnderlyingInputStream(),
+            payloadConfiguration.getMaxSize().toBytes());
+    }
+
+    /**
+     * Fails with a {@link PayloadTooLargeException} once more than the allowed bytes were read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var value = super.read();
+            if (value != -1)
+                count(1);
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            final var read = super.read(buffer, offset, length);
+            if (read > 0)
+                count(read);
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final var skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long read) throws PayloadTooLargeException {
+            count += read;
+            if (count > maxSize)
+                throw new PayloadTooLargeException("The payload exceeds " + maxSize + " bytes.");
+        }
+    }
+}
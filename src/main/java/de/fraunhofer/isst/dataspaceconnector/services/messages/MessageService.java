@@ -114,9 +114,25 @@ public abstract class MessageService {
             throw new MessageBuilderException("Message could not be built.", exception);
         }
 
+        return sendMessage(message, payload, getRecipient());
+    }
+
+    /**
+     * Sends an IDS message with a given header and payload using the IDS Framework. Unlike
+     * {@link #sendRequestMessage(String)}, this does not use the parameters stored in the service
+     * and may be called concurrently.
+     *
+     * @param message the message header.
+     * @param payload the message payload.
+     * @param recipient the recipient of the message.
+     * @return the HTTP response.
+     * @throws MessageException if the message could not be sent.
+     */
+    public Map<String, String> sendMessage(Message message, String payload, URI recipient)
+        throws MessageException {
         try {
             MultipartBody body = InfomodelMessageBuilder.messageWithString(message, payload);
-            return idsHttpService.sendAndCheckDat(body, getRecipient());
+            return idsHttpService.sendAndCheckDat(body, recipient);
         } catch (ClaimsException exception) {
             LOGGER.warn("Invalid DAT in incoming message. [exception=({})]", exception.getMessage());
             throw new MessageResponseException("Invalid DAT in incoming message.", exception);
@@ -316,6 +332,11 @@ public abstract class MessageService {
             return ResponseType.DESCRIPTION_RESPONSE;
         } catch (IOException ignored) { }
 
+        try {
+            serializerProvider.getSerializer().deserialize(header, MessageProcessedNotificationMessage.class);
+            return ResponseType.MESSAGE_PROCESSED_NOTIFICATION;
+        } catch (IOException ignored) { }
+
         try {
             serializerProvider.getSerializer().deserialize(header, OperationResultMessage.class);
             return ResponseType.OPERATION_RESULT;
@@ -359,6 +380,7 @@ public abstract class MessageService {
         CONTRACT_AGREEMENT("CONTRACT_AGREEMENT"),
         CONTRACT_RESPONSE("CONTRACT_RESPONSE"),
         DESCRIPTION_RESPONSE("DESCRIPTION_RESPONSE"),
+        MESSAGE_PROCESSED_NOTIFICATION("MESSAGE_PROCESSED_NOTIFICATION"),
         OPERATION_RESULT("OPERATION_RESULT"),
         PARTICIPANT_RESPONSE("PARTICIPANT_RESPONSE"),
         REJECTION("REJECTION"),
@@ -9,6 +9,7 @@ import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageNotSentException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageResponseException;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.CanonicalContract;
 import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
@@ -19,7 +20,6 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.Map;
 
 /**
@@ -128,10 +128,14 @@ public class NegotiationService {
                     throw new MessageResponseException("Could not read contract agreement.");
                 }
 
-                // Send ContractAgreementMessage to recipient.
-                messageService.setResponseParameters(recipient, correlationMessage, contract.getId());
-                ContractAgreement agreement = messageService.buildContractAgreement(contract);
-                response = messageService.sendResponseMessage(agreement.toRdf());
+                // Send ContractAgreementMessage to recipient. The parameters are passed along
+                // instead of being stored in the shared message service, as negotiations may run
+                // concurrently.
+                ContractAgreement agreement =
+                    messageService.buildContractAgreement(contract, contract.getId());
+                response = messageService.sendMessage(
+                    messageService.buildResponseHeader(recipient, correlationMessage),
+                    agreement.toRdf(), recipient);
             } catch (MessageBuilderException exception) {
                 // Failed to build the contract agreement message.
                 LOGGER.warn("Failed to build a request. [exception=({})]", exception.getMessage());
@@ -199,7 +203,8 @@ public class NegotiationService {
     }
 
     /**
-     * Compares two contracts to each other.
+     * Compares two contracts to each other. The contracts are equal if they contain the same
+     * rules, regardless of their order and of ids, titles and descriptions.
      *
      * @param request the requested contract
      * @param offer the offered contract
@@ -209,111 +214,21 @@ public class NegotiationService {
         if (request == null || offer == null)
             return false;
 
-        boolean permissions;
-        if (request.getPermission() != null && offer.getPermission() != null) {
-            permissions = comparePermissions(request.getPermission(), offer.getPermission());
-        } else {
-            permissions = true;
-        }
-
-        boolean prohibitions;
-        if (request.getProhibition() != null && offer.getProhibition() != null) {
-            prohibitions = compareRules(request.getProhibition(), offer.getProhibition());
-        } else {
-            prohibitions = true;
-        }
-
-        boolean obligations;
-        if (request.getObligation() != null && offer.getObligation() != null) {
-            obligations = compareRules(request.getObligation(), offer.getObligation());
-        } else {
-            obligations = true;
-        }
-
-        return permissions && prohibitions && obligations;
+        return compareContracts(request, CanonicalContract.of(offer));
     }
 
     /**
-     * Compares the content of two permissions lists.
+     * Compares a contract to the canonical form of an offer, which may be built once and reused
+     * for every request.
      *
-     * @param request list of requested permissions
-     * @param offer list of offered permissions
-     * @return true, if the contents are equal; false otherwise
-     */
-    private boolean comparePermissions(
-        ArrayList<? extends Permission> request, ArrayList<? extends Permission> offer) {
-        if (request.size() != offer.size())
-            return false;
-
-        for (int i = 0; i < request.size(); i++) {
-            final var requestPermission = request.get(i);
-            final var offerPermission = offer.get(i);
-
-            if (requestPermission.getPostDuty() != null && offerPermission.getPostDuty() != null
-                && requestPermission.getPostDuty().size() > 0 && offerPermission.getPostDuty().size() > 0) {
-                for (int j = 0; j < requestPermission.getPostDuty().size(); j++) {
-                    if (!requestPermission.getPostDuty().get(j).toRdf()
-                        .equals(offerPermission.getPostDuty().get(j).toRdf()))
-                        return false;
-                }
-            }
-
-            if (requestPermission.getPreDuty() != null && offerPermission.getPreDuty() != null
-                && requestPermission.getPreDuty().size() > 0 && offerPermission.getPreDuty().size() > 0) {
-                for (int j = 0; j < requestPermission.getPreDuty().size(); j++) {
-                    if (!requestPermission.getPreDuty().get(j).toRdf()
-                        .equals(offerPermission.getPreDuty().get(j).toRdf()))
-                        return false;
-                }
-            }
-
-            if (requestPermission.getConstraint() != null && offerPermission.getConstraint() != null
-                && requestPermission.getConstraint().size() > 0 && offerPermission.getConstraint().size() > 0) {
-                for (int j = 0; j < requestPermission.getConstraint().size(); j++) {
-                    if (!requestPermission.getConstraint().get(j).toRdf()
-                        .equals(offerPermission.getConstraint().get(j).toRdf()))
-                        return false;
-                }
-            }
-
-            if (!requestPermission.getAction().get(0).toRdf()
-                .equals(offerPermission.getAction().get(0).toRdf()))
-                return false;
-        }
-
-        return true;
-    }
-
-    /**
-     * Compares the content of two lists of prohibitions or obligations.
-     *
-     * @param request list of requested prohibitions or obligations
-     * @param offer list of offered prohibitions or obligations
-     * @return true, if the contents are equal; false otherwise
+     * @param request the requested contract
+     * @param offer the canonical form of the offered contract
+     * @return true, if the contracts are equal; false otherwise
      */
-    private boolean compareRules(
-        ArrayList<? extends Rule> request, ArrayList<? extends Rule> offer) {
-        if (request.size() != offer.size())
+    public boolean compareContracts(Contract request, CanonicalContract offer) {
+        if (request == null || offer == null)
             return false;
 
-        for (int i = 0; i < request.size(); i++) {
-            final var requestPermission = request.get(i);
-            final var offerPermission = offer.get(i);
-
-            if (requestPermission.getConstraint() != null && offerPermission.getConstraint() != null
-                && requestPermission.getConstraint().size() > 0 && offerPermission.getConstraint().size() > 0) {
-                for (int j = 0; j < requestPermission.getConstraint().size(); j++) {
-                    if (!requestPermission.getConstraint().get(j).toRdf()
-                        .equals(offerPermission.getConstraint().get(j).toRdf()))
-                        return false;
-                }
-            }
-
-            if (!requestPermission.getAction().get(0).toRdf()
-                .equals(offerPermission.getAction().get(0).toRdf()))
-                return false;
-        }
-
-        return true;
+        return CanonicalContract.of(request).equals(offer);
     }
 }
@@ -1,6 +1,5 @@
 package de.fraunhofer.isst.dataspaceconnector.services.messages.handler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.fraunhofer.iais.eis.ArtifactRequestMessage;
 import de.fraunhofer.iais.eis.ArtifactRequestMessageImpl;
 import de.fraunhofer.iais.eis.Contract;
@@ -15,31 +14,35 @@ import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.InvalidResourceException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceNotFoundException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceContract;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ArtifactMessageService;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractAgreementService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractOfferIndex;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
-import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
 import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
 import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessagePayloadReader;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.UUID;
 
+import static de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils.getDateOf;
+
 /**
  * This @{@link ArtifactRequestHandler} handles all
  * incoming messages that have a {@link de.fraunhofer.iais.eis.ArtifactRequestMessageImpl} as part
@@ -52,13 +55,15 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
 
     public static final Logger LOGGER = LoggerFactory.getLogger(ArtifactRequestHandler.class);
 
-    private final ResourceService resourceService;
+    private final OfferedResourceServiceImpl resourceService;
+    private final ContractOfferIndex contractOfferIndex;
     private final PolicyHandler policyHandler;
     private final ArtifactMessageService messageService;
     private final ContractAgreementService contractAgreementService;
     private final ConfigurationContainer configurationContainer;
-    private final ObjectMapper objectMapper;
     private final PolicyConfiguration policyConfiguration;
+    private final MessageMetrics messageMetrics;
+    private final MessagePayloadReader payloadReader;
 
     /**
      * Constructor for ArtifactMessageHandler.
@@ -69,6 +74,9 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
      * @param contractAgreementService The service for agreed contracts
      * @param configurationContainer The container containing the configuration
      * @param policyConfiguration The configuration service containing policy configurations
+     * @param messageMetrics The metrics of the incoming messages
+     * @param payloadReader The reader for message payloads
+     * @param contractOfferIndex The index of the offered contracts
      * @throws IllegalArgumentException if one of the passed parameters is null
      */
     @Autowired
@@ -77,7 +85,10 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                                   ArtifactMessageService messageService,
                                   ContractAgreementService contractAgreementService,
                                   ConfigurationContainer configurationContainer,
-                                  PolicyConfiguration policyConfiguration)
+                                  PolicyConfiguration policyConfiguration,
+                                  MessageMetrics messageMetrics,
+                                  MessagePayloadReader payloadReader,
+                                  ContractOfferIndex contractOfferIndex)
         throws IllegalArgumentException {
         if (offeredResourceService == null)
             throw new IllegalArgumentException("The OfferedResourceService cannot be null.");
@@ -97,13 +108,24 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
         if (policyConfiguration == null)
             throw new IllegalArgumentException("The PolicyConfiguration cannot be null.");
 
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
+        if (payloadReader == null)
+            throw new IllegalArgumentException("The MessagePayloadReader cannot be null.");
+
+        if (contractOfferIndex == null)
+            throw new IllegalArgumentException("The ContractOfferIndex cannot be null.");
+
         this.resourceService = offeredResourceService;
         this.policyHandler = policyHandler;
         this.messageService = messageService;
         this.contractAgreementService = contractAgreementService;
         this.configurationContainer = configurationContainer;
-        this.objectMapper = new ObjectMapper();
         this.policyConfiguration = policyConfiguration;
+        this.messageMetrics = messageMetrics;
+        this.payloadReader = payloadReader;
+        this.contractOfferIndex = contractOfferIndex;
     }
 
     /**
@@ -118,6 +140,16 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
     @Override
     // NOTE: Make runtime exception more concrete and add ConnectorConfigurationException, ResourceTypeException
     public MessageResponse handleMessage(ArtifactRequestMessageImpl requestMessage,
+        MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(requestMessage, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(ArtifactRequestMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(ArtifactRequestMessageImpl requestMessage,
         MessagePayload messagePayload) throws RuntimeException {
         if (requestMessage == null) {
             LOGGER.warn("Cannot respond when there is no request.");
@@ -130,7 +162,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
         // Check if version is supported.
         if (!messageService.versionSupported(requestMessage.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.VERSION_NOT_SUPPORTED,
                 "Information model version not supported.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -139,14 +171,14 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
         try {
             // Find artifact and matching resource.
             final var artifactId = extractArtifactIdFromRequest(requestMessage);
-            final var requestedResource = messageService.findResourceFromArtifactId(artifactId);
+            final var offer = contractOfferIndex.findByArtifact(artifactId);
 
-            if (requestedResource == null) {
+            if (offer == null) {
                 // The resource was not found, reject and inform the requester.
                 LOGGER.debug("Resource could not be found. [id=({}), artifactId=({})]",
                     requestMessage.getId(), artifactId);
 
-                return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+                return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                     "An artifact with the given uuid is not known to the "
                         + "connector.",
                     connector.getId(), connector.getOutboundModelVersion());
@@ -158,33 +190,42 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                 LOGGER.debug("Contract agreement could not be found. [id=({}), contractId=({})]",
                     requestMessage.getId(), requestMessage.getTransferContract());
 
-                return ErrorResponse.withDefaultHeader(
+                return Rejections.withDefaultHeader(
                     RejectionReason.BAD_PARAMETERS,
                     "Missing transfer contract or wrong contract.",
                     connector.getId(), connector.getOutboundModelVersion());
             }
 
             try {
-                // Find the requested resource and its metadata.
-                final var resourceId = UUIDUtils.uuidFromUri(requestedResource.getId());
-                final var resourceMetadata = resourceService.getMetadata(resourceId);
+                // Load the requested resource once, the policy check and the data use it both.
+                final var resourceId = offer.getResourceId();
+                final var resource = resourceService.getResource(resourceId);
+                if (resource == null) {
+                    // Another connector sharing the database deleted the resource.
+                    contractOfferIndex.resourceDeleted(resourceId);
+                    throw new ResourceNotFoundException("The resource does not exist.");
+                }
+
+                final var resourceMetadata = resource.getResourceMetadata();
+                final var resourceUri = IdsUtils.getResourceUri(resourceId);
 
                 try {
                     // Check if the policy allows data access. TODO: Change to contract agreement. (later)
-                    if (policyHandler.onDataProvision(resourceMetadata.getPolicy(), requestMessage.getIssuerConnector())) {
+                    if (policyHandler.onDataProvision(resourceMetadata.getPolicy(),
+                        requestMessage.getIssuerConnector(), resourceUri)) {
                         String data;
 
                         try {
                             final var query = getQueryInput(messagePayload);
                             // Get the data from source.
                             data = resourceService
-                                    .getDataByRepresentation(resourceId, artifactId, query);
+                                    .getDataByRepresentation(resource, artifactId, query);
                         } catch (ResourceNotFoundException exception) {
                             LOGGER.debug("Resource could not be found. "
                                     + "[id=({}), resourceId=({}), artifactId=({}), exception=({})]",
                                 requestMessage.getId(), resourceId, artifactId,
                                 exception.getMessage());
-                            return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+                            return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                                 "Resource not found.", connector.getId(),
                                 connector.getOutboundModelVersion());
                         } catch (InvalidResourceException exception) {
@@ -192,7 +233,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                                     + "[id=({}), resourceId=({}), artifactId=({}), exception=({})]",
                                 requestMessage.getId(), resourceId, artifactId,
                                 exception.getMessage());
-                            return ErrorResponse.withDefaultHeader(RejectionReason.INTERNAL_RECIPIENT_ERROR,
+                            return Rejections.withDefaultHeader(RejectionReason.INTERNAL_RECIPIENT_ERROR,
                                 "Something went wrong.", connector.getId(),
                                 connector.getOutboundModelVersion());
                         } catch (ResourceException exception) {
@@ -200,7 +241,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                                     + "[id=({}), resourceId=({}), artifactId=({}), exception=({})]",
                                 requestMessage.getId(), resourceId, artifactId,
                                 exception.getMessage());
-                            return ErrorResponse
+                            return Rejections
                                 .withDefaultHeader(RejectionReason.INTERNAL_RECIPIENT_ERROR,
                                     "Something went wrong.", connector.getId(),
                                     connector.getOutboundModelVersion());
@@ -209,7 +250,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                                             "resourceId=({}), artifactId=({}), exception=({})]",
                                     requestMessage.getId(), resourceId, artifactId,
                                     exception.getMessage());
-                            return ErrorResponse
+                            return Rejections
                                     .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                                             "Invalid query input.",
                                             connector.getId(),
@@ -229,7 +270,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                                 + "[id=({}), pattern=({})]",
                             requestMessage.getId(),
                             policyHandler.getPattern(resourceMetadata.getPolicy()));
-                        return ErrorResponse.withDefaultHeader(RejectionReason.NOT_AUTHORIZED,
+                        return Rejections.withDefaultHeader(RejectionReason.NOT_AUTHORIZED,
                             "Policy restriction detected: You are not authorized to receive this data.",
                             connector.getId(),
                             connector.getOutboundModelVersion());
@@ -242,7 +283,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                     LOGGER.warn("Could not deserialize contract. "
                             + "[id=({}), resourceId=({}), artifactId=({}), exception=({})]",
                         requestMessage.getId(), resourceId, artifactId, exception.getMessage());
-                    return ErrorResponse.withDefaultHeader(
+                    return Rejections.withDefaultHeader(
                         RejectionReason.INTERNAL_RECIPIENT_ERROR,
                         "Policy check failed.",
                         connector.getId(), connector.getOutboundModelVersion());
@@ -252,21 +293,21 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                 LOGGER.debug(
                     "The resource is not valid. The uuid is not valid. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-                return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+                return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                     "Resource not found.", connector.getId(),
                     connector.getOutboundModelVersion());
             } catch (ResourceNotFoundException exception) {
                 // The resource could be not be found.
                 LOGGER.debug("The resource could not be found. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-                return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+                return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                     "Resource not found.", connector.getId(),
                     connector.getOutboundModelVersion());
             } catch (InvalidResourceException exception) {
                 // The resource could be not be found.
                 LOGGER.debug("The resource is not valid. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-                return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+                return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                     "Resource not found.", connector.getId(),
                     connector.getOutboundModelVersion());
             }
@@ -276,7 +317,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
                 "Artifact has no valid uuid. [id=({}), artifactUri=({}), exception=({})]",
                 requestMessage.getId(), requestMessage.getRequestedArtifact(),
                 exception.getMessage());
-            return ErrorResponse.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+            return Rejections.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                 "No valid resource id found.",
                 connector.getId(),
                 connector.getOutboundModelVersion());
@@ -284,7 +325,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
             LOGGER.warn("Could not load contract from database. "
                     + "[id=({}), contractId=({}),exception=({})]",
                 requestMessage.getId(), requestMessage.getTransferContract(), exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.BAD_PARAMETERS,
                 "Invalid transfer contract id.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -292,7 +333,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
             LOGGER.warn("Could not deserialize contract. "
                     + "[id=({}), contractId=({}), exception=({})]",
                 requestMessage.getId(), requestMessage.getTransferContract(), exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.INTERNAL_RECIPIENT_ERROR,
                 "Something went wrong.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -306,9 +347,7 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
      */
     private QueryInput getQueryInput(MessagePayload messagePayload) {
         try {
-            return objectMapper.readValue(IOUtils.toString(
-                    messagePayload.getUnderlyingInputStream(),
-                    StandardCharsets.UTF_8), QueryInput.class);
+            return payloadReader.readValue(messagePayload, QueryInput.class);
         } catch (Exception exception) {
             LOGGER.debug("Could not map payload to query input. [exception=({})]", exception.getMessage());
             return null;
@@ -347,27 +386,42 @@ public class ArtifactRequestHandler implements MessageHandler<ArtifactRequestMes
             if (contractId == null) {
                 return false;
             } else {
-                String contractToString;
+                ResourceContract contract;
                 try {
                     UUID uuid = UUIDUtils.uuidFromUri(contractId);
-                    // Get contract agreement from database.
-                    ResourceContract contract = contractAgreementService.getContract(uuid);
-                    // Get contract from database entry.
-                    contractToString = contract.getContract();
+                    // Get contract agreement from database or cache.
+                    contract = contractAgreementService.getContract(uuid);
                 } catch (Exception e) {
                     throw new ContractAgreementNotFoundException("Contract could not be loaded "
                         + "from database.");
                 }
 
-                Contract agreement;
-                try {
-                    agreement = policyHandler.validateContract(contractToString);
-                } catch (RequestFormatException exception) {
-                    throw new ContractException("Could not deserialize contract.");
+                if (contract == null)
+                    throw new ContractAgreementNotFoundException("Contract could not be loaded "
+                        + "from database.");
+
+                // Agreements stored by older versions lack the target, read it once and keep it.
+                if (contract.getArtifactId() == null) {
+                    Contract agreement;
+                    try {
+                        agreement = policyHandler.validateContract(contract.getContract());
+                    } catch (RequestFormatException exception) {
+                        throw new ContractException("Could not deserialize contract.");
+                    }
+
+                    URI extractedId = messageService.getArtifactIdFromContract(agreement);
+                    if (extractedId == null)
+                        return false;
+
+                    contractAgreementService.addContract(new ResourceContract(contract.getId(),
+                        contract.getContract(), extractedId.toString(),
+                        Objects.toString(agreement.getConsumer(), null),
+                        getDateOf(agreement.getContractStart()),
+                        getDateOf(agreement.getContractEnd())));
+                    return extractedId.equals(artifactId);
                 }
 
-                URI extractedId = messageService.getArtifactIdFromContract(agreement);
-                return extractedId.equals(artifactId);
+                return URI.create(contract.getArtifactId()).equals(artifactId);
             }
         } else {
             return true;
@@ -4,12 +4,12 @@ import de.fraunhofer.iais.eis.ContractAgreement;
 import de.fraunhofer.iais.eis.ContractAgreementMessageImpl;
 import de.fraunhofer.iais.eis.RejectionReason;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.ContractException;
-import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageBuilderException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
-import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageNotSentException;
-import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageResponseException;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.PayloadTooLargeException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceContract;
-import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.LogMessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessagePayloadReader;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.NotificationMessageService;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractAgreementService;
 import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
@@ -19,18 +19,19 @@ import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.util.Objects;
 import java.util.UUID;
 
+import static de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils.getDateOf;
+
 /**
  * This @{@link ContractAgreementHandler} handles all incoming messages that have a
  * {@link ContractAgreementMessageImpl} as part one in the multipart message.
@@ -47,8 +48,8 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
     private final PolicyHandler policyHandler;
     private final NotificationMessageService messageService;
     private final ContractAgreementService contractAgreementService;
-    @SuppressWarnings({"unused", "FieldCanBeLocal"})
-    private final LogMessageService logMessageService;
+    private final MessageMetrics messageMetrics;
+    private final MessagePayloadReader payloadReader;
 
     /**
      * Constructor for NotificationMessageHandler.
@@ -57,7 +58,8 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
      * @param policyHandler The service for policy negotiation
      * @param contractAgreementService The service for the contract agreements
      * @param messageService The service for sending messages
-     * @param logMessageService The service for logging
+     * @param messageMetrics The metrics of the incoming messages
+     * @param payloadReader The reader for message payloads
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
@@ -65,7 +67,8 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
                                     PolicyHandler policyHandler,
                                     ContractAgreementService contractAgreementService,
                                     NotificationMessageService messageService,
-                                    LogMessageService logMessageService)
+                                    MessageMetrics messageMetrics,
+                                    MessagePayloadReader payloadReader)
             throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
@@ -79,14 +82,18 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
         if (messageService == null)
             throw new IllegalArgumentException("The NotificationMessageService cannot be null.");
 
-        if (logMessageService == null)
-            throw new IllegalArgumentException("The LogMessageService cannot be null.");
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
+        if (payloadReader == null)
+            throw new IllegalArgumentException("The MessagePayloadReader cannot be null.");
 
         this.configurationContainer = configurationContainer;
         this.policyHandler = policyHandler;
         this.contractAgreementService = contractAgreementService;
         this.messageService = messageService;
-        this.logMessageService = logMessageService;
+        this.messageMetrics = messageMetrics;
+        this.payloadReader = payloadReader;
     }
 
     /**
@@ -101,6 +108,16 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
     @Override
     public MessageResponse handleMessage(ContractAgreementMessageImpl message,
                                          MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(message, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(ContractAgreementMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(ContractAgreementMessageImpl message,
+                                           MessagePayload messagePayload) throws RuntimeException {
         if (message == null) {
             LOGGER.warn("Cannot respond when there is no request.");
             throw new IllegalArgumentException("The requestMessage cannot be null.");
@@ -112,7 +129,7 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
         // Check if version is supported.
         if (!messageService.versionSupported(message.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.VERSION_NOT_SUPPORTED,
                     "Information model version not supported.",
                     connector.getId(), connector.getOutboundModelVersion());
@@ -121,21 +138,27 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
         // Read message payload as string.
         String payload;
         try {
-            payload = IOUtils
-                    .toString(messagePayload.getUnderlyingInputStream(), StandardCharsets.UTF_8);
+            payload = payloadReader.readString(messagePayload);
             // If request is empty, return rejection message.
             if (payload.equals("")) {
                 LOGGER.debug("Contract agreement is missing [id=({}), payload=({})]",
                         message.getId(), payload);
-                return ErrorResponse
+                return Rejections
                         .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                                 "Missing contract agreement.",
                                 connector.getId(), connector.getOutboundModelVersion());
             }
+        } catch (PayloadTooLargeException e) {
+            LOGGER.debug("Payload too large. [id=({}), exception=({})]",
+                    message.getId(), e.getMessage());
+            return Rejections
+                    .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+                            "Payload too large.",
+                            connector.getId(), connector.getOutboundModelVersion());
         } catch (IOException e) {
             LOGGER.debug("Cannot read payload. [id=({}), payload=({})]",
                     message.getId(), messagePayload);
-            return ErrorResponse
+            return Rejections
                     .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                             "Malformed payload.",
                             connector.getId(), connector.getOutboundModelVersion());
@@ -151,7 +174,7 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
         } catch (ContractException exception) {
             LOGGER.warn("Failed to store the contract agreement. [exception=({})]",
                     exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.INTERNAL_RECIPIENT_ERROR,
                     "Failed to store the contract agreement. Thus, it is not legal. " +
                             "Please try again.",
@@ -171,28 +194,20 @@ public class ContractAgreementHandler implements MessageHandler<ContractAgreemen
                 (ContractAgreement) policyHandler.validateContract(agreement);
 
         try {
-            // Save contract agreement to database.
+            // Save contract agreement to database. The clearing house receives it in the
+            // background, if it is enabled, so the consumer does not wait for it.
+            // TODO: Activate Clearing House communication as soon as it accepts IM 4.
             UUID uuid = UUIDUtils.uuidFromUri(contractAgreement.getId());
-            contractAgreementService.addContract(new ResourceContract(uuid, contractAgreement.toRdf()));
+            URI artifactId = messageService.getArtifactIdFromContract(contractAgreement);
+            contractAgreementService.addAgreement(new ResourceContract(uuid,
+                    contractAgreement.toRdf(), Objects.toString(artifactId, null),
+                    Objects.toString(contractAgreement.getConsumer(), null),
+                    getDateOf(contractAgreement.getContractStart()),
+                    getDateOf(contractAgreement.getContractEnd())));
         } catch (Exception exception) {
             LOGGER.warn("Failed to store the contract agreement. [exception=({})]",
                     exception.getMessage());
             throw new ContractException("Could not save contract agreement.");
         }
-
-        // Send ContractAgreement to the ClearingHouse.
-        // TODO: Activate Clearing House communication as soon as it accepts IM 4.
-        try {
-            logMessageService.sendRequestMessage(contractAgreement.toRdf());
-        } catch (MessageBuilderException exception) {
-            // Failed to build the log message.
-            LOGGER.warn("Failed to build log message. [exception=({})]", exception.getMessage());
-        } catch (MessageResponseException exception) {
-            // Failed to read the response message.
-            LOGGER.debug("Received invalid ids response. [exception=({})]", exception.getMessage());
-        } catch (MessageNotSentException exception) {
-            // Failed to send the log message.
-            LOGGER.warn("Failed to send a log message. [exception=({})]", exception.getMessage());
-        }
     }
 }
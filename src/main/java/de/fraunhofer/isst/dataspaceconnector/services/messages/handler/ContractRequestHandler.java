@@ -7,10 +7,16 @@ import de.fraunhofer.isst.dataspaceconnector.exceptions.RequestFormatException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.UUIDFormatException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageBuilderException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.PayloadTooLargeException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceNotFoundException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessagePayloadReader;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.NegotiationService;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.LogMessageService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractOfferIndex;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.CanonicalContract;
 import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
@@ -19,9 +25,7 @@ import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,10 +33,9 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
-import static de.fraunhofer.isst.ids.framework.util.IDSUtils.getGregorianNow;
+import static de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils.getGregorianNow;
 
 /**
  * This @{@link ContractRequestHandler} handles all incoming messages that have a
@@ -53,6 +56,9 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
     private final DapsTokenProvider tokenProvider;
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final LogMessageService logMessageService;
+    private final MessageMetrics messageMetrics;
+    private final ContractOfferIndex contractOfferIndex;
+    private final MessagePayloadReader payloadReader;
     private RequestMessage requestMessage;
 
     /**
@@ -64,13 +70,19 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
      * @param messageService The service for sending messages
      * @param logMessageService The service for logging
      * @param tokenProvider The provider for token
+     * @param messageMetrics The metrics of the incoming messages
+     * @param contractOfferIndex The index of the offered contracts
+     * @param payloadReader The reader for message payloads
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
     public ContractRequestHandler(ConfigurationContainer configurationContainer,
                                   NegotiationService negotiationService, PolicyHandler policyHandler,
                                   ContractMessageService messageService,
-                                  LogMessageService logMessageService, DapsTokenProvider tokenProvider)
+                                  LogMessageService logMessageService, DapsTokenProvider tokenProvider,
+                                  MessageMetrics messageMetrics,
+                                  ContractOfferIndex contractOfferIndex,
+                                  MessagePayloadReader payloadReader)
             throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
@@ -90,12 +102,24 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
         if (tokenProvider == null)
             throw new IllegalArgumentException("The TokenProvider cannot be null.");
 
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
+        if (contractOfferIndex == null)
+            throw new IllegalArgumentException("The ContractOfferIndex cannot be null.");
+
+        if (payloadReader == null)
+            throw new IllegalArgumentException("The MessagePayloadReader cannot be null.");
+
         this.configurationContainer = configurationContainer;
         this.negotiationService = negotiationService;
         this.policyHandler = policyHandler;
         this.messageService = messageService;
         this.logMessageService = logMessageService;
         this.tokenProvider = tokenProvider;
+        this.messageMetrics = messageMetrics;
+        this.contractOfferIndex = contractOfferIndex;
+        this.payloadReader = payloadReader;
     }
 
     /**
@@ -110,6 +134,16 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
     @Override
     public MessageResponse handleMessage(ContractRequestMessageImpl requestMessage,
                                          MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(requestMessage, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(ContractRequestMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(ContractRequestMessageImpl requestMessage,
+                                           MessagePayload messagePayload) throws RuntimeException {
         if (requestMessage == null) {
             LOGGER.warn("Cannot respond when there is no request.");
             throw new IllegalArgumentException("The requestMessage cannot be null.");
@@ -123,7 +157,7 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
         // Check if version is supported.
         if (!messageService.versionSupported(requestMessage.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.VERSION_NOT_SUPPORTED,
                     "Information model version not supported.",
                     connector.getId(), connector.getOutboundModelVersion());
@@ -132,21 +166,27 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
         // Read message payload as string.
         String payload;
         try {
-            payload = IOUtils
-                    .toString(messagePayload.getUnderlyingInputStream(), StandardCharsets.UTF_8);
+            payload = payloadReader.readString(messagePayload);
             // If request is empty, return rejection message.
             if (payload.equals("")) {
                 LOGGER.debug("Contract is missing [id=({}), payload=({})]",
                         requestMessage.getId(), payload);
-                return ErrorResponse
+                return Rejections
                         .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                                 "Missing contract request.",
                                 connector.getId(), connector.getOutboundModelVersion());
             }
+        } catch (PayloadTooLargeException e) {
+            LOGGER.debug("Payload too large. [id=({}), exception=({})]",
+                    requestMessage.getId(), e.getMessage());
+            return Rejections
+                    .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+                            "Payload too large.",
+                            connector.getId(), connector.getOutboundModelVersion());
         } catch (IOException e) {
             LOGGER.debug("Cannot read payload. [id=({}), payload=({})]",
                     requestMessage.getId(), messagePayload);
-            return ErrorResponse
+            return Rejections
                     .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                             "Malformed payload.",
                             connector.getId(), connector.getOutboundModelVersion());
@@ -180,8 +220,17 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
 
             // Get artifact id from contract request.
             URI artifactId = messageService.getArtifactIdFromContract(contractRequest);
-            // Load contract offer from metadata.
-            ContractOffer contractOffer = getContractOfferByArtifact(artifactId);
+            // Look up the parsed contract offer of the artifact's resource.
+            CanonicalContract contractOffer = getContractOfferByArtifact(artifactId);
+            if (contractOffer == null) {
+                // The offered resource is broken, the request is not to blame.
+                LOGGER.warn("The resource has no valid contract offer. [id=({}), "
+                        + "artifactId=({})]", requestMessage.getId(), artifactId);
+                return Rejections.withDefaultHeader(
+                        RejectionReason.INTERNAL_RECIPIENT_ERROR,
+                        "The contract offer is not available.",
+                        connector.getId(), connector.getOutboundModelVersion());
+            }
 
             // Check if the contract request has the same content as the stored contract offer.
             if (negotiationService.compareContracts(contractRequest, contractOffer)) {
@@ -195,7 +244,7 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
                     "Artifact has no valid uuid. [id=({}), artifactUri=({}), exception=({})]",
                     requestMessage.getId(), requestMessage.getTransferContract(),
                     exception.getMessage());
-            return ErrorResponse.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+            return Rejections.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                     "No valid resource id found.",
                     connector.getId(),
                     connector.getOutboundModelVersion());
@@ -203,20 +252,20 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
             // The resource could be not be found.
             LOGGER.debug("The artifact could not be found. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-            return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND,
+            return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND,
                     "Artifact not found.", connector.getId(),
                     connector.getOutboundModelVersion());
         } catch (MessageBuilderException exception) {
             LOGGER.warn("Response could not be constructed. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.INTERNAL_RECIPIENT_ERROR,
                     "Response could not be constructed.",
                     connector.getId(), connector.getOutboundModelVersion());
         } catch (RuntimeException exception) {
             LOGGER.warn("Could not process contract request. [id=({}), exception=({})]",
                     requestMessage.getId(), exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.BAD_PARAMETERS,
                     "Malformed contract request.",
                     connector.getId(), connector.getOutboundModelVersion());
@@ -227,14 +276,17 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
      * Gets the contract offer by artifact id.
      *
      * @param artifactId The artifact's id
-     * @return The resource's contract offer.
+     * @return The canonical form of the resource's contract offer or null, if the resource has
+     * no valid contract offer.
+     * @throws ResourceNotFoundException if the artifact is not offered.
      */
-    private ContractOffer getContractOfferByArtifact(URI artifactId) throws ResourceNotFoundException {
+    private CanonicalContract getContractOfferByArtifact(URI artifactId)
+        throws ResourceNotFoundException {
         UUID uuid = UUIDUtils.uuidFromUri(artifactId);
-        final var resource = messageService.findResourceFromArtifactId(uuid);
-        if (resource == null)
+        final var entry = contractOfferIndex.findByArtifact(uuid);
+        if (entry == null)
             throw new ResourceNotFoundException("Artifact not known.");
-        return resource.getContractOffer().get(0);
+        return entry.getCanonicalOffer();
     }
 
     /**
@@ -265,7 +317,7 @@ public class ContractRequestHandler implements MessageHandler<ContractRequestMes
         // Get a local copy of the current connector.
         var connector = configurationContainer.getConnector();
 
-        return ErrorResponse.create(new ContractRejectionMessageBuilder()
+        return Rejections.create(new ContractRejectionMessageBuilder()
                 ._securityToken_(tokenProvider.getDAT())
                 ._correlationMessage_(requestMessage.getId())
                 ._issued_(getGregorianNow())
@@ -2,27 +2,32 @@ package de.fraunhofer.isst.dataspaceconnector.services.messages.handler;
 
 import de.fraunhofer.iais.eis.*;
 import de.fraunhofer.iais.eis.util.ConstraintViolationException;
-import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.config.SelfDescriptionConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.UUIDFormatException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageBuilderException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings.Phase;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.DescriptionMessageService;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
 import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionService;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionService.Catalog;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This @{@link DescriptionRequestHandler} handles all
@@ -39,6 +44,9 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
     private final DescriptionMessageService messageService;
     private final ResourceService resourceService;
     private final ConfigurationContainer configurationContainer;
+    private final MessageMetrics messageMetrics;
+    private final SelfDescriptionService selfDescriptionService;
+    private final SelfDescriptionConfiguration selfDescriptionConfiguration;
 
     /**
      * Constructor for DescriptionMessageHandler.
@@ -46,11 +54,17 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
      * @param configurationContainer  The container with the configuration
      * @param messageService The service for sending messages
      * @param offeredResourceService The service for offered resources
+     * @param messageMetrics The metrics of the incoming messages
+     * @param selfDescriptionService The service for building the self-description
+     * @param selfDescriptionConfiguration The self-description configuration
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
     public DescriptionRequestHandler(ConfigurationContainer configurationContainer,
-                                     DescriptionMessageService messageService, OfferedResourceServiceImpl offeredResourceService)
+                                     DescriptionMessageService messageService, OfferedResourceServiceImpl offeredResourceService,
+                                     MessageMetrics messageMetrics,
+                                     SelfDescriptionService selfDescriptionService,
+                                     SelfDescriptionConfiguration selfDescriptionConfiguration)
         throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
@@ -61,9 +75,21 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
         if (offeredResourceService == null)
             throw new IllegalArgumentException("The OfferedResourceServiceImpl cannot be null.");
 
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
+        if (selfDescriptionService == null)
+            throw new IllegalArgumentException("The SelfDescriptionService cannot be null.");
+
+        if (selfDescriptionConfiguration == null)
+            throw new IllegalArgumentException("The SelfDescriptionConfiguration cannot be null.");
+
         this.messageService = messageService;
         this.resourceService = offeredResourceService;
         this.configurationContainer = configurationContainer;
+        this.messageMetrics = messageMetrics;
+        this.selfDescriptionService = selfDescriptionService;
+        this.selfDescriptionConfiguration = selfDescriptionConfiguration;
     }
 
     /**
@@ -77,6 +103,16 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
      */
     @Override
     public MessageResponse handleMessage(DescriptionRequestMessageImpl requestMessage,
+        MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(requestMessage, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(DescriptionRequestMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(DescriptionRequestMessageImpl requestMessage,
         MessagePayload messagePayload) throws RuntimeException {
         if (requestMessage == null) {
             LOGGER.warn("Cannot respond when there is no request.");
@@ -89,7 +125,7 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
         // Check if version is supported.
         if (!messageService.versionSupported(requestMessage.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.VERSION_NOT_SUPPORTED,
                 "Information model version not supported.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -137,13 +173,13 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
                 messageService.setResponseParameters(requestMessage.getIssuerConnector(),
                     requestMessage.getId());
                 return BodyResponse.create(messageService.buildResponseHeader(),
-                    resource.toRdf());
+                    RequestTimings.time(Phase.SERIALIZATION, resource::toRdf));
             } else {
                 // If the resource has not been found, inform and reject.
                 LOGGER.debug("Resource could not be found. [id=({}), resourceId=({})]",
                     resourceId, requestMessage.getId());
 
-                return ErrorResponse.withDefaultHeader(RejectionReason.NOT_FOUND, String.format(
+                return Rejections.withDefaultHeader(RejectionReason.NOT_FOUND, String.format(
                     "The resource %s could not be found.", resourceId),
                     connector.getId(), connector.getOutboundModelVersion());
             }
@@ -154,12 +190,12 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
                 requestMessage.getId(), requestMessage.getRequestedElement(),
                 exception.getMessage());
 
-            return ErrorResponse.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+            return Rejections.withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                 "No valid resource id found.",
                 connector.getId(), connector.getOutboundModelVersion());
         } catch (ConstraintViolationException | MessageException exception) {
             // The response could not be constructed.
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.INTERNAL_RECIPIENT_ERROR,
                 "Response could not be constructed.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -179,20 +215,21 @@ public class DescriptionRequestHandler implements MessageHandler<DescriptionRequ
         // Get a local copy of the current connector.
         var connector = configurationContainer.getConnector();
         try {
-            // Create a connector with a list of offered resources.
-            var connectorImpl = (BaseConnectorImpl) connector;
-            connectorImpl.setResourceCatalog(Util.asList(new ResourceCatalogBuilder()
-                ._offeredResource_(new ArrayList<>(resourceService.getResources()))
-                .build()));
+            // List the offered resources, limited if configured.
+            final var selfDescription = RequestTimings.time(Phase.SERIALIZATION,
+                () -> selfDescriptionService.getSelfDescription(Catalog.OFFERED,
+                    selfDescriptionConfiguration.getMaxResources()));
 
             // Answer with the resource description.
             messageService.setResponseParameters(requestMessage.getIssuerConnector(),
                 requestMessage.getId());
             return BodyResponse.create(messageService.buildResponseHeader(),
-                connectorImpl.toRdf());
-        } catch (ConstraintViolationException | MessageBuilderException exception) {
+                new String(selfDescription.getBody(), StandardCharsets.UTF_8));
+        } catch (IOException | MessageBuilderException exception) {
             // The response could not be constructed.
-            return ErrorResponse.withDefaultHeader(
+            LOGGER.warn("Self-description could not be constructed. [exception=({})]",
+                exception.getMessage());
+            return Rejections.withDefaultHeader(
                 RejectionReason.INTERNAL_RECIPIENT_ERROR,
                 "Response could not be constructed.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -4,6 +4,8 @@ import de.fraunhofer.iais.eis.NotificationMessageImpl;
 import de.fraunhofer.iais.eis.RejectionReason;
 import de.fraunhofer.iais.eis.util.ConstraintViolationException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.NotificationMessageService;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
@@ -11,7 +13,6 @@ import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,17 +33,20 @@ public class NotificationMessageHandler implements MessageHandler<NotificationMe
 
     private final NotificationMessageService messageService;
     private final ConfigurationContainer configurationContainer;
+    private final MessageMetrics messageMetrics;
 
     /**
      * Constructor for NotificationMessageHandler.
      *
      * @param configurationContainer The container with the configuration
      * @param notificationMessageService The service responsible for notifications
+     * @param messageMetrics The metrics of the incoming messages
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
     public NotificationMessageHandler(ConfigurationContainer configurationContainer,
-        NotificationMessageService notificationMessageService, DapsTokenProvider tokenProvider)
+        NotificationMessageService notificationMessageService, DapsTokenProvider tokenProvider,
+        MessageMetrics messageMetrics)
         throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
@@ -50,8 +54,12 @@ public class NotificationMessageHandler implements MessageHandler<NotificationMe
         if (notificationMessageService == null)
             throw new IllegalArgumentException("The NotificationMessageService cannot be null.");
 
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
         this.configurationContainer = configurationContainer;
         this.messageService = notificationMessageService;
+        this.messageMetrics = messageMetrics;
     }
 
     /**
@@ -65,6 +73,16 @@ public class NotificationMessageHandler implements MessageHandler<NotificationMe
      */
     @Override
     public MessageResponse handleMessage(NotificationMessageImpl message,
+        MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(message, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(NotificationMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(NotificationMessageImpl message,
         MessagePayload messagePayload) throws RuntimeException {
         if (message == null) {
             LOGGER.warn("Cannot respond when there is no request.");
@@ -77,7 +95,7 @@ public class NotificationMessageHandler implements MessageHandler<NotificationMe
         // Check if version is supported.
         if (!messageService.versionSupported(message.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.VERSION_NOT_SUPPORTED,
                 "Information model version not supported.",
                 connector.getId(), connector.getOutboundModelVersion());
@@ -89,7 +107,7 @@ public class NotificationMessageHandler implements MessageHandler<NotificationMe
             return BodyResponse.create(messageService.buildResponseHeader(), "Message received.");
         } catch (ConstraintViolationException | MessageException exception) {
             // The response could not be constructed.
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                 RejectionReason.INTERNAL_RECIPIENT_ERROR,
                 "Response could not be constructed.",
                 connector.getId(), connector.getOutboundModelVersion());
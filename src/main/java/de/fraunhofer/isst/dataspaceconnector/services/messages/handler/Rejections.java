@@ -0,0 +1,59 @@
+package de.fraunhofer.isst.dataspaceconnector.services.messages.handler;
+
+import de.fraunhofer.iais.eis.RejectionMessage;
+import de.fraunhofer.iais.eis.RejectionReason;
+import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
+
+import java.net.URI;
+
+/**
+ * Builds the rejection responses of the message handlers and remembers the rejection reason of
+ * the current thread, so it can be recorded by the
+ * {@link de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics}.
+ */
+public final class Rejections {
+
+    private static final ThreadLocal<RejectionReason> LAST_REASON = new ThreadLocal<>();
+
+    private Rejections() {
+    }
+
+    /**
+     * Creates a rejection response with the default header.
+     *
+     * @param rejectionReason The reason of the rejection
+     * @param errorMessage    The error message
+     * @param connectorId     The id of the connector
+     * @param modelVersion    The outbound model version of the connector
+     * @return The error response
+     */
+    public static ErrorResponse withDefaultHeader(RejectionReason rejectionReason,
+        String errorMessage, URI connectorId, String modelVersion) {
+        LAST_REASON.set(rejectionReason);
+        return ErrorResponse.withDefaultHeader(rejectionReason, errorMessage, connectorId,
+            modelVersion);
+    }
+
+    /**
+     * Creates a rejection response from a rejection message.
+     *
+     * @param rejectionMessage The rejection message
+     * @param errorMessage     The error message
+     * @return The error response
+     */
+    public static ErrorResponse create(RejectionMessage rejectionMessage, String errorMessage) {
+        LAST_REASON.set(rejectionMessage.getRejectionReason());
+        return ErrorResponse.create(rejectionMessage, errorMessage);
+    }
+
+    /**
+     * Returns and clears the rejection reason of the current thread.
+     *
+     * @return The rejection reason or null, if no rejection has been built.
+     */
+    public static RejectionReason consumeReason() {
+        final var reason = LAST_REASON.get();
+        LAST_REASON.remove();
+        return reason;
+    }
+}
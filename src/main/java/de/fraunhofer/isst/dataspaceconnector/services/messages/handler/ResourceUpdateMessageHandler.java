@@ -5,7 +5,11 @@ import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ResourceUpdateMessageImpl;
 import de.fraunhofer.iais.eis.util.ConstraintViolationException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageException;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.PayloadTooLargeException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceException;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.RequestTimings;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageMetrics;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessagePayloadReader;
 import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ResourceUpdateMessageService;
 import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
@@ -13,16 +17,13 @@ import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessageHandler;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.MessagePayload;
 import de.fraunhofer.isst.ids.framework.messaging.model.messages.SupportedMessageType;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.BodyResponse;
-import de.fraunhofer.isst.ids.framework.messaging.model.responses.ErrorResponse;
 import de.fraunhofer.isst.ids.framework.messaging.model.responses.MessageResponse;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /**
  * This @{@link ResourceUpdateMessageHandler} handles
@@ -39,18 +40,24 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
     private final ResourceUpdateMessageService messageService;
     private final ConfigurationContainer configurationContainer;
     private final SerializerProvider serializerProvider;
+    private final MessageMetrics messageMetrics;
+    private final MessagePayloadReader payloadReader;
 
     /**
      * Constructor for ResourceUpdateMessageHandler.
      *
      * @param configurationContainer The container with the configuration
      * @param resourceUpdateMessageService The service responsible for resourceUpdateMessages
+     * @param messageMetrics The metrics of the incoming messages
+     * @param payloadReader The reader for message payloads
      * @throws IllegalArgumentException if one of the parameters is null.
      */
     @Autowired
     public ResourceUpdateMessageHandler(ConfigurationContainer configurationContainer,
                                         ResourceUpdateMessageService resourceUpdateMessageService,
-                                        SerializerProvider serializerProvider)
+                                        SerializerProvider serializerProvider,
+                                        MessageMetrics messageMetrics,
+                                        MessagePayloadReader payloadReader)
             throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
@@ -61,10 +68,17 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
         if (serializerProvider == null)
             throw new IllegalArgumentException("The SerializerProvider cannot be null.");
 
+        if (messageMetrics == null)
+            throw new IllegalArgumentException("The MessageMetrics cannot be null.");
+
+        if (payloadReader == null)
+            throw new IllegalArgumentException("The MessagePayloadReader cannot be null.");
+
         this.configurationContainer = configurationContainer;
         this.messageService = resourceUpdateMessageService;
         this.serializerProvider = serializerProvider;
-
+        this.messageMetrics = messageMetrics;
+        this.payloadReader = payloadReader;
     }
 
     /**
@@ -78,6 +92,16 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
     @Override
     public MessageResponse handleMessage(ResourceUpdateMessageImpl message,
                                          MessagePayload messagePayload) throws RuntimeException {
+        RequestTimings.dispatched();
+        return messageMetrics.measureHandler(getClass().getSimpleName(),
+            () -> processMessage(message, messagePayload));
+    }
+
+    /**
+     * Processes the message. See {@link #handleMessage(ResourceUpdateMessageImpl, MessagePayload)}.
+     */
+    private MessageResponse processMessage(ResourceUpdateMessageImpl message,
+                                           MessagePayload messagePayload) throws RuntimeException {
         if (message == null) {
             LOGGER.warn("Cannot respond when there is no request.");
             throw new IllegalArgumentException("The requestMessage cannot be null.");
@@ -89,7 +113,7 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
         // Check if version is supported.
         if (!messageService.versionSupported(message.getModelVersion())) {
             LOGGER.debug("Information Model version of requesting connector is not supported.");
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.VERSION_NOT_SUPPORTED,
                     "Information model version not supported.",
                     connector.getId(), connector.getOutboundModelVersion());
@@ -98,21 +122,27 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
         // Extract and deserialize resource
         Resource resource;
         try {
-            String payload = IOUtils
-                    .toString(messagePayload.getUnderlyingInputStream(), StandardCharsets.UTF_8);
+            String payload = payloadReader.readString(messagePayload);
             // If request is empty, return rejection message.
             if (payload.equals("")) {
                 LOGGER.debug("Payload is missing [id=({}), payload=({})]", message.getId(), payload);
-                return ErrorResponse
+                return Rejections
                         .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                                 "Missing resource.",
                                 connector.getId(), connector.getOutboundModelVersion());
             }
             resource = serializerProvider.getSerializer().deserialize(payload, Resource.class);
+        } catch (PayloadTooLargeException exception) {
+            LOGGER.debug("Payload too large. [id=({}), exception=({})]",
+                    message.getId(), exception.getMessage());
+            return Rejections
+                    .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
+                            "Payload too large.",
+                            connector.getId(), connector.getOutboundModelVersion());
         } catch (IOException exception) {
             LOGGER.debug("Cannot read payload. [id=({}), payload=({})]",
                     message.getId(), messagePayload);
-            return ErrorResponse
+            return Rejections
                     .withDefaultHeader(RejectionReason.BAD_PARAMETERS,
                             "Malformed payload.",
                             connector.getId(), connector.getOutboundModelVersion());
@@ -139,7 +169,7 @@ public class ResourceUpdateMessageHandler implements MessageHandler<ResourceUpda
         } catch (ConstraintViolationException | MessageException exception) {
             // The response could not be constructed.
             LOGGER.warn("Unable to build response message. [exception=({})]", exception.getMessage());
-            return ErrorResponse.withDefaultHeader(
+            return Rejections.withDefaultHeader(
                     RejectionReason.INTERNAL_RECIPIENT_ERROR,
                     "Response could not be constructed.",
                     connector.getId(), connector.getOutboundModelVersion());
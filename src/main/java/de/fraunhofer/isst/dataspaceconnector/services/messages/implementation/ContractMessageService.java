@@ -14,7 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.net.URI;
 
-import static de.fraunhofer.isst.ids.framework.util.IDSUtils.getGregorianNow;
+import static de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils.getGregorianNow;
 
 /**
  * The service for contract messages
@@ -54,10 +54,38 @@ public class ContractMessageService extends MessageService {
      */
     @Override
     public Message buildRequestHeader() throws MessageBuilderException {
+        return buildRequestHeader(recipient, contractId);
+    }
+
+    /**
+     * Builds a contract request message without using the parameters stored in the service.
+     *
+     * @param recipient The recipient of the request
+     * @param contractId The id of the requested contract
+     * @return The message header
+     */
+    public Message buildRequestHeader(URI recipient, URI contractId)
+        throws MessageBuilderException {
+        return buildRequestHeader(recipient, contractId, null);
+    }
+
+    /**
+     * Builds a contract request message with a given message id, so a request that is sent
+     * again can be recognized as the same message.
+     *
+     * @param recipient The recipient of the request
+     * @param contractId The id of the requested contract
+     * @param messageId The id of the message, a new one is generated if null
+     * @return The message header
+     */
+    public Message buildRequestHeader(URI recipient, URI contractId, URI messageId)
+        throws MessageBuilderException {
         // Get a local copy of the current connector.
         var connector = configurationContainer.getConnector();
 
-        return new ContractRequestMessageBuilder()
+        final var builder = messageId == null
+            ? new ContractRequestMessageBuilder() : new ContractRequestMessageBuilder(messageId);
+        return builder
             ._issued_(getGregorianNow())
             ._modelVersion_(connector.getOutboundModelVersion())
             ._issuerConnector_(connector.getId())
@@ -73,6 +101,18 @@ public class ContractMessageService extends MessageService {
      */
     @Override
     public Message buildResponseHeader() throws MessageBuilderException {
+        return buildResponseHeader(recipient, correlationMessage);
+    }
+
+    /**
+     * Builds a contract agreement message without using the parameters stored in the service.
+     *
+     * @param recipient The recipient of the response
+     * @param correlationMessage The correlation message
+     * @return The message header
+     */
+    public Message buildResponseHeader(URI recipient, URI correlationMessage)
+        throws MessageBuilderException {
         // Get a local copy of the current connector.
         var connector = configurationContainer.getConnector();
 
@@ -149,6 +189,19 @@ public class ContractMessageService extends MessageService {
      */
     public ContractAgreement buildContractAgreement(Contract contract)
             throws MessageBuilderException {
+        return buildContractAgreement(contract, contractId);
+    }
+
+    /**
+     * Build contract agreement with a given id, without using the parameters stored in the
+     * service.
+     *
+     * @param contract The contract
+     * @param contractId The id of the agreement or null, if a new one should be generated
+     * @return The contract agreement
+     */
+    public ContractAgreement buildContractAgreement(Contract contract, URI contractId)
+            throws MessageBuilderException {
         if (contractId == null) {
             return new ContractAgreementBuilder()
                 ._consumer_(contract.getConsumer())
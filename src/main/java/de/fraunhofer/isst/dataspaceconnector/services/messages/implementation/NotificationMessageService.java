@@ -16,7 +16,7 @@ import org.springframework.stereotype.Service;
 
 import java.net.URI;
 
-import static de.fraunhofer.isst.ids.framework.util.IDSUtils.getGregorianNow;
+import static de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils.getGregorianNow;
 
 /**
  * The service for notification messages
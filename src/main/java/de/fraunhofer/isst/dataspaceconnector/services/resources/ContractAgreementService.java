@@ -15,10 +15,17 @@ public interface ContractAgreementService {
      */
     void addContract(ResourceContract contract);
 
+    /**
+     * Adds a contract agreement and stores it for the clearing house in the same transaction,
+     * so neither is kept without the other.
+     * @param contract the contract agreement.
+     */
+    void addAgreement(ResourceContract contract);
+
     /**
      * Finds a contract by ID.
      * @param uuid ID of the contract.
-     * @return the contract.
+     * @return the contract or null, if it does not exist.
      */
     ResourceContract getContract(UUID uuid);
 }
@@ -1,20 +1,29 @@
 package de.fraunhofer.isst.dataspaceconnector.services.resources;
 
+import de.fraunhofer.isst.dataspaceconnector.config.ContractAgreementConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceContract;
 import de.fraunhofer.isst.dataspaceconnector.repositories.ContractAgreementRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.ClearingHouseLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * This class implements all methods of {@link ContractAgreementService}.
- * It provides methods for performing CRUD operations on contracts.
+ * It provides methods for performing CRUD operations on contracts. Recently used contracts are
+ * kept in memory, as every artifact request under a contract looks it up again. The cached
+ * contracts are shared and must not be modified.
  */
 @Service
 public class ContractAgreementServiceImpl implements ContractAgreementService {
 
     private final ContractAgreementRepository contractAgreementRepository;
+    private final ClearingHouseLogService clearingHouseLogService;
+    private final Map<UUID, ResourceContract> cache;
 
     /**
      * Constructor for ContractAgreementServiceImpl.
@@ -22,12 +31,30 @@ public class ContractAgreementServiceImpl implements ContractAgreementService {
      * @throws IllegalArgumentException if any of the parameters is null.
      */
     @Autowired
-    public ContractAgreementServiceImpl(ContractAgreementRepository contractAgreementRepository)
+    public ContractAgreementServiceImpl(ContractAgreementRepository contractAgreementRepository,
+        ClearingHouseLogService clearingHouseLogService,
+        ContractAgreementConfiguration contractAgreementConfiguration)
         throws IllegalArgumentException {
         if (contractAgreementRepository == null)
             throw new IllegalArgumentException("The ContractAgreementRepository cannot be null.");
 
+        if (clearingHouseLogService == null)
+            throw new IllegalArgumentException("The ClearingHouseLogService cannot be null.");
+
+        if (contractAgreementConfiguration == null)
+            throw new IllegalArgumentException(
+                "The ContractAgreementConfiguration cannot be null.");
+
         this.contractAgreementRepository = contractAgreementRepository;
+        this.clearingHouseLogService = clearingHouseLogService;
+
+        final var cacheSize = contractAgreementConfiguration.getCacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ResourceContract> eldest) {
+                return size() > cacheSize;
+            }
+        };
     }
 
     /**
@@ -36,17 +63,45 @@ public class ContractAgreementServiceImpl implements ContractAgreementService {
      */
     @Override
     public void addContract(ResourceContract contract) {
-        contractAgreementRepository.save(contract);
+        final var saved = contractAgreementRepository.save(contract);
+        // Agreements are usually followed by artifact requests under them.
+        synchronized (cache) {
+            cache.put(saved.getId(), saved);
+        }
+    }
+
+    /**
+     * Adds a contract agreement and stores it for the clearing house in the same transaction.
+     * It is not put into the cache, which could otherwise keep a rolled back agreement.
+     * @param contract the contract agreement.
+     */
+    @Override
+    @Transactional
+    public void addAgreement(ResourceContract contract) {
+        final var saved = contractAgreementRepository.save(contract);
+        clearingHouseLogService.log(saved.getContract());
     }
 
     /**
      * Finds a contract by ID.
      * @param uuid ID of the contract.
-     * @return the contract.
+     * @return the contract or null, if it does not exist.
      */
     @Override
     public ResourceContract getContract(UUID uuid) {
-        //noinspection OptionalGetWithoutIsPresent
-        return contractAgreementRepository.findById(uuid).get();
+        synchronized (cache) {
+            final var cached = cache.get(uuid);
+            if (cached != null)
+                return cached;
+        }
+
+        final var contract = contractAgreementRepository.findById(uuid).orElse(null);
+        if (contract != null) {
+            synchronized (cache) {
+                cache.put(uuid, contract);
+            }
+        }
+
+        return contract;
     }
 }
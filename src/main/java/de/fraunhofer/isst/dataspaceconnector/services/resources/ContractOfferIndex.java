@@ -0,0 +1,312 @@
+package de.fraunhofer.isst.dataspaceconnector.services.resources;
+
+import de.fraunhofer.iais.eis.ContractOffer;
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.CanonicalContract;
+import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * This class maps the artifacts of the offered resources to the parsed contract offers of their
+ * resources, so contract requests can be checked without building the resource catalog. The index
+ * is filled from the database on first use and must be told about every stored or deleted
+ * resource afterwards.
+ *
+ * <p>If several connectors share the database, the others do not tell this index about their
+ * changes. A found entry is then only used while the version of its resource in the database is
+ * unchanged, otherwise the resource is indexed again. An artifact that is not indexed is looked up
+ * among the resources modified since the last lookup, at most once per refresh interval, so new
+ * resources are found without reading the whole table.</p>
+ */
+@Service
+public class ContractOfferIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractOfferIndex.class);
+
+    /**
+     * How far the lookup of modified resources reaches back, as the clocks of the connectors
+     * sharing the database may differ.
+     */
+    private static final long CLOCK_SKEW = 60_000;
+
+    /**
+     * The shortest time between two lookups of modified resources, so unknown artifacts cannot
+     * make every request query the database.
+     */
+    private static final long REFRESH_INTERVAL = 1_000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private final OfferedResourceRepository offeredResourceRepository;
+    private final SerializerProvider serializerProvider;
+    private final boolean sharedDatabase;
+
+    private final Map<UUID, Entry> offersByArtifact = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> artifactsByResource = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> versionsByResource = new ConcurrentHashMap<>();
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile boolean loaded;
+    private volatile long refreshed;
+    private long nextRefresh;
+
+    /**
+     * Constructor for ContractOfferIndex.
+     *
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public ContractOfferIndex(OfferedResourceRepository offeredResourceRepository,
+        SerializerProvider serializerProvider, ResourceCacheConfiguration cacheConfiguration)
+        throws IllegalArgumentException {
+        if (offeredResourceRepository == null)
+            throw new IllegalArgumentException("The OfferedResourceRepository cannot be null.");
+
+        if (serializerProvider == null)
+            throw new IllegalArgumentException("The SerializerProvider cannot be null.");
+
+        if (cacheConfiguration == null)
+            throw new IllegalArgumentException("The ResourceCacheConfiguration cannot be null.");
+
+        this.offeredResourceRepository = offeredResourceRepository;
+        this.serializerProvider = serializerProvider;
+        this.sharedDatabase = cacheConfiguration.isSharedDatabase();
+    }
+
+    /**
+     * Finds the contract offer of the resource an artifact belongs to.
+     *
+     * @param artifactId ID of the artifact
+     * @return the entry or null, if the artifact is not offered.
+     */
+    public Entry findByArtifact(UUID artifactId) {
+        if (!loaded)
+            load();
+
+        var entry = offersByArtifact.get(artifactId);
+        if (!sharedDatabase)
+            return entry;
+
+        if (entry != null) {
+            if (isCurrent(entry))
+                return entry;
+
+            reload(entry.getResourceId());
+            entry = offersByArtifact.get(artifactId);
+            if (entry != null)
+                return entry;
+        }
+
+        refresh();
+        return offersByArtifact.get(artifactId);
+    }
+
+    /**
+     * Updates the index after an offered resource has been stored.
+     *
+     * @param resource the stored resource
+     */
+    public synchronized void resourceChanged(OfferedResource resource) {
+        if (loaded)
+            put(resource);
+    }
+
+    /**
+     * Updates the index after an offered resource has been deleted.
+     *
+     * @param resourceId ID of the resource
+     */
+    public synchronized void resourceDeleted(UUID resourceId) {
+        if (loaded)
+            remove(resourceId);
+    }
+
+    private synchronized void load() {
+        if (loaded)
+            return;
+
+        refreshed = System.currentTimeMillis();
+        final var count = index(
+            offeredResourceRepository.findOrderedById(PageRequest.of(0, PAGE_SIZE)),
+            after -> offeredResourceRepository.findOrderedById(after,
+                PageRequest.of(0, PAGE_SIZE)));
+
+        loaded = true;
+        LOGGER.debug("Indexed contract offers. [resources=({}), artifacts=({})]", count,
+            offersByArtifact.size());
+    }
+
+    /**
+     * Indexes the resources modified since the last lookup, including those stored by other
+     * connectors. Lookups within the refresh interval of the previous one are skipped. The
+     * index is only locked while a loaded batch is added.
+     */
+    private void refresh() {
+        refreshLock.lock();
+        try {
+            final var now = System.currentTimeMillis();
+            if (now < nextRefresh)
+                return;
+
+            final var since = new Date(Math.max(refreshed - CLOCK_SKEW, 0));
+            refreshed = now;
+            nextRefresh = now + REFRESH_INTERVAL;
+
+            final var count = index(
+                offeredResourceRepository.findModifiedSince(since, PageRequest.of(0, PAGE_SIZE)),
+                after -> offeredResourceRepository.findModifiedSince(since, after,
+                    PageRequest.of(0, PAGE_SIZE)));
+            LOGGER.debug("Indexed modified contract offers. [resources=({})]", count);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Indexes resources page by page, continuing after the last id of each page.
+     *
+     * @return the number of indexed resources.
+     */
+    private int index(List<OfferedResource> batch,
+        Function<UUID, List<OfferedResource>> nextBatch) {
+        var count = 0;
+        while (!batch.isEmpty()) {
+            synchronized (this) {
+                for (var resource : batch)
+                    put(resource);
+            }
+
+            count += batch.size();
+            if (batch.size() < PAGE_SIZE)
+                break;
+
+            batch = nextBatch.apply(batch.get(batch.size() - 1).getUuid());
+        }
+
+        return count;
+    }
+
+    private boolean isCurrent(Entry entry) {
+        final var version = offeredResourceRepository.findVersionByUuid(entry.getResourceId());
+        return version != null && version == entry.version;
+    }
+
+    /**
+     * Indexes a resource again that another connector changed or deleted.
+     */
+    private void reload(UUID resourceId) {
+        final var resource = offeredResourceRepository.findById(resourceId).orElse(null);
+        synchronized (this) {
+            if (resource == null)
+                remove(resourceId);
+            else
+                put(resource);
+        }
+    }
+
+    /**
+     * Replaces the entries of a resource. Readers do not lock the index, so every artifact that
+     * is still offered is overwritten with its new entry instead of being removed first. A
+     * resource older than the indexed one is ignored.
+     */
+    private void put(OfferedResource resource) {
+        final var resourceId = resource.getUuid();
+        final var indexed = versionsByResource.get(resourceId);
+        if (indexed != null && indexed > resource.getVersion())
+            return;
+
+        versionsByResource.put(resourceId, resource.getVersion());
+        final var metadata = resource.getResourceMetadata();
+        final var artifacts = ConcurrentHashMap.<UUID>newKeySet();
+        if (metadata != null && metadata.getRepresentations() != null) {
+            final var entry = parse(resourceId, resource.getVersion(), metadata.getPolicy());
+            for (var representation : metadata.getRepresentations().values()) {
+                if (representation.getUuid() != null) {
+                    artifacts.add(representation.getUuid());
+                    offersByArtifact.put(representation.getUuid(), entry);
+                }
+            }
+        }
+
+        final var previous = artifactsByResource.put(resourceId, artifacts);
+        if (previous != null) {
+            for (var artifactId : previous) {
+                if (!artifacts.contains(artifactId))
+                    removeArtifact(resourceId, artifactId);
+            }
+        }
+    }
+
+    private void remove(UUID resourceId) {
+        versionsByResource.remove(resourceId);
+        final var artifacts = artifactsByResource.remove(resourceId);
+        if (artifacts != null)
+            artifacts.forEach(artifactId -> removeArtifact(resourceId, artifactId));
+    }
+
+    private void removeArtifact(UUID resourceId, UUID artifactId) {
+        // The artifact may have moved to another resource in the meantime.
+        offersByArtifact.computeIfPresent(artifactId,
+            (id, entry) -> resourceId.equals(entry.getResourceId()) ? null : entry);
+    }
+
+    private Entry parse(UUID resourceId, long version, String policy) {
+        if (policy == null)
+            return new Entry(resourceId, version, null);
+
+        try {
+            final var offer = serializerProvider.getSerializer()
+                .deserialize(policy, ContractOffer.class);
+            return new Entry(resourceId, version, CanonicalContract.of(offer));
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.debug("Could not deserialize contract. [resourceId=({}), exception=({})]",
+                resourceId, exception.getMessage());
+            return new Entry(resourceId, version, null);
+        }
+    }
+
+    /**
+     * The parsed contract offer of an offered resource.
+     */
+    public static final class Entry {
+
+        private final UUID resourceId;
+        private final long version;
+        private final CanonicalContract canonicalOffer;
+
+        private Entry(UUID resourceId, long version, CanonicalContract canonicalOffer) {
+            this.resourceId = resourceId;
+            this.version = version;
+            this.canonicalOffer = canonicalOffer;
+        }
+
+        public UUID getResourceId() {
+            return resourceId;
+        }
+
+        /**
+         * Returns the canonical form of the contract offer.
+         *
+         * @return the canonical form or null, if the resource has no readable policy.
+         */
+        public CanonicalContract getCanonicalOffer() {
+            return canonicalOffer;
+        }
+    }
+}
@@ -7,7 +7,7 @@ import de.fraunhofer.iais.eis.PermissionBuilder;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.util.TypedLiteral;
 import de.fraunhofer.iais.eis.util.Util;
-import de.fraunhofer.isst.dataspaceconnector.exceptions.UUIDFormatException;
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.InvalidResourceException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceAlreadyExistsException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.ResourceException;
@@ -18,14 +18,19 @@ import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
 import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.broker.BrokerSyncService;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.HttpUtils;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
-import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.IdGenerator;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -45,9 +50,21 @@ public class OfferedResourceServiceImpl implements ResourceService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OfferedResourceServiceImpl.class);
 
+    /**
+     * The version of {@link #isValidOfferedResource(OfferedResource)}. Stored resources remember
+     * the version they passed, so reads only validate resources stored before a change of the
+     * rules. Increase it whenever the rules become stricter.
+     */
+    private static final int VALIDATION_VERSION = 1;
+
     private final OfferedResourceRepository offeredResourceRepository;
     private final HttpUtils httpUtils;
     private final IdsUtils idsUtils;
+    private final IdGenerator resourceIdGenerator;
+    private final SelfDescriptionVersion selfDescriptionVersion;
+    private final BrokerSyncService brokerSyncService;
+    private final ContractOfferIndex contractOfferIndex;
+    private final ResourceCache<OfferedResource> resourceCache;
     private final ContractOffer contractOffer;
 
     /**
@@ -57,7 +74,12 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     @Autowired
     public OfferedResourceServiceImpl(OfferedResourceRepository offeredResourceRepository,
-        HttpUtils httpUtils, IdsUtils idsUtils) throws IllegalArgumentException {
+        HttpUtils httpUtils, IdsUtils idsUtils,
+        @Qualifier("resourceIdGenerator") IdGenerator resourceIdGenerator,
+        SelfDescriptionVersion selfDescriptionVersion, BrokerSyncService brokerSyncService,
+        ContractOfferIndex contractOfferIndex,
+        ResourceCacheConfiguration resourceCacheConfiguration, MeterRegistry meterRegistry)
+        throws IllegalArgumentException {
         if (offeredResourceRepository == null)
             throw new IllegalArgumentException("The OfferedResourceRepository cannot be null.");
 
@@ -67,9 +89,35 @@ public class OfferedResourceServiceImpl implements ResourceService {
         if (idsUtils == null)
             throw new IllegalArgumentException("The IdsUtils cannot be null.");
 
+        if (resourceIdGenerator == null)
+            throw new IllegalArgumentException("The IdGenerator cannot be null.");
+
+        if (selfDescriptionVersion == null)
+            throw new IllegalArgumentException("The SelfDescriptionVersion cannot be null.");
+
+        if (brokerSyncService == null)
+            throw new IllegalArgumentException("The BrokerSyncService cannot be null.");
+
+        if (contractOfferIndex == null)
+            throw new IllegalArgumentException("The ContractOfferIndex cannot be null.");
+
+        if (resourceCacheConfiguration == null)
+            throw new IllegalArgumentException("The ResourceCacheConfiguration cannot be null.");
+
+        if (meterRegistry == null)
+            throw new IllegalArgumentException("The MeterRegistry cannot be null.");
+
         this.offeredResourceRepository = offeredResourceRepository;
         this.httpUtils = httpUtils;
         this.idsUtils = idsUtils;
+        this.resourceIdGenerator = resourceIdGenerator;
+        this.selfDescriptionVersion = selfDescriptionVersion;
+        this.brokerSyncService = brokerSyncService;
+        this.contractOfferIndex = contractOfferIndex;
+        this.resourceCache = new ResourceCache<>("offered",
+            uuid -> offeredResourceRepository.findById(uuid).orElse(null),
+            offeredResourceRepository::findVersionByUuid, resourceCacheConfiguration,
+            meterRegistry);
 
         contractOffer = new ContractOfferBuilder()
             ._permission_(Util.asList(new PermissionBuilder()
@@ -91,6 +139,28 @@ public class OfferedResourceServiceImpl implements ResourceService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Returns a page of offered resources as IDS information model resources.
+     *
+     * @param pageable the page
+     * @return the list
+     */
+    @Override
+    public List<Resource> getResources(Pageable pageable) {
+        return offeredResourceRepository.findAll(pageable).getContent().parallelStream()
+            .map(idsUtils::getAsResource).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the offered resources.
+     *
+     * @return the number of resources
+     */
+    @Override
+    public long countResources() {
+        return offeredResourceRepository.count();
+    }
+
     /**
      * Returns all offered resources as a map, where resources are mapped to their IDs.
      *
@@ -112,20 +182,10 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     @Override
     public UUID addResource(ResourceMetadata resourceMetadata) throws ResourceException {
-        try {
-            final var uuid = UUIDUtils.createUUID((UUID x) -> {
-                try {
-                    return getResource(x) != null;
-                } catch (InvalidResourceException exception) {
-                    return false;
-                }
-            });
-
-            addResourceWithId(resourceMetadata, uuid);
-            return uuid;
-        } catch (UUIDFormatException exception) {
-            throw new ResourceException("Failed to create resource.", exception);
-        }
+        // Generated ids do not collide, so there is no need to look them up.
+        final var uuid = resourceIdGenerator.generateId();
+        storeNewResource(resourceMetadata, uuid);
+        return uuid;
     }
 
     /**
@@ -142,6 +202,11 @@ public class OfferedResourceServiceImpl implements ResourceService {
             throw new ResourceAlreadyExistsException("The resource does already exist.");
         }
 
+        storeNewResource(resourceMetadata, uuid);
+    }
+
+    private void storeNewResource(ResourceMetadata resourceMetadata, UUID uuid) throws
+        InvalidResourceException {
         if(resourceMetadata.getRepresentations() != null) {
             computeMissingRepresentationIds(resourceMetadata);
         }
@@ -171,18 +236,7 @@ public class OfferedResourceServiceImpl implements ResourceService {
     }
 
     private UUID generateRepresentationId() {
-        return UUIDUtils.createUUID((UUID x) -> {
-            try {
-                for(final var resource : getAllResources()) {
-                    if(getAllRepresentations(resource.getUuid()).keySet().stream().anyMatch(y -> y.equals(x)))
-                        return true;
-                }
-
-                return false;
-            } catch (InvalidResourceException e) {
-                return false;
-            }
-        });
+        return resourceIdGenerator.generateId();
     }
 
     /**
@@ -196,11 +250,7 @@ public class OfferedResourceServiceImpl implements ResourceService {
     @Override
     public void addData(UUID resourceId, String data) throws InvalidResourceException,
         ResourceNotFoundException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
-
+        final var resource = getResourceForUpdate(resourceId);
         resource.setData(data);
         storeResource(resource);
         LOGGER.debug("Added data to resource. [resourceId=({}), data=({})]", resourceId, data);
@@ -216,18 +266,18 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     public void updateResource(UUID resourceId, ResourceMetadata resourceMetadata) throws
         InvalidResourceException, ResourceNotFoundException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
+        updateMetadata(getResourceForUpdate(resourceId), resourceMetadata);
+    }
 
+    private void updateMetadata(OfferedResource resource, ResourceMetadata resourceMetadata)
+        throws InvalidResourceException {
         if(resourceMetadata.getRepresentations() != null) {
             computeMissingRepresentationIds(resourceMetadata);
         }
 
         resource.setResourceMetadata(resourceMetadata);
         storeResource(resource);
-        LOGGER.debug("Updated resource. [resourceId=({}), metadata=({})]", resourceId,
+        LOGGER.debug("Updated resource. [resourceId=({}), metadata=({})]", resource.getUuid(),
             resourceMetadata);
     }
 
@@ -241,11 +291,12 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     public void updateContract(UUID resourceId, String policy) throws ResourceNotFoundException,
         InvalidResourceException {
-        final var resourceMetadata = getMetadata(resourceId);
+        final var resource = getResourceForUpdate(resourceId);
+        final var resourceMetadata = resource.getResourceMetadata();
 
         // NOTE SAFETY CHECK
         resourceMetadata.setPolicy(policy);
-        updateResource(resourceId, resourceMetadata);
+        updateMetadata(resource, resourceMetadata);
         LOGGER.debug("Updated contract of resource. [resourceId=({}), policy=({})]", resourceId,
             policy);
     }
@@ -261,12 +312,20 @@ public class OfferedResourceServiceImpl implements ResourceService {
         try {
             if (getResource(resourceId) != null) {
                 offeredResourceRepository.deleteById(resourceId);
+                resourceCache.evict(resourceId);
+                selfDescriptionVersion.catalogChanged();
+                brokerSyncService.resourceDeleted(resourceId);
+                contractOfferIndex.resourceDeleted(resourceId);
                 LOGGER.debug("Deleted resource. [resourceId=({})]", resourceId);
                 return true;
             }
         }catch(InvalidResourceException exception){
             // The resource exists, delete it
             offeredResourceRepository.deleteById(resourceId);
+            resourceCache.evict(resourceId);
+            selfDescriptionVersion.catalogChanged();
+            brokerSyncService.resourceDeleted(resourceId);
+            contractOfferIndex.resourceDeleted(resourceId);
             LOGGER.debug("Deleted resource. [resourceId=({})]", resourceId);
             return true;
         }
@@ -275,23 +334,44 @@ public class OfferedResourceServiceImpl implements ResourceService {
     }
 
     /**
-     * Finds a resource by ID.
+     * Finds a resource by ID. The resource may be shared with other callers and must not be
+     * modified. The first read of a resource that has not passed the current validation rules
+     * writes the result to the database, see {@link #validateOnce(OfferedResource)}.
      *
      * @param resourceId ID of the resource
      * @return the resource
      */
     @Override
     public OfferedResource getResource(UUID resourceId) throws InvalidResourceException {
-        final var resource = offeredResourceRepository.findById(resourceId);
+        final var resource = resourceCache.get(resourceId);
 
-        if (resource.isEmpty()) {
+        if (resource == null) {
             return null;
         } else {
-            invalidResourceGuard(resource.get());
-            return resource.get();
+            validateOnce(resource);
+            return resource;
         }
     }
 
+    /**
+     * Loads a resource from the database for changing it, bypassing the cache.
+     *
+     * @param resourceId ID of the resource
+     * @return the resource
+     * @throws InvalidResourceException if the resource is invalid.
+     * @throws ResourceNotFoundException if the resource could not be found
+     */
+    private OfferedResource getResourceForUpdate(UUID resourceId) throws
+        InvalidResourceException, ResourceNotFoundException {
+        final var resource = resourceCache.load(resourceId);
+        if (resource == null) {
+            throw new ResourceNotFoundException("The resource does not exist.");
+        }
+
+        validateOnce(resource);
+        return resource;
+    }
+
     /**
      * Returns all offered resources as a list.
      * @return the list
@@ -310,12 +390,25 @@ public class OfferedResourceServiceImpl implements ResourceService {
     @Override
     public ResourceMetadata getMetadata(UUID resourceId) throws ResourceNotFoundException,
         InvalidResourceException {
+        return getExistingResource(resourceId).getResourceMetadata();
+    }
+
+    /**
+     * Finds a resource by ID like {@link #getResource(UUID)}, but fails if it does not exist.
+     *
+     * @param resourceId ID of the resource
+     * @return the resource
+     * @throws InvalidResourceException if the resource is invalid.
+     * @throws ResourceNotFoundException if the resource could not be found
+     */
+    private OfferedResource getExistingResource(UUID resourceId) throws
+        InvalidResourceException, ResourceNotFoundException {
         final var resource = getResource(resourceId);
         if (resource == null) {
             throw new ResourceNotFoundException("The resource does not exist.");
         }
 
-        return resource.getResourceMetadata();
+        return resource;
     }
 
     /**
@@ -357,10 +450,11 @@ public class OfferedResourceServiceImpl implements ResourceService {
     @Override
     public String getData(UUID resourceId) throws ResourceNotFoundException,
             ResourceException {
-        final var representations = getAllRepresentations(resourceId);
+        final var resource = getExistingResource(resourceId);
+        final var representations = resource.getResourceMetadata().getRepresentations();
         for (var representationId : representations.keySet()) {
             try {
-                return getDataByRepresentation(resourceId, representationId, null);
+                return getDataByRepresentation(resource, representationId, null);
             } catch (ResourceException exception) {
                 // The resource is incomplete or wrong.
                 LOGGER.debug("Resource exception. [resourceId=({}), representationId=({}), " +
@@ -374,10 +468,8 @@ public class OfferedResourceServiceImpl implements ResourceService {
             }
         }
 
-        // This code should never be reached since the representation should have at least one
-        // representation.
-        invalidResourceGuard(getResource(resourceId));
-        // Add a runtime exception in case the resource valid logic changed.
+        // This code should never be reached since a valid resource has at least one
+        // representation. Add a runtime exception in case the resource valid logic changed.
         throw new RuntimeException("This code should not have been reached.");
     }
 
@@ -392,10 +484,11 @@ public class OfferedResourceServiceImpl implements ResourceService {
      * @throws ResourceNotFoundException if the resource could not be found
      */
     public String getData(UUID resourceId, QueryInput queryInput) {
-        final var representations = getAllRepresentations(resourceId);
+        final var resource = getExistingResource(resourceId);
+        final var representations = resource.getResourceMetadata().getRepresentations();
         for (var representationId : representations.keySet()) {
             try {
-                return getDataByRepresentation(resourceId, representationId, queryInput);
+                return getDataByRepresentation(resource, representationId, queryInput);
             } catch (ResourceException exception) {
                 // The resource is incomplete or wrong.
                 LOGGER.debug("Resource exception. [resourceId=({}), representationId=({}), " +
@@ -414,10 +507,8 @@ public class OfferedResourceServiceImpl implements ResourceService {
             }
         }
 
-        // This code should never be reached since the representation should have at least one
-        // representation.
-        invalidResourceGuard(getResource(resourceId));
-        // Add a runtime exception in case the resource valid logic changed.
+        // This code should never be reached since a valid resource has at least one
+        // representation. Add a runtime exception in case the resource valid logic changed.
         throw new RuntimeException("This code should not have been reached.");
     }
 
@@ -434,12 +525,25 @@ public class OfferedResourceServiceImpl implements ResourceService {
     @Override
     public String getDataByRepresentation(UUID resourceId, UUID representationId, QueryInput queryInput)
             throws ResourceNotFoundException, ResourceException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
+        return getDataByRepresentation(getExistingResource(resourceId), representationId,
+            queryInput);
+    }
 
-        final var representation = getRepresentation(resourceId, representationId);
+    /**
+     * Retrieves resource data from the local database or an external data source, for a resource
+     * the caller has already loaded.
+     *
+     * @param resource the resource, as returned by {@link #getResource(UUID)}
+     * @param representationId ID of the representation
+     * @param queryInput Headers, path variables and params for data request from backend.
+     * @return resource data as string
+     * @throws ResourceNotFoundException if the representation could not be found
+     * @throws ResourceException if the resource data could not be retrieved
+     */
+    public String getDataByRepresentation(OfferedResource resource, UUID representationId,
+        QueryInput queryInput) throws ResourceNotFoundException, ResourceException {
+        final var representation =
+            resource.getResourceMetadata().getRepresentations().get(representationId);
         if (representation == null) {
             throw new ResourceNotFoundException("The resource representation does not exist.");
         }
@@ -459,14 +563,7 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     public UUID addRepresentation(UUID resourceId, ResourceRepresentation representation) throws
         ResourceNotFoundException, InvalidResourceException, ResourceAlreadyExistsException {
-        final var uuid = UUIDUtils.createUUID(
-            (UUID x) -> {
-                try {
-                    return getRepresentation(resourceId, x) != null;
-                } catch (InvalidResourceException e) {
-                    return false;
-                }
-            });
+        final var uuid = resourceIdGenerator.generateId();
 
         return addRepresentationWithId(resourceId, representation, uuid);
     }
@@ -485,15 +582,16 @@ public class OfferedResourceServiceImpl implements ResourceService {
     public UUID addRepresentationWithId(UUID resourceId, ResourceRepresentation representation,
         UUID representationId) throws
         ResourceNotFoundException, InvalidResourceException, ResourceAlreadyExistsException {
-        final var metaData = getMetadata(resourceId);
-        if (getRepresentation(resourceId, representationId) != null) {
+        final var resource = getResourceForUpdate(resourceId);
+        final var metaData = resource.getResourceMetadata();
+        if (metaData.getRepresentations().get(representationId) != null) {
             throw new ResourceAlreadyExistsException("The representation does already exist.");
         }
 
         representation.setUuid(representationId);
         metaData.getRepresentations().put(representation.getUuid(), representation);
 
-        updateResource(resourceId, metaData);
+        updateMetadata(resource, metaData);
         LOGGER.debug("Added representation to resource. [resourceId=({}), representationId=({}), " +
                         "representation=({})]", resourceId, representationId, representation);
         return representationId;
@@ -511,15 +609,13 @@ public class OfferedResourceServiceImpl implements ResourceService {
     public void updateRepresentation(UUID resourceId, UUID representationId,
         ResourceRepresentation representation) throws
         ResourceNotFoundException, InvalidResourceException {
-        if (getRepresentation(resourceId, representationId) != null) {
+        final var resource = getResourceForUpdate(resourceId);
+        final var metadata = resource.getResourceMetadata();
+        if (metadata.getRepresentations().get(representationId) != null) {
             representation.setUuid(representationId);
-            var representations = getAllRepresentations(resourceId);
-            representations.put(representationId, representation);
-
-            var metadata = getMetadata(resourceId);
-            metadata.setRepresentations(representations);
+            metadata.getRepresentations().put(representationId, representation);
 
-            updateResource(resourceId, metadata);
+            updateMetadata(resource, metadata);
             LOGGER.debug(
                 "Updated representation of resource. [resourceId=({}), representationId=({}), representation=({})]",
                 resourceId, representationId, representation);
@@ -543,12 +639,10 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     public boolean deleteRepresentation(UUID resourceId, UUID representationId) throws
         ResourceNotFoundException, InvalidResourceException {
-        var representations = getAllRepresentations(resourceId);
-        if (representations.remove(representationId) != null) {
-            var metadata = getMetadata(resourceId);
-            metadata.setRepresentations(representations);
-
-            updateResource(resourceId, metadata);
+        final var resource = getResourceForUpdate(resourceId);
+        final var metadata = resource.getResourceMetadata();
+        if (metadata.getRepresentations().remove(representationId) != null) {
+            updateMetadata(resource, metadata);
             LOGGER.debug("Deleted resource representation. [resourceId=({}), representationId=({})]",
                 resourceId, representationId);
             return true;
@@ -613,6 +707,38 @@ public class OfferedResourceServiceImpl implements ResourceService {
         }
     }
 
+    /**
+     * Validates a resource, unless it has already passed the current rules. Resources stored
+     * before are validated on their first read and remember the result, so every resource is
+     * validated once per version of the rules.
+     *
+     * <p>This writes to the database on a read path. The update only sets the validation
+     * version, so neither the modification date nor the row version change and neither caches
+     * nor the broker synchronization see it as a change. If the update fails, the read still
+     * succeeds and the resource is validated again on its next read.</p>
+     *
+     * @param resource the resource to be validated
+     * @throws InvalidResourceException if the resource is not valid.
+     */
+    private void validateOnce(OfferedResource resource) throws InvalidResourceException {
+        final var version = resource.getValidationVersion();
+        if (version != null && version == VALIDATION_VERSION) {
+            return;
+        }
+
+        invalidResourceGuard(resource);
+        try {
+            offeredResourceRepository.updateValidationVersion(resource.getUuid(),
+                VALIDATION_VERSION);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not store the validation of a resource. [uuid=({}), "
+                + "exception=({})]", resource.getUuid(), exception.getMessage());
+            return;
+        }
+
+        resource.setValidationVersion(VALIDATION_VERSION);
+    }
+
     /**
      * Saves a resource after validating it.
      *
@@ -620,7 +746,13 @@ public class OfferedResourceServiceImpl implements ResourceService {
      */
     private void storeResource(OfferedResource resource) throws InvalidResourceException {
         invalidResourceGuard(resource);
-        offeredResourceRepository.save(resource);
+        resource.setValidationVersion(VALIDATION_VERSION);
+        // The broker synchronization finds changed resources by their modification date.
+        resource.setModified(new Date());
+        resourceCache.put(offeredResourceRepository.save(resource));
+        selfDescriptionVersion.catalogChanged();
+        brokerSyncService.resourceChanged();
+        contractOfferIndex.resourceChanged(resource);
         LOGGER.debug("Made resource persistent. [resource=({})]", resource);
     }
 
@@ -1,18 +1,22 @@
 package de.fraunhofer.isst.dataspaceconnector.services.resources;
 
 import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.ContractException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.resource.*;
 import de.fraunhofer.isst.dataspaceconnector.model.RequestedResource;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
 import de.fraunhofer.isst.dataspaceconnector.repositories.RequestedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
 import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.PolicyHandler;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
 import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
@@ -28,9 +32,18 @@ public class RequestedResourceServiceImpl implements ResourceService {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(RequestedResourceServiceImpl.class);
 
+    /**
+     * The version of {@link #isValidRequestedResource(RequestedResource)}. Stored resources
+     * remember the version they passed, so reads only validate resources stored before a change
+     * of the rules. Increase it whenever the rules become stricter.
+     */
+    private static final int VALIDATION_VERSION = 1;
+
     private final RequestedResourceRepository requestedResourceRepository;
     private final IdsUtils idsUtils;
     private final PolicyHandler policyHandler;
+    private final SelfDescriptionVersion selfDescriptionVersion;
+    private final ResourceCache<RequestedResource> resourceCache;
 
     /**
      * Constructor for RequestedResourceServiceImpl.
@@ -39,7 +52,10 @@ public class RequestedResourceServiceImpl implements ResourceService {
      */
     @Autowired
     public RequestedResourceServiceImpl(RequestedResourceRepository requestedResourceRepository,
-        IdsUtils idsUtils, PolicyHandler policyHandler) throws IllegalArgumentException {
+        IdsUtils idsUtils, PolicyHandler policyHandler,
+        SelfDescriptionVersion selfDescriptionVersion,
+        ResourceCacheConfiguration resourceCacheConfiguration, MeterRegistry meterRegistry)
+        throws IllegalArgumentException {
         if (requestedResourceRepository == null)
             throw new IllegalArgumentException("The RequestedResourceRepository cannot be null.");
 
@@ -49,9 +65,23 @@ public class RequestedResourceServiceImpl implements ResourceService {
         if (policyHandler == null)
             throw new IllegalArgumentException("The PolicyHandler cannot be null.");
 
+        if (selfDescriptionVersion == null)
+            throw new IllegalArgumentException("The SelfDescriptionVersion cannot be null.");
+
+        if (resourceCacheConfiguration == null)
+            throw new IllegalArgumentException("The ResourceCacheConfiguration cannot be null.");
+
+        if (meterRegistry == null)
+            throw new IllegalArgumentException("The MeterRegistry cannot be null.");
+
         this.requestedResourceRepository = requestedResourceRepository;
         this.idsUtils = idsUtils;
         this.policyHandler = policyHandler;
+        this.selfDescriptionVersion = selfDescriptionVersion;
+        this.resourceCache = new ResourceCache<>("requested",
+            uuid -> requestedResourceRepository.findById(uuid).orElse(null),
+            requestedResourceRepository::findVersionByUuid, resourceCacheConfiguration,
+            meterRegistry);
     }
 
     /**
@@ -87,6 +117,7 @@ public class RequestedResourceServiceImpl implements ResourceService {
         resource.setOriginalUUID(uuid);
         resource.setOwnerURI(ownerURI);
         storeResource(resource);
+        policyHandler.prefetchDataAccess(resource);
 
         LOGGER.debug("Added a new resource. [resource=({})]", resource);
         return resource.getUuid();
@@ -102,17 +133,33 @@ public class RequestedResourceServiceImpl implements ResourceService {
      */
     public void updateResource(UUID resourceId, ResourceMetadata resourceMetadata) throws
             InvalidResourceException, ResourceNotFoundException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
-
+        final var resource = getResourceForUpdate(resourceId);
         resource.setResourceMetadata(resourceMetadata);
         storeResource(resource);
         LOGGER.debug("Updated resource. [resourceId=({}), metadata=({})]", resourceId,
                 resourceMetadata);
     }
 
+    /**
+     * Stores the contract agreement and the artifact a resource has been requested with.
+     *
+     * @param resourceId ID of the resource
+     * @param contractAgreement ID of the contract agreement
+     * @param requestedArtifact ID of the requested artifact
+     * @throws InvalidResourceException if the resource is invalid.
+     * @throws ResourceNotFoundException if the resource could not be found
+     */
+    public void updateAgreement(UUID resourceId, URI contractAgreement, URI requestedArtifact)
+        throws InvalidResourceException, ResourceNotFoundException {
+        final var resource = getResourceForUpdate(resourceId);
+        resource.setContractAgreement(contractAgreement);
+        resource.setRequestedArtifact(requestedArtifact);
+
+        storeResource(resource);
+        LOGGER.debug("Updated contract agreement of resource. [resourceId=({}), "
+            + "contractAgreement=({})]", resourceId, contractAgreement);
+    }
+
     /**
      * Publishes resource data by ID.
      *
@@ -124,11 +171,7 @@ public class RequestedResourceServiceImpl implements ResourceService {
     @Override
     public void addData(UUID resourceId, String data) throws ResourceNotFoundException,
         InvalidResourceException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
-
+        final var resource = getResourceForUpdate(resourceId);
         resource.setData(data);
 
         storeResource(resource);
@@ -146,12 +189,16 @@ public class RequestedResourceServiceImpl implements ResourceService {
         try {
             if (getResource(resourceId) != null) {
                 requestedResourceRepository.deleteById(resourceId);
+                resourceCache.evict(resourceId);
+                selfDescriptionVersion.catalogChanged();
                 LOGGER.debug("Deleted resource. [resourceId=({})]", resourceId);
                 return true;
             }
         } catch(InvalidResourceException exception){
             // The resource exists, delete it
             requestedResourceRepository.deleteById(resourceId);
+            resourceCache.evict(resourceId);
+            selfDescriptionVersion.catalogChanged();
             LOGGER.debug("Deleted resource. [resourceId=({})]", resourceId);
             return true;
         }
@@ -160,23 +207,44 @@ public class RequestedResourceServiceImpl implements ResourceService {
     }
 
     /**
-     * Gets a resource by ID.
+     * Gets a resource by ID. The resource may be shared with other callers and must not be
+     * modified. The first read of a resource that has not passed the current validation rules
+     * writes the result to the database, see {@link #validateOnce(RequestedResource)}.
      *
      * @param resourceId ID of the resource
      * @return the resource
      */
     @Override
     public RequestedResource getResource(UUID resourceId) throws InvalidResourceException {
-        final var resource = requestedResourceRepository.findById(resourceId);
+        final var resource = resourceCache.get(resourceId);
 
-        if (resource.isEmpty()) {
+        if (resource == null) {
             return null;
         } else {
-            invalidResourceGuard(resource.get());
-            return resource.get();
+            validateOnce(resource);
+            return resource;
         }
     }
 
+    /**
+     * Loads a resource from the database for changing it, bypassing the cache.
+     *
+     * @param resourceId ID of the resource
+     * @return the resource
+     * @throws InvalidResourceException if the resource is invalid.
+     * @throws ResourceNotFoundException if the resource could not be found
+     */
+    private RequestedResource getResourceForUpdate(UUID resourceId) throws
+        InvalidResourceException, ResourceNotFoundException {
+        final var resource = resourceCache.load(resourceId);
+        if (resource == null) {
+            throw new ResourceNotFoundException("The resource does not exist.");
+        }
+
+        validateOnce(resource);
+        return resource;
+    }
+
     /**
      * Gets a resource by Original UUID.
      *
@@ -245,11 +313,8 @@ public class RequestedResourceServiceImpl implements ResourceService {
     @Override
     public String getData(UUID resourceId) throws ResourceNotFoundException,
         ResourceException, ContractException {
-        final var resource = getResource(resourceId);
-        if (resource == null) {
-            throw new ResourceNotFoundException("The resource does not exist.");
-        }
-
+        // The access is counted, so the resource is changed.
+        final var resource = getResourceForUpdate(resourceId);
         if (policyHandler.onDataAccess(resource)) {
             final var data = resource.getData();
             storeResource(resource);
@@ -269,6 +334,28 @@ public class RequestedResourceServiceImpl implements ResourceService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Returns a page of requested resources as IDS information model resources.
+     *
+     * @param pageable the page
+     * @return the list
+     */
+    @Override
+    public List<Resource> getResources(Pageable pageable) {
+        return requestedResourceRepository.findAll(pageable).getContent().parallelStream()
+            .map(idsUtils::getAsResource).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the requested resources.
+     *
+     * @return the number of resources
+     */
+    @Override
+    public long countResources() {
+        return requestedResourceRepository.count();
+    }
+
     /**
      * Gets data from the local database or an external data source.
      *
@@ -334,9 +421,41 @@ public class RequestedResourceServiceImpl implements ResourceService {
         }
     }
 
+    /**
+     * Validates a resource, unless it has already passed the current rules. Resources stored
+     * before are validated on their first read and remember the result.
+     *
+     * <p>Like for offered resources, this is a write on a read path that changes neither the
+     * modification date nor the row version. A failed write does not fail the read.</p>
+     *
+     * @param resource the resource to be validated
+     * @throws InvalidResourceException if the resource is not valid.
+     */
+    private void validateOnce(RequestedResource resource) throws InvalidResourceException {
+        final var version = resource.getValidationVersion();
+        if (version != null && version == VALIDATION_VERSION) {
+            return;
+        }
+
+        invalidResourceGuard(resource);
+        try {
+            requestedResourceRepository.updateValidationVersion(resource.getUuid(),
+                VALIDATION_VERSION);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not store the validation of a resource. [uuid=({}), "
+                + "exception=({})]", resource.getUuid(), exception.getMessage());
+            return;
+        }
+
+        resource.setValidationVersion(VALIDATION_VERSION);
+    }
+
     private void storeResource(RequestedResource resource) throws InvalidResourceException {
         invalidResourceGuard(resource);
-        requestedResourceRepository.save(resource);
+        resource.setValidationVersion(VALIDATION_VERSION);
+        resource.setModified(new Date());
+        resourceCache.put(requestedResourceRepository.save(resource));
+        selfDescriptionVersion.catalogChanged();
         LOGGER.debug("Made resource persistent. [resource=({})]", resource);
     }
 }
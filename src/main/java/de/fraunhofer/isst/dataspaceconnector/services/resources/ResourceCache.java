@@ -0,0 +1,172 @@
+package de.fraunhofer.isst.dataspaceconnector.services.resources;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.ConnectorResource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps recently used resources in memory, so reading a resource does not load and deserialize
+ * its metadata again. The owning service must put every stored resource and evict every deleted
+ * one. The cached resources are shared and must not be modified; changes are made on a fresh copy
+ * loaded with {@link #load(UUID)}.
+ *
+ * <p>If several connectors share the database, a cached resource is only used while its version
+ * in the database is unchanged, which costs a query for the version instead of loading the
+ * resource.</p>
+ *
+ * @param <T> the type of the resources.
+ */
+public class ResourceCache<T extends ConnectorResource> {
+
+    private final Function<UUID, T> loader;
+    private final Function<UUID, Long> versionLookup;
+    private final boolean enabled;
+    private final boolean sharedDatabase;
+    private final Map<UUID, T> cache;
+
+    /**
+     * Counts the stored and evicted resources. A loaded resource is only cached if nothing was
+     * stored or evicted while it was loaded, as it could be older than the change.
+     */
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    /**
+     * Constructor for ResourceCache.
+     *
+     * @param name the name of the cache in the metrics.
+     * @param loader loads a resource from the database, returns null if it does not exist.
+     * @param versionLookup looks up the version of a resource in the database.
+     * @param configuration the cache configuration.
+     * @param meterRegistry the registry of the cache metrics.
+     */
+    public ResourceCache(String name, Function<UUID, T> loader, Function<UUID, Long> versionLookup,
+        ResourceCacheConfiguration configuration, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.versionLookup = versionLookup;
+        this.enabled = configuration.isEnabled() && configuration.getMaxSize() > 0;
+        this.sharedDatabase = configuration.isSharedDatabase();
+
+        final var maxSize = configuration.getMaxSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, T> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hits = requests(meterRegistry, name, "hit");
+        this.misses = requests(meterRegistry, name, "miss");
+        this.stale = requests(meterRegistry, name, "stale");
+        Gauge.builder("resource.cache.size", cache, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        }).tag("cache", name).description("Number of cached resources").register(meterRegistry);
+    }
+
+    /**
+     * Finds a resource, from the cache if possible.
+     *
+     * @param resourceId ID of the resource
+     * @return the shared resource or null, if it does not exist.
+     */
+    public T get(UUID resourceId) {
+        if (!enabled)
+            return loader.apply(resourceId);
+
+        T cached;
+        long loadGeneration;
+        synchronized (cache) {
+            cached = cache.get(resourceId);
+            loadGeneration = generation;
+        }
+
+        if (cached != null) {
+            if (isCurrent(cached)) {
+                hits.increment();
+                return cached;
+            }
+
+            stale.increment();
+        } else {
+            misses.increment();
+        }
+
+        final var resource = loader.apply(resourceId);
+        synchronized (cache) {
+            // Do not cache a resource that was stored or deleted while this one was loaded.
+            if (generation == loadGeneration) {
+                if (resource == null)
+                    cache.remove(resourceId);
+                else
+                    cache.put(resourceId, resource);
+            }
+        }
+
+        return resource;
+    }
+
+    /**
+     * Loads a resource from the database, bypassing the cache. Used for changing a resource.
+     *
+     * @param resourceId ID of the resource
+     * @return a copy of the resource or null, if it does not exist.
+     */
+    public T load(UUID resourceId) {
+        return loader.apply(resourceId);
+    }
+
+    /**
+     * Caches a stored resource.
+     *
+     * @param resource the resource as stored in the database.
+     */
+    public void put(T resource) {
+        if (!enabled)
+            return;
+
+        synchronized (cache) {
+            generation++;
+            cache.put(resource.getUuid(), resource);
+        }
+    }
+
+    /**
+     * Removes a resource from the cache.
+     *
+     * @param resourceId ID of the resource
+     */
+    public void evict(UUID resourceId) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(resourceId);
+        }
+    }
+
+    private boolean isCurrent(T cached) {
+        if (!sharedDatabase)
+            return true;
+
+        final var version = versionLookup.apply(cached.getUuid());
+        return version != null && version == cached.getVersion();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("resource.cache.requests")
+            .tag("cache", name)
+            .tag("result", result)
+            .description("Resource lookups by cache result")
+            .register(meterRegistry);
+    }
+}
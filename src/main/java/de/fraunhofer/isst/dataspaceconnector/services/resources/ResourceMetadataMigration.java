@@ -0,0 +1,112 @@
+package de.fraunhofer.isst.dataspaceconnector.services.resources;
+
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadataConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class rewrites resource metadata that older versions stored with Java serialization in the
+ * format of the {@link ResourceMetadataConverter}. Until then, the converter reads the old values
+ * as they are. The rows are rewritten in the background after startup, and only if they have not
+ * been changed in the meantime.
+ */
+@Component
+public class ResourceMetadataMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceMetadataMigration.class);
+
+    private static final List<String> TABLES = List.of("offered_resource", "requested_resource");
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceMetadataConverter converter = new ResourceMetadataConverter();
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for ResourceMetadataMigration.
+     *
+     * @param jdbcTemplate The template for accessing the resource tables
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public ResourceMetadataMigration(JdbcTemplate jdbcTemplate) throws IllegalArgumentException {
+        if (jdbcTemplate == null)
+            throw new IllegalArgumentException("The JdbcTemplate cannot be null.");
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "resource-metadata-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts rewriting the legacy rows once the application is running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(() -> TABLES.forEach(this::migrate));
+    }
+
+    /**
+     * Stops the migration. Rows that were not rewritten yet are rewritten on the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void migrate(String table) {
+        try {
+            final var batch = new ArrayList<Object[]>(BATCH_SIZE);
+            final var count = new int[1];
+            jdbcTemplate.query("SELECT uuid, resource_metadata FROM " + table, row -> {
+                final var value = row.getBytes(2);
+                if (!ResourceMetadataConverter.isLegacyFormat(value))
+                    return;
+
+                final var metadata = converter.convertToEntityAttribute(value);
+                batch.add(new Object[]{converter.convertToDatabaseColumn(metadata),
+                    row.getObject(1), value});
+                if (batch.size() == BATCH_SIZE)
+                    count[0] += update(table, batch);
+            });
+            count[0] += update(table, batch);
+
+            if (count[0] > 0)
+                LOGGER.info("Rewrote legacy resource metadata. [table=({}), count=({})]", table,
+                    count[0]);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Failed to rewrite legacy resource metadata. [table=({}), exception=({})]",
+                table, exception.getMessage());
+        }
+    }
+
+    private int update(String table, List<Object[]> batch) {
+        if (batch.isEmpty())
+            return 0;
+
+        // The old value is compared, so rows changed in the meantime are not overwritten.
+        final var results = jdbcTemplate.batchUpdate("UPDATE " + table
+            + " SET resource_metadata = ? WHERE uuid = ? AND resource_metadata = ?", batch);
+        batch.clear();
+
+        var count = 0;
+        for (var result : results)
+            count += Math.max(result, 0);
+
+        return count;
+    }
+}
@@ -6,6 +6,7 @@ import de.fraunhofer.isst.dataspaceconnector.model.ConnectorResource;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
 import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
 import de.fraunhofer.isst.dataspaceconnector.model.QueryInput;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
@@ -64,6 +65,21 @@ public interface ResourceService {
      */
     List<Resource> getResources();
 
+    /**
+     * Returns a page of resources as list.
+     *
+     * @param pageable the page, including the order of the resources.
+     * @return a list of resources.
+     */
+    List<Resource> getResources(Pageable pageable);
+
+    /**
+     * Counts the resources.
+     *
+     * @return the number of resources.
+     */
+    long countResources();
+
     /**
      * Returns data by representation.
      *
@@ -0,0 +1,72 @@
+package de.fraunhofer.isst.dataspaceconnector.services.selfdescription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serialized self-description together with its validators for conditional requests. The body
+ * is shared and must not be modified. The gzip encoded body is built on first use and kept, as
+ * self-descriptions are polled often and compress well.
+ */
+public final class SelfDescription {
+
+    private final byte[] body;
+    private final String eTag;
+    private final long lastModified;
+    private volatile byte[] gzipBody;
+
+    /**
+     * Constructor for SelfDescription.
+     *
+     * @param body The JSON-LD
+     * @param eTag The weak entity tag
+     * @param lastModified The time of the latest change in milliseconds
+     */
+    public SelfDescription(byte[] body, String eTag, long lastModified) {
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the body encoded with gzip.
+     *
+     * @return the compressed body.
+     */
+    public byte[] getGzipBody() {
+        var compressed = gzipBody;
+        if (compressed == null) {
+            // Concurrent callers may compress twice, which is cheaper than locking.
+            compressed = compress(body);
+            gzipBody = compressed;
+        }
+
+        return compressed;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private static byte[] compress(byte[] body) {
+        final var output = new ByteArrayOutputStream(body.length / 8 + 64);
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(body);
+        } catch (IOException exception) {
+            // Writing to memory does not fail.
+            throw new UncheckedIOException(exception);
+        }
+
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,448 @@
+package de.fraunhofer.isst.dataspaceconnector.services.selfdescription;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fraunhofer.iais.eis.Connector;
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.isst.dataspaceconnector.config.SelfDescriptionConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.ConnectorConfigurationException;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.RequestedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceService;
+import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
+import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This class builds the self-description of the connector. The resource catalog is not built as
+ * one information model object. The resources are loaded in chunks, each chunk is serialized in
+ * parallel and written to the output before the next one is loaded. The connector itself is never
+ * modified. Instead, an immutable snapshot of the serialized connector is kept and replaced when
+ * the configuration or the resource catalog changes. Large catalogs of offered and requested
+ * resources are not kept in memory but streamed.
+ */
+@Service
+public class SelfDescriptionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelfDescriptionService.class);
+
+    private static final String CONTEXT = "@context";
+    private static final String RESOURCE_CATALOG = "ids:resourceCatalog";
+    private static final String CATALOG_ID_PREFIX =
+        "https://w3id.org/idsa/autogen/resourceCatalog/";
+
+    /**
+     * The order of the resources, so that pages do not overlap.
+     */
+    private static final Sort BY_ID = Sort.by("uuid");
+
+    /**
+     * The resources listed in the resource catalog of a self-description.
+     */
+    public enum Catalog {
+        /**
+         * No resource catalog.
+         */
+        NONE,
+        /**
+         * The offered resources.
+         */
+        OFFERED,
+        /**
+         * The offered and the requested resources.
+         */
+        ALL
+    }
+
+    private final ConfigurationContainer configurationContainer;
+    private final SerializerProvider serializerProvider;
+    private final ResourceService offeredResourceService, requestedResourceService;
+    private final SelfDescriptionConfiguration configuration;
+    private final SelfDescriptionVersion version;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor for SelfDescriptionService.
+     *
+     * @param configurationContainer The container with the configuration
+     * @param serializerProvider The provider for serialization
+     * @param offeredResourceService The service for the offered resources
+     * @param requestedResourceService The service for the requested resources
+     * @param configuration The self-description configuration
+     * @param version The version of the configuration and the resource catalog
+     * @throws IllegalArgumentException if one of the parameters is null.
+     */
+    @Autowired
+    public SelfDescriptionService(ConfigurationContainer configurationContainer,
+        SerializerProvider serializerProvider, OfferedResourceServiceImpl offeredResourceService,
+        RequestedResourceServiceImpl requestedResourceService,
+        SelfDescriptionConfiguration configuration, SelfDescriptionVersion version)
+        throws IllegalArgumentException {
+        if (configurationContainer == null)
+            throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
+
+        if (serializerProvider == null)
+            throw new IllegalArgumentException("The SerializerProvider cannot be null.");
+
+        if (offeredResourceService == null)
+            throw new IllegalArgumentException("The OfferedResourceService cannot be null.");
+
+        if (requestedResourceService == null)
+            throw new IllegalArgumentException("The RequestedResourceService cannot be null.");
+
+        if (configuration == null)
+            throw new IllegalArgumentException("The SelfDescriptionConfiguration cannot be null.");
+
+        if (version == null)
+            throw new IllegalArgumentException("The SelfDescriptionVersion cannot be null.");
+
+        this.configurationContainer = configurationContainer;
+        this.serializerProvider = serializerProvider;
+        this.offeredResourceService = offeredResourceService;
+        this.requestedResourceService = requestedResourceService;
+        this.configuration = configuration;
+        this.version = version;
+        this.objectMapper = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    /**
+     * Returns the self-description. The self-descriptions are cached until the configuration or
+     * the resource catalog changes, so the returned bytes are shared and must not be modified.
+     * A large catalog of all resources should be streamed instead, see {@link #isCached}.
+     *
+     * @param catalog the resources listed in the catalog.
+     * @param limit the maximum number of resources per list or 0 for all resources.
+     * @return the self-description.
+     * @throws ConnectorConfigurationException if no connector is configured.
+     * @throws IOException if the self-description could not be serialized.
+     */
+    public SelfDescription getSelfDescription(Catalog catalog, int limit)
+        throws ConnectorConfigurationException, IOException {
+        final var pageable = limit > 0 ? PageRequest.of(0, limit) : Pageable.unpaged();
+        final var current = getSnapshot();
+        try {
+            return current.descriptions.computeIfAbsent(catalog + "/" + limit,
+                key -> buildSelfDescription(current, catalog, pageable));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Returns whether a self-description is kept in memory. Self-descriptions without a catalog,
+     * with the offered resources or with a page of the resources are kept. The complete catalog of
+     * offered and requested resources is only kept while it has at most the configured number of
+     * resources, larger catalogs are streamed with {@link #streamSelfDescription}.
+     *
+     * @param catalog the resources listed in the catalog.
+     * @param limit the maximum number of resources per list or 0 for all resources.
+     * @return true, if the self-description is kept in memory.
+     * @throws ConnectorConfigurationException if no connector is configured.
+     * @throws IOException if the connector could not be serialized.
+     */
+    public boolean isCached(Catalog catalog, int limit)
+        throws ConnectorConfigurationException, IOException {
+        if (catalog != Catalog.ALL || limit > 0) {
+            return true;
+        }
+
+        final var current = getSnapshot();
+        var resources = current.resources;
+        if (resources < 0) {
+            // Counted once per snapshot, as the number only changes with the catalog.
+            resources = offeredResourceService.countResources()
+                + requestedResourceService.countResources();
+            current.resources = resources;
+        }
+
+        return resources <= configuration.getCacheMaxResources();
+    }
+
+    /**
+     * Returns the self-description as a stream, without building it in memory. The resources are
+     * loaded and written chunk by chunk when the stream is written. The validators are the same
+     * as those of the cached self-description.
+     *
+     * @param catalog the resources listed in the catalog.
+     * @return the self-description.
+     * @throws ConnectorConfigurationException if no connector is configured.
+     * @throws IOException if the connector could not be serialized.
+     */
+    public StreamedSelfDescription streamSelfDescription(Catalog catalog)
+        throws ConnectorConfigurationException, IOException {
+        final var current = getSnapshot();
+        return new StreamedSelfDescription(
+            output -> writeSelfDescription(current.connector, catalog, Pageable.unpaged(), output),
+            getETag(current, catalog), getLastModified(current, catalog));
+    }
+
+    /**
+     * Builds a page of the self-description. If the resources are paged, the offered and the
+     * requested resources are paged alike. Pages are not cached.
+     *
+     * @param catalog the resources listed in the catalog.
+     * @param pageable the page of resources.
+     * @return the self-description.
+     * @throws ConnectorConfigurationException if no connector is configured.
+     * @throws IOException if the self-description could not be serialized.
+     */
+    public SelfDescription getSelfDescription(Catalog catalog, Pageable pageable)
+        throws ConnectorConfigurationException, IOException {
+        try {
+            return buildSelfDescription(getSnapshot(), catalog, pageable);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Counts the resources of a catalog. For a catalog of offered and requested resources, the
+     * larger number is returned, as both are paged alike.
+     *
+     * @param catalog the resources listed in the catalog.
+     * @return the number of resources.
+     */
+    public long countResources(Catalog catalog) {
+        switch (catalog) {
+            case OFFERED:
+                return offeredResourceService.countResources();
+            case ALL:
+                return Math.max(offeredResourceService.countResources(),
+                    requestedResourceService.countResources());
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the current snapshot of the connector, rebuilding it if the configuration or the
+     * resource catalog has changed.
+     */
+    private Snapshot getSnapshot() throws ConnectorConfigurationException, IOException {
+        var current = snapshot;
+        if (current != null && current.isCurrent(configurationContainer.getConnector(), version)) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            final var connector = configurationContainer.getConnector();
+            if (current != null && current.isCurrent(connector, version)) {
+                return current;
+            }
+
+            if (connector == null) {
+                throw new ConnectorConfigurationException("No connector is configured.");
+            }
+
+            if (current != null && current.source != connector) {
+                // The container replaced the connector, which has not been reported.
+                version.configurationChanged();
+            }
+
+            // Read the versions first. A change while serializing causes another rebuild.
+            final var configurationVersion = version.getConfigurationVersion();
+            final var catalogVersion = version.getCatalogVersion();
+            current = new Snapshot(connector, configurationVersion, catalogVersion,
+                version.getConfigurationModified(), version.getCatalogModified(),
+                serializeConnector(connector));
+            snapshot = current;
+
+            LOGGER.debug("Rebuilt the self-description. [configurationVersion=({}), "
+                + "catalogVersion=({})]", configurationVersion, catalogVersion);
+            return current;
+        }
+    }
+
+    /**
+     * Serializes the connector without its resource catalog.
+     */
+    private ObjectNode serializeConnector(Connector connector) throws IOException {
+        final var node = (ObjectNode) objectMapper.readTree(
+            serializerProvider.getSerializer().serialize(connector));
+        node.remove(RESOURCE_CATALOG);
+        return node;
+    }
+
+    private SelfDescription buildSelfDescription(Snapshot current, Catalog catalog,
+        Pageable pageable) {
+        try {
+            final var output = new ByteArrayOutputStream();
+            writeSelfDescription(current.connector, catalog, pageable, output);
+            return new SelfDescription(output.toByteArray(), getETag(current, catalog),
+                getLastModified(current, catalog));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private String getETag(Snapshot current, Catalog catalog) {
+        // Without a catalog, the self-description does not change with the resources.
+        if (catalog == Catalog.NONE) {
+            return "W/\"" + Long.toHexString(version.getEpoch()) + "-"
+                + current.configurationVersion + "\"";
+        }
+
+        return "W/\"" + Long.toHexString(version.getEpoch()) + "-"
+            + current.configurationVersion + "-" + current.catalogVersion + "\"";
+    }
+
+    private static long getLastModified(Snapshot current, Catalog catalog) {
+        if (catalog == Catalog.NONE) {
+            return current.configurationModified;
+        }
+
+        return Math.max(current.configurationModified, current.catalogModified);
+    }
+
+    /**
+     * Writes the self-description. The resource catalog is appended to the connector. The
+     * connector node is only read, so it can be shared between threads.
+     */
+    private void writeSelfDescription(ObjectNode connector, Catalog catalog, Pageable pageable,
+        OutputStream output) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartObject();
+            final var fields = connector.fields();
+            while (fields.hasNext()) {
+                final var field = fields.next();
+                generator.writeFieldName(field.getKey());
+                generator.writeTree(field.getValue());
+            }
+
+            if (catalog != Catalog.NONE) {
+                final var context = connector.get(CONTEXT);
+                generator.writeArrayFieldStart(RESOURCE_CATALOG);
+                generator.writeStartObject();
+                generator.writeStringField("@type", "ids:ResourceCatalog");
+                generator.writeStringField("@id", getCatalogId(connector));
+                writeResources(generator, "ids:offeredResource", offeredResourceService,
+                    pageable, context);
+                if (catalog == Catalog.ALL) {
+                    writeResources(generator, "ids:requestedResource", requestedResourceService,
+                        pageable, context);
+                }
+                generator.writeEndObject();
+                generator.writeEndArray();
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeResources(JsonGenerator generator, String field, ResourceService service,
+        Pageable pageable, JsonNode context) throws IOException {
+        generator.writeArrayFieldStart(field);
+        if (pageable.isPaged()) {
+            writeChunk(generator, service.getResources(
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), BY_ID)), context);
+        } else {
+            final var chunkSize = Math.max(configuration.getChunkSize(), 1);
+            for (var chunk = 0; ; chunk++) {
+                final var resources = service.getResources(
+                    PageRequest.of(chunk, chunkSize, BY_ID));
+                writeChunk(generator, resources, context);
+                if (resources.size() < chunkSize) {
+                    break;
+                }
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeChunk(JsonGenerator generator, List<Resource> resources, JsonNode context)
+        throws IOException {
+        final List<JsonNode> nodes;
+        try {
+            nodes = resources.parallelStream()
+                .map(resource -> serializeResource(resource, context))
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        for (final var node : nodes) {
+            generator.writeTree(node);
+        }
+
+        // Pass the chunk on before the next one is loaded, if the self-description is streamed.
+        generator.flush();
+    }
+
+    private JsonNode serializeResource(Resource resource, JsonNode context) {
+        try {
+            final var node = (ObjectNode) objectMapper.readTree(
+                serializerProvider.getSerializer().serialize(resource));
+
+            // The resource is embedded in the connector. Its context is only kept if it differs.
+            if (context != null && context.equals(node.get(CONTEXT))) {
+                node.remove(CONTEXT);
+            }
+
+            return node;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String getCatalogId(ObjectNode connector) {
+        // Derived from the connector, so that the catalog keeps its id between requests.
+        final var connectorId = connector.path("@id").asText();
+        return CATALOG_ID_PREFIX
+            + UUID.nameUUIDFromBytes(connectorId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The connector as it is described, together with the versions it was built for and the
+     * self-descriptions built from it.
+     */
+    private static final class Snapshot {
+        private final Connector source;
+        private final long configurationVersion;
+        private final long catalogVersion;
+        private final long configurationModified;
+        private final long catalogModified;
+        private final ObjectNode connector;
+        private final Map<String, SelfDescription> descriptions = new ConcurrentHashMap<>();
+        private volatile long resources = -1;
+
+        private Snapshot(Connector source, long configurationVersion, long catalogVersion,
+            long configurationModified, long catalogModified, ObjectNode connector) {
+            this.source = source;
+            this.configurationVersion = configurationVersion;
+            this.catalogVersion = catalogVersion;
+            this.configurationModified = configurationModified;
+            this.catalogModified = catalogModified;
+            this.connector = connector;
+        }
+
+        private boolean isCurrent(Connector currentSource, SelfDescriptionVersion version) {
+            // The container replaces the connector when the configuration is updated.
+            return source == currentSource
+                && configurationVersion == version.getConfigurationVersion()
+                && catalogVersion == version.getCatalogVersion();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package de.fraunhofer.isst.dataspaceconnector.services.selfdescription;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.config.SelfDescriptionConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.CatalogState;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.repositories.RequestedResourceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class counts the changes that affect the self-description. Every change to the
+ * configuration or to the resource catalog must be reported, so that cached self-descriptions are
+ * rebuilt. The time of the latest change is kept for conditional requests. The counters start
+ * again on every restart, so they are only unique together with the epoch.
+ *
+ * <p>If several connectors share the database, changes made by the others are not reported.
+ * The stored resources are then summarized at most once per check interval, and a changed
+ * summary counts as a catalog change.</p>
+ */
+@Component
+public class SelfDescriptionVersion {
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicLong configurationVersion = new AtomicLong();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong configurationModified = new AtomicLong(epoch);
+    private final AtomicLong catalogModified = new AtomicLong(epoch);
+
+    private final OfferedResourceRepository offeredResourceRepository;
+    private final RequestedResourceRepository requestedResourceRepository;
+    private final boolean sharedDatabase;
+    private final long checkInterval;
+
+    private List<CatalogState> catalogState;
+    private long nextCheck;
+
+    /**
+     * Constructor for SelfDescriptionVersion.
+     *
+     * @param offeredResourceRepository The repository of the offered resources
+     * @param requestedResourceRepository The repository of the requested resources
+     * @param cacheConfiguration The resource cache configuration
+     * @param configuration The self-description configuration
+     * @throws IllegalArgumentException if one of the parameters is null.
+     */
+    @Autowired
+    public SelfDescriptionVersion(OfferedResourceRepository offeredResourceRepository,
+        RequestedResourceRepository requestedResourceRepository,
+        ResourceCacheConfiguration cacheConfiguration,
+        SelfDescriptionConfiguration configuration) throws IllegalArgumentException {
+        if (offeredResourceRepository == null)
+            throw new IllegalArgumentException("The OfferedResourceRepository cannot be null.");
+
+        if (requestedResourceRepository == null)
+            throw new IllegalArgumentException("The RequestedResourceRepository cannot be null.");
+
+        if (cacheConfiguration == null)
+            throw new IllegalArgumentException("The ResourceCacheConfiguration cannot be null.");
+
+        if (configuration == null)
+            throw new IllegalArgumentException("The SelfDescriptionConfiguration cannot be null.");
+
+        this.offeredResourceRepository = offeredResourceRepository;
+        this.requestedResourceRepository = requestedResourceRepository;
+        this.sharedDatabase = cacheConfiguration.isSharedDatabase();
+        this.checkInterval = configuration.getSharedCatalogCheck().toMillis();
+    }
+
+    /**
+     * Reports a change of the connector configuration.
+     */
+    public void configurationChanged() {
+        configurationModified.set(System.currentTimeMillis());
+        configurationVersion.incrementAndGet();
+    }
+
+    /**
+     * Reports a change of an offered or requested resource.
+     */
+    public void catalogChanged() {
+        catalogModified.set(System.currentTimeMillis());
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the time the counters were started.
+     *
+     * @return the epoch in milliseconds.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the number of configuration changes.
+     *
+     * @return the configuration version.
+     */
+    public long getConfigurationVersion() {
+        return configurationVersion.get();
+    }
+
+    /**
+     * Returns the number of resource catalog changes.
+     *
+     * @return the catalog version.
+     */
+    public long getCatalogVersion() {
+        checkSharedCatalog();
+        return catalogVersion.get();
+    }
+
+    /**
+     * Returns the time of the latest configuration change.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getConfigurationModified() {
+        return configurationModified.get();
+    }
+
+    /**
+     * Returns the time of the latest resource modification.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getCatalogModified() {
+        checkSharedCatalog();
+        return catalogModified.get();
+    }
+
+    /**
+     * Reports a catalog change if another connector changed the resources in the shared
+     * database since the last check.
+     */
+    private synchronized void checkSharedCatalog() {
+        if (!sharedDatabase)
+            return;
+
+        final var now = System.currentTimeMillis();
+        if (now < nextCheck)
+            return;
+
+        final var current = List.of(offeredResourceRepository.findCatalogState(),
+            requestedResourceRepository.findCatalogState());
+        if (catalogState != null && !catalogState.equals(current))
+            catalogChanged();
+
+        catalogState = current;
+        nextCheck = now + checkInterval;
+    }
+}
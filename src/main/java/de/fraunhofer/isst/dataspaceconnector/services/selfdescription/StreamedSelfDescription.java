@@ -0,0 +1,60 @@
+package de.fraunhofer.isst.dataspaceconnector.services.selfdescription;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A self-description that is written to the response instead of being built in memory, together
+ * with its validators for conditional requests. The resources are loaded while it is written.
+ */
+public final class StreamedSelfDescription {
+
+    /**
+     * Writes the JSON-LD of a self-description.
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+        /**
+         * Writes the JSON-LD.
+         *
+         * @param output the stream to write to, which is not closed.
+         * @throws IOException if the self-description could not be written.
+         */
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    private final BodyWriter writer;
+    private final String eTag;
+    private final long lastModified;
+
+    /**
+     * Constructor for StreamedSelfDescription.
+     *
+     * @param writer The writer of the JSON-LD
+     * @param eTag The weak entity tag
+     * @param lastModified The time of the latest change in milliseconds
+     */
+    public StreamedSelfDescription(BodyWriter writer, String eTag, long lastModified) {
+        this.writer = writer;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Writes the JSON-LD.
+     *
+     * @param output the stream to write to, which is not closed.
+     * @throws IOException if the self-description could not be written.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        writer.writeTo(output);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
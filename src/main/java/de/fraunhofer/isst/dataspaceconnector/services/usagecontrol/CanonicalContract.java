@@ -0,0 +1,200 @@
+package de.fraunhofer.isst.dataspaceconnector.services.usagecontrol;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.Constraint;
+import de.fraunhofer.iais.eis.Contract;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.Permission;
+import de.fraunhofer.iais.eis.Rule;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The normalized content of a contract, used to decide whether a contract request matches an
+ * offer. Rules, actions and constraints are kept as sets, so their order does not matter, and
+ * everything that is not part of the agreed terms (ids, titles, descriptions, targets and
+ * parties) is left out. Missing and empty lists are treated alike. Instances are immutable and
+ * may be compared and hashed cheaply.
+ */
+public final class CanonicalContract {
+
+    private final Set<CanonicalRule> permissions;
+    private final Set<CanonicalRule> prohibitions;
+    private final Set<CanonicalRule> obligations;
+    private final int hash;
+
+    private CanonicalContract(Set<CanonicalRule> permissions, Set<CanonicalRule> prohibitions,
+        Set<CanonicalRule> obligations) {
+        this.permissions = permissions;
+        this.prohibitions = prohibitions;
+        this.obligations = obligations;
+        this.hash = Objects.hash(permissions, prohibitions, obligations);
+    }
+
+    /**
+     * Builds the canonical form of a contract.
+     *
+     * @param contract the contract.
+     * @return the canonical form.
+     * @throws IllegalArgumentException if the contract is null.
+     */
+    public static CanonicalContract of(Contract contract) throws IllegalArgumentException {
+        if (contract == null)
+            throw new IllegalArgumentException("The contract cannot be null.");
+
+        return new CanonicalContract(
+            toSet(contract.getPermission(), CanonicalRule::ofPermission),
+            toSet(contract.getProhibition(), CanonicalRule::ofRule),
+            toSet(contract.getObligation(), CanonicalRule::ofRule));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+
+        if (!(other instanceof CanonicalContract))
+            return false;
+
+        final var contract = (CanonicalContract) other;
+        return hash == contract.hash
+            && permissions.equals(contract.permissions)
+            && prohibitions.equals(contract.prohibitions)
+            && obligations.equals(contract.obligations);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static <T, R> Set<R> toSet(Collection<? extends T> values,
+        Function<? super T, R> mapper) {
+        if (values == null || values.isEmpty())
+            return Set.of();
+
+        final var result = new HashSet<R>(values.size() * 2);
+        for (T value : values) {
+            if (value != null)
+                result.add(mapper.apply(value));
+        }
+
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * The normalized content of a permission, prohibition or duty.
+     */
+    private static final class CanonicalRule {
+
+        private final Set<Action> actions;
+        private final Set<CanonicalConstraint> constraints;
+        private final Set<CanonicalRule> preDuties;
+        private final Set<CanonicalRule> postDuties;
+        private final int hash;
+
+        private CanonicalRule(Set<Action> actions, Set<CanonicalConstraint> constraints,
+            Set<CanonicalRule> preDuties, Set<CanonicalRule> postDuties) {
+            this.actions = actions;
+            this.constraints = constraints;
+            this.preDuties = preDuties;
+            this.postDuties = postDuties;
+            this.hash = Objects.hash(actions, constraints, preDuties, postDuties);
+        }
+
+        static CanonicalRule ofRule(Rule rule) {
+            return new CanonicalRule(toSet(rule.getAction(), Function.identity()),
+                toSet(rule.getConstraint(), CanonicalConstraint::new), Set.of(), Set.of());
+        }
+
+        static CanonicalRule ofPermission(Permission permission) {
+            return new CanonicalRule(toSet(permission.getAction(), Function.identity()),
+                toSet(permission.getConstraint(), CanonicalConstraint::new),
+                toSet(permission.getPreDuty(), CanonicalRule::ofRule),
+                toSet(permission.getPostDuty(), CanonicalRule::ofRule));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other)
+                return true;
+
+            if (!(other instanceof CanonicalRule))
+                return false;
+
+            final var rule = (CanonicalRule) other;
+            return hash == rule.hash
+                && actions.equals(rule.actions)
+                && constraints.equals(rule.constraints)
+                && preDuties.equals(rule.preDuties)
+                && postDuties.equals(rule.postDuties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The normalized content of a constraint. The right operand is kept as its lexical value and
+     * datatype, the URIs as strings.
+     */
+    private static final class CanonicalConstraint {
+
+        private final LeftOperand leftOperand;
+        private final BinaryOperator operator;
+        private final String rightOperandValue;
+        private final String rightOperandType;
+        private final String rightOperandReference;
+        private final String unit;
+        private final String pipEndpoint;
+        private final int hash;
+
+        CanonicalConstraint(Constraint constraint) {
+            final var rightOperand = constraint.getRightOperand();
+
+            this.leftOperand = constraint.getLeftOperand();
+            this.operator = constraint.getOperator();
+            this.rightOperandValue = rightOperand == null ? null : rightOperand.getValue();
+            this.rightOperandType = rightOperand == null
+                ? null : Objects.toString(rightOperand.getType(), null);
+            this.rightOperandReference =
+                Objects.toString(constraint.getRightOperandReference(), null);
+            this.unit = Objects.toString(constraint.getUnit(), null);
+            this.pipEndpoint = Objects.toString(constraint.getPipEndpoint(), null);
+            this.hash = Objects.hash(leftOperand, operator, rightOperandValue, rightOperandType,
+                rightOperandReference, unit, pipEndpoint);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other)
+                return true;
+
+            if (!(other instanceof CanonicalConstraint))
+                return false;
+
+            final var constraint = (CanonicalConstraint) other;
+            return hash == constraint.hash
+                && Objects.equals(leftOperand, constraint.leftOperand)
+                && Objects.equals(operator, constraint.operator)
+                && Objects.equals(rightOperandValue, constraint.rightOperandValue)
+                && Objects.equals(rightOperandType, constraint.rightOperandType)
+                && Objects.equals(rightOperandReference, constraint.rightOperandReference)
+                && Objects.equals(unit, constraint.unit)
+                && Objects.equals(pipEndpoint, constraint.pipEndpoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package de.fraunhofer.isst.dataspaceconnector.services.usagecontrol;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal circuit breaker. After a number of consecutive failures the circuit opens and calls
+ * are short-circuited until the open duration has passed. Afterwards, a single trial call is let
+ * through (half-open) and its outcome decides whether the circuit closes again.
+ */
+class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(-1);
+
+    /**
+     * Constructor for CircuitBreaker.
+     *
+     * @param failureThreshold the number of consecutive failures opening the circuit.
+     * @param openDuration     the time in milliseconds the circuit stays open.
+     * @throws IllegalArgumentException if the threshold is smaller than one.
+     */
+    CircuitBreaker(int failureThreshold, long openDuration) throws IllegalArgumentException {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("The failure threshold must be at least 1.");
+
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Checks whether a call may be executed. When the open duration has passed, exactly one
+     * caller is granted a trial call.
+     *
+     * @return true, if the call may be executed.
+     */
+    boolean allowRequest() {
+        final var opened = openedAt.get();
+        if (opened < 0) {
+            return true;
+        }
+
+        final var now = System.currentTimeMillis();
+        // Move the open timestamp forward so concurrent callers stay short-circuited.
+        return now - opened >= openDuration && openedAt.compareAndSet(opened, now);
+    }
+
+    /**
+     * Records a successful call and closes the circuit.
+     */
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(-1);
+    }
+
+    /**
+     * Records a failed call and opens the circuit if the threshold has been reached.
+     */
+    void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return true, if calls are currently short-circuited.
+     */
+    boolean isOpen() {
+        return openedAt.get() >= 0;
+    }
+}
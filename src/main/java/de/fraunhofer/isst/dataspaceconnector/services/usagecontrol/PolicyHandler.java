@@ -5,6 +5,8 @@ import de.fraunhofer.isst.dataspaceconnector.config.PolicyConfiguration;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.RequestFormatException;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.UnsupportedPatternException;
 import de.fraunhofer.isst.dataspaceconnector.model.RequestedResource;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
 import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +30,8 @@ public class PolicyHandler {
     private final PolicyVerifier policyVerifier;
     private final SerializerProvider serializerProvider;
     private final PolicyConfiguration policyConfiguration;
+    private final RemotePolicyDecisionPoint remotePolicyDecisionPoint;
+    private final ConfigurationContainer configurationContainer;
 
     /**
      * Constructor for PolicyHandler.
@@ -37,7 +41,9 @@ public class PolicyHandler {
     @Autowired
     public PolicyHandler(PolicyVerifier policyVerifier,
                          SerializerProvider serializerProvider,
-                         PolicyConfiguration policyConfiguration)
+                         PolicyConfiguration policyConfiguration,
+                         RemotePolicyDecisionPoint remotePolicyDecisionPoint,
+                         ConfigurationContainer configurationContainer)
         throws IllegalArgumentException {
         if (policyVerifier == null)
             throw new IllegalArgumentException("The PolicyVerifier cannot be null.");
@@ -48,9 +54,17 @@ public class PolicyHandler {
         if (policyConfiguration == null)
             throw new IllegalArgumentException("The PolicyConfiguration cannot be null.");
 
+        if (remotePolicyDecisionPoint == null)
+            throw new IllegalArgumentException("The RemotePolicyDecisionPoint cannot be null.");
+
+        if (configurationContainer == null)
+            throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
+
         this.policyVerifier = policyVerifier;
         this.serializerProvider = serializerProvider;
         this.policyConfiguration = policyConfiguration;
+        this.remotePolicyDecisionPoint = remotePolicyDecisionPoint;
+        this.configurationContainer = configurationContainer;
     }
 
     /**
@@ -136,12 +150,14 @@ public class PolicyHandler {
      * Implements the policy restrictions depending on the policy pattern type on data provision (as provider).
      *
      * @param policy the resource's usage policy.
+     * @param issuerConnector the connector requesting the data.
+     * @param resourceId the id of the provided resource.
      * @return whether the data can be provided.
      * @throws UnsupportedPatternException if no pattern could be recognized.
      * @throws RequestFormatException if the string could not be deserialized.
      */
-    public boolean onDataProvision(String policy, URI issuerConnector) throws UnsupportedPatternException,
-        RequestFormatException {
+    public boolean onDataProvision(String policy, URI issuerConnector, URI resourceId)
+        throws UnsupportedPatternException, RequestFormatException {
         switch (policyConfiguration.getUsageControlFramework()) {
             case INTERNAL:
                 switch (getPattern(policy)) {
@@ -157,8 +173,9 @@ public class PolicyHandler {
                     default:
                         return true;
                 }
-            case MYDATA: // TODO
-            case MYDATA_INTERCEPTOR: // TODO
+            case MYDATA:
+            case MYDATA_INTERCEPTOR:
+                return remotePolicyDecisionPoint.decide(policy, resourceId, issuerConnector);
             default:
                 return true;
         }
@@ -177,8 +194,11 @@ public class PolicyHandler {
         switch (policyConfiguration.getUsageControlFramework()) {
             case INTERNAL:
                 break;
-            case MYDATA: // TODO
-            case MYDATA_INTERCEPTOR: // TODO
+            case MYDATA:
+            case MYDATA_INTERCEPTOR:
+                return remotePolicyDecisionPoint.decide(
+                    dataResource.getResourceMetadata().getPolicy(),
+                    getResourceId(dataResource), getConnectorId());
             default:
                 return true;
         }
@@ -213,6 +233,33 @@ public class PolicyHandler {
         }
     }
 
+    /**
+     * Loads the remote decision for a received resource in the background, so the first data
+     * access does not wait for the policy decision point. Does nothing for the internal framework.
+     *
+     * @param dataResource the received resource.
+     */
+    public void prefetchDataAccess(RequestedResource dataResource) {
+        switch (policyConfiguration.getUsageControlFramework()) {
+            case MYDATA:
+            case MYDATA_INTERCEPTOR:
+                remotePolicyDecisionPoint.prefetch(dataResource.getResourceMetadata().getPolicy(),
+                    getResourceId(dataResource), getConnectorId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private URI getResourceId(RequestedResource dataResource) {
+        return IdsUtils.getResourceUri(dataResource.getUuid());
+    }
+
+    private URI getConnectorId() {
+        final var connector = configurationContainer.getConnector();
+        return connector != null ? connector.getId() : null;
+    }
+
     public enum Pattern {
         /**
          * Standard pattern to allow unrestricted access.
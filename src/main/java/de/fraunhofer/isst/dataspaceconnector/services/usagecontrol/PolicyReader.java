@@ -3,10 +3,10 @@ package de.fraunhofer.isst.dataspaceconnector.services.usagecontrol;
 import de.fraunhofer.iais.eis.BinaryOperator;
 import de.fraunhofer.iais.eis.Constraint;
 import de.fraunhofer.iais.eis.Rule;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.TimeUtils;
 import org.springframework.stereotype.Component;
 
 import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.Duration;
 import java.net.URI;
 import java.text.ParseException;
@@ -110,7 +110,7 @@ public class PolicyReader {
         Constraint constraint = rule.getConstraint().get(0);
         if (constraint.getRightOperand().getType().equals("xsd:duration")) {
             String duration = constraint.getRightOperand().getValue();
-            return DatatypeFactory.newInstance().newDuration(duration);
+            return TimeUtils.getDuration(duration);
         } else {
             return null;
         }
@@ -0,0 +1,255 @@
+package de.fraunhofer.isst.dataspaceconnector.services.usagecontrol;
+
+import de.fraunhofer.isst.dataspaceconnector.config.UsageControlConfiguration;
+import okhttp3.ConnectionPool;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class asks an external policy decision point (e.g. a MY DATA engine) whether a resource
+ * may be used by a consumer. Decisions are cached per (policy, resource, consumer) for a
+ * configurable time and refreshed in the background shortly before they expire, so the remote
+ * engine is not contacted on every request. Consecutive failures open a circuit breaker, during
+ * which the configured fallback decision is returned. Expired decisions are only used instead of
+ * the fallback if stale-if-error allows it, and only for that long after they expired.
+ */
+@Component
+public class RemotePolicyDecisionPoint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemotePolicyDecisionPoint.class);
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final UsageControlConfiguration configuration;
+    private final OkHttpClient client;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor prefetchExecutor;
+
+    private final Map<DecisionKey, CachedDecision> cache;
+    private final Set<DecisionKey> pendingPrefetches = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for RemotePolicyDecisionPoint.
+     *
+     * @throws IllegalArgumentException if any of the parameters is null.
+     */
+    @Autowired
+    public RemotePolicyDecisionPoint(UsageControlConfiguration configuration)
+        throws IllegalArgumentException {
+        if (configuration == null)
+            throw new IllegalArgumentException("The UsageControlConfiguration cannot be null.");
+
+        this.configuration = configuration;
+        // Least recently used decisions are evicted first, so a full cache does not cause a
+        // burst of requests to the policy decision point.
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DecisionKey, CachedDecision> eldest) {
+                return size() > configuration.getCacheMaxSize();
+            }
+        });
+        this.client = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(configuration.getMaxIdleConnections(), 5,
+                TimeUnit.MINUTES))
+            .callTimeout(configuration.getTimeout(), TimeUnit.MILLISECONDS)
+            .build();
+        this.circuitBreaker = new CircuitBreaker(configuration.getBreakerFailureThreshold(),
+            configuration.getBreakerOpenDuration());
+        this.prefetchExecutor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(256), runnable -> {
+                final var thread = new Thread(runnable, "pdp-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Returns the decision of the remote policy decision point. Cached decisions are used while
+     * they are valid, and are refreshed asynchronously when they are about to expire.
+     *
+     * @param policy   the usage policy.
+     * @param resource the resource the policy is attached to.
+     * @param consumer the connector using the resource.
+     * @return true, if the usage is permitted.
+     */
+    public boolean decide(String policy, URI resource, URI consumer) {
+        final var key = new DecisionKey(policy, resource, consumer);
+        final var now = System.currentTimeMillis();
+
+        final var cached = cache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            if (cached.expiresAt - now <= configuration.getCacheRefreshAhead()) {
+                prefetch(key);
+            }
+            return cached.permitted;
+        }
+
+        return fetchAndCache(key, cached);
+    }
+
+    /**
+     * Asynchronously loads the decision into the cache, so a later call to
+     * {@link #decide(String, URI, URI)} does not pay the round-trip.
+     *
+     * @param policy   the usage policy.
+     * @param resource the resource the policy is attached to.
+     * @param consumer the connector using the resource.
+     */
+    public void prefetch(String policy, URI resource, URI consumer) {
+        prefetch(new DecisionKey(policy, resource, consumer));
+    }
+
+    /**
+     * Removes all cached decisions.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdownNow();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private void prefetch(DecisionKey key) {
+        if (!pendingPrefetches.add(key)) {
+            // Already queued.
+            return;
+        }
+
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    fetchAndCache(key, cache.get(key));
+                } finally {
+                    pendingPrefetches.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            pendingPrefetches.remove(key);
+            LOGGER.debug("Skipped decision prefetch. [exception=({})]", exception.getMessage());
+        }
+    }
+
+    private boolean fetchAndCache(DecisionKey key, CachedDecision stale) {
+        if (!circuitBreaker.allowRequest()) {
+            LOGGER.debug("Policy decision point circuit is open. Using fallback decision.");
+            return fallback(stale);
+        }
+
+        try {
+            final var permitted = requestDecision(key);
+            circuitBreaker.recordSuccess();
+            store(key, permitted);
+            return permitted;
+        } catch (IOException | JSONException exception) {
+            circuitBreaker.recordFailure();
+            LOGGER.warn("Could not get a decision from the policy decision point. "
+                + "[url=({}), exception=({})]", configuration.getPdpUrl(), exception.getMessage());
+            return fallback(stale);
+        }
+    }
+
+    /**
+     * Returns the decision to use when the policy decision point cannot be asked. An expired
+     * decision is only used within the stale-if-error period, so revoked permissions do not stay
+     * granted while the policy decision point is down.
+     */
+    private boolean fallback(CachedDecision stale) {
+        final var staleIfError = configuration.getStaleIfError();
+        if (stale != null && staleIfError > 0
+            && stale.expiresAt + staleIfError > System.currentTimeMillis()) {
+            return stale.permitted;
+        }
+
+        return configuration.isFallbackDecision();
+    }
+
+    private boolean requestDecision(DecisionKey key) throws IOException, JSONException {
+        final var body = new JSONObject()
+            .put("policy", key.policy)
+            .put("resource", String.valueOf(key.resource))
+            .put("consumer", String.valueOf(key.consumer));
+
+        final var request = new Request.Builder()
+            .url(configuration.getPdpUrl())
+            .post(RequestBody.create(body.toString(), JSON))
+            .build();
+
+        try (var response = client.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Unexpected response code " + response.code() + ".");
+            }
+
+            final var decision = new JSONObject(response.body().string()).getString("decision");
+            return "permit".equalsIgnoreCase(decision);
+        }
+    }
+
+    private void store(DecisionKey key, boolean permitted) {
+        cache.put(key, new CachedDecision(permitted,
+            System.currentTimeMillis() + configuration.getCacheTtl()));
+    }
+
+    private static final class DecisionKey {
+        private final String policy;
+        private final URI resource;
+        private final URI consumer;
+        private final int hash;
+
+        private DecisionKey(String policy, URI resource, URI consumer) {
+            this.policy = policy;
+            this.resource = resource;
+            this.consumer = consumer;
+            this.hash = Objects.hash(policy, resource, consumer);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DecisionKey)) return false;
+            final var other = (DecisionKey) o;
+            return hash == other.hash && Objects.equals(resource, other.resource)
+                && Objects.equals(consumer, other.consumer) && Objects.equals(policy, other.policy);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CachedDecision {
+        private final boolean permitted;
+        private final long expiresAt;
+
+        private CachedDecision(boolean permitted, long expiresAt) {
+            this.permitted = permitted;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
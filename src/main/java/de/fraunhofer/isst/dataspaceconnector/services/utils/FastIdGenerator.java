@@ -0,0 +1,28 @@
+package de.fraunhofer.isst.dataspaceconnector.services.utils;
+
+import org.springframework.util.IdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random version 4 UUIDs from the thread-local random number generator. Unlike
+ * {@link UUID#randomUUID()} it does not share a {@link java.security.SecureRandom} between
+ * threads, but the UUIDs are not suitable as secrets. Use it for ids that are only used for
+ * correlation, like trace ids.
+ */
+public class FastIdGenerator implements IdGenerator {
+
+    /**
+     * Generates a new UUID.
+     *
+     * @return the UUID.
+     */
+    @Override
+    public UUID generateId() {
+        final var random = ThreadLocalRandom.current();
+        final var mostSigBits = random.nextLong() & 0xFFFF_FFFF_FFFF_0FFFL | 0x4000L;
+        final var leastSigBits = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | Long.MIN_VALUE;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,62 @@
+package de.fraunhofer.isst.dataspaceconnector.services.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes the conversion of dates to XMLGregorianCalendar, keyed by the timestamp. Resources keep
+ * their created and modified dates until they are updated, so building the self-description
+ * repeatedly converts the same timestamps.
+ *
+ * <p>The returned calendars are shared and must not be modified. When the cache is full it is
+ * cleared, which is cheaper than tracking the least recently used entries.</p>
+ */
+public class GregorianCalendarCache {
+
+    private final int maxSize;
+    private final Map<Long, XMLGregorianCalendar> calendars;
+
+    /**
+     * Constructor for GregorianCalendarCache.
+     *
+     * @param maxSize The maximum number of cached timestamps. Set to 0 to disable caching.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public GregorianCalendarCache(int maxSize) throws IllegalArgumentException {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("The maximum size cannot be negative.");
+
+        this.maxSize = maxSize;
+        this.calendars = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Converts a date to XMLGregorianCalendar format. See {@link TimeUtils#getGregorianOf(Date)}.
+     *
+     * @param date the date object.
+     * @return the shared XMLGregorianCalendar object.
+     */
+    public XMLGregorianCalendar getGregorianOf(@NotNull Date date) {
+        if (maxSize == 0) {
+            return TimeUtils.getGregorianOf(date);
+        }
+
+        final var timestamp = date.getTime();
+        final var cached = calendars.get(timestamp);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (calendars.size() >= maxSize) {
+            calendars.clear();
+        }
+
+        final var calendar = TimeUtils.getGregorianOf(date);
+        calendars.put(timestamp, calendar);
+        return calendar;
+    }
+}
@@ -11,17 +11,16 @@ import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.UUID;
 
 /**
  * This class provides methods to map local connector models to IDS Information Model objects.
@@ -31,17 +30,36 @@ public class IdsUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IdsUtils.class);
 
+    /**
+     * The prefix of the Information Model ids of the resources.
+     */
+    private static final String RESOURCE_PREFIX = "https://w3id.org/idsa/autogen/resource/";
+
     private final ConfigurationContainer configurationContainer;
     private final SerializerProvider serializerProvider;
+    private final GregorianCalendarCache calendarCache;
 
     /**
      * Constructor for IdsUtils.
      *
      * @throws IllegalArgumentException if any of the parameters is null.
      */
-    @Autowired
     public IdsUtils(ConfigurationContainer configurationContainer,
         SerializerProvider serializerProvider) throws IllegalArgumentException {
+        this(configurationContainer, serializerProvider, 0);
+    }
+
+    /**
+     * Constructor for IdsUtils.
+     *
+     * @param dateCacheSize the number of timestamps whose conversion is cached, 0 to disable.
+     * @throws IllegalArgumentException if any of the parameters is null or the size is negative.
+     */
+    @Autowired
+    public IdsUtils(ConfigurationContainer configurationContainer,
+        SerializerProvider serializerProvider,
+        @Value("${resource.date-cache-size:10000}") int dateCacheSize)
+        throws IllegalArgumentException {
         if (configurationContainer == null)
             throw new IllegalArgumentException("The ConfigurationContainer cannot be null.");
 
@@ -50,6 +68,17 @@ public class IdsUtils {
 
         this.configurationContainer = configurationContainer;
         this.serializerProvider = serializerProvider;
+        this.calendarCache = new GregorianCalendarCache(dateCacheSize);
+    }
+
+    /**
+     * Returns the Information Model id of a resource.
+     *
+     * @param resourceId the id of the connector resource.
+     * @return the id of the Information Model resource.
+     */
+    public static URI getResourceUri(UUID resourceId) {
+        return URI.create(RESOURCE_PREFIX + resourceId);
     }
 
     /**
@@ -142,8 +171,7 @@ public class IdsUtils {
 
         // Build the ids resource.
         try {
-            return new ResourceBuilder(
-                URI.create("https://w3id.org/idsa/autogen/resource/" + resource.getUuid()))
+            return new ResourceBuilder(getResourceUri(resource.getUuid()))
                 ._contractOffer_(contracts)
                 ._created_(getGregorianOf(resource.getCreated()))
                 ._description_(Util.asList(new TypedLiteral(metadata.getDescription(), language)))
@@ -164,20 +192,14 @@ public class IdsUtils {
     }
 
     /**
-     * Converts a date to XMLGregorianCalendar format.
+     * Converts a date to XMLGregorianCalendar format. Conversions of recent timestamps are cached,
+     * the returned object must not be modified.
      *
      * @param date the date object.
-     * @return the XMLGregorianCalendar object or null.
+     * @return the XMLGregorianCalendar object.
      */
     public XMLGregorianCalendar getGregorianOf(Date date) {
-        GregorianCalendar c = new GregorianCalendar();
-        c.setTime(date);
-        try {
-            return DatatypeFactory.newInstance().newXMLGregorianCalendar(c);
-        } catch (DatatypeConfigurationException exception) {
-            // Rethrow but do not register in function header
-            throw new RuntimeException(exception);
-        }
+        return calendarCache.getGregorianOf(date);
     }
 
     /**
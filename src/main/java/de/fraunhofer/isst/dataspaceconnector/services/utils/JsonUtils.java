@@ -0,0 +1,25 @@
+package de.fraunhofer.isst.dataspaceconnector.services.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This class holds the {@link ObjectMapper} shared by the connector. Creating a mapper is
+ * expensive and every instance builds its own serializer caches, while a configured mapper is
+ * thread-safe. The mapper must therefore not be reconfigured after startup.
+ */
+public final class JsonUtils {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JsonUtils() {
+    }
+
+    /**
+     * Returns the shared object mapper.
+     *
+     * @return the object mapper.
+     */
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+}
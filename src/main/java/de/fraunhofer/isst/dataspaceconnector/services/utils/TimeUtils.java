@@ -0,0 +1,75 @@
+package de.fraunhofer.isst.dataspaceconnector.services.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * This class offers support functions for converting dates to the XML types used by the IDS
+ * Information Model. The {@link DatatypeFactory} is looked up once, since
+ * {@link DatatypeFactory#newInstance()} searches the classpath for a service provider on every
+ * call. The factory only creates new objects, so it can be shared between threads.
+ */
+public final class TimeUtils {
+
+    private static final DatatypeFactory DATATYPE_FACTORY = createDatatypeFactory();
+
+    private TimeUtils() {
+    }
+
+    /**
+     * Gets the current time as XMLGregorianCalendar.
+     *
+     * @return the XMLGregorianCalendar object.
+     */
+    public static XMLGregorianCalendar getGregorianNow() {
+        return DATATYPE_FACTORY.newXMLGregorianCalendar(new GregorianCalendar());
+    }
+
+    /**
+     * Converts a date to XMLGregorianCalendar format.
+     *
+     * @param date the date object.
+     * @return the XMLGregorianCalendar object.
+     */
+    public static XMLGregorianCalendar getGregorianOf(@NotNull Date date) {
+        final var calendar = new GregorianCalendar();
+        calendar.setTime(date);
+        return DATATYPE_FACTORY.newXMLGregorianCalendar(calendar);
+    }
+
+    /**
+     * Converts a XMLGregorianCalendar to a date.
+     *
+     * @param calendar the XMLGregorianCalendar object or null.
+     * @return the date object or null.
+     */
+    public static Date getDateOf(XMLGregorianCalendar calendar) {
+        return calendar == null ? null : calendar.toGregorianCalendar().getTime();
+    }
+
+    /**
+     * Parses a duration in the lexical format of xsd:duration.
+     *
+     * @param duration the duration string.
+     * @return the duration object.
+     * @throws IllegalArgumentException if the string is not a valid duration.
+     */
+    public static Duration getDuration(@NotNull String duration) throws IllegalArgumentException {
+        return DATATYPE_FACTORY.newDuration(duration);
+    }
+
+    private static DatatypeFactory createDatatypeFactory() {
+        try {
+            return DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException exception) {
+            // Without a factory no message can be built.
+            throw new IllegalStateException("No DatatypeFactory is available.", exception);
+        }
+    }
+}
@@ -16,6 +16,17 @@ import java.util.regex.Pattern;
  */
 public class UUIDUtils {
 
+    /**
+     * The pattern of a UUID in its string representation.
+     */
+    private static final Pattern UUID_PATTERN = Pattern
+        .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+
+    /**
+     * The length of a UUID in its string representation.
+     */
+    private static final int UUID_LENGTH = 36;
+
     /**
      * Finds all UUIDs in a string.
      *
@@ -23,9 +34,7 @@ public class UUIDUtils {
      * @return the list of found UUIDs.
      */
     public static List<String> findUuids(@NotNull String input) {
-        final var pairRegex = Pattern
-            .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
-        final var matcher = pairRegex.matcher(input);
+        final var matcher = UUID_PATTERN.matcher(input);
 
         // Extract all UUIDs
         var output = new ArrayList<String>();
@@ -65,20 +74,124 @@ public class UUIDUtils {
      */
     public static UUID uuidFromUri(@NotNull URI uri, int index) throws UUIDFormatException,
         IndexOutOfBoundsException {
-        // Find all uuids in the uri
-        final var uuids = findUuids(uri.toString());
+        // The string representation is cached by the uri.
+        final var input = uri.toString();
 
-        // Get only the uuid needed
-        final var stringUuid = uuids.get(index < 0 ? uuids.size() - 1 : index);
+        final var start = index < 0 ? findLastUuid(input) : findUuid(input, index);
+        if (start < 0) {
+            throw new IndexOutOfBoundsException("No uuid could be found at index " + index + ".");
+        }
 
-        // Convert the string to uuid element
-        try {
-            return UUID.fromString(stringUuid);
-        } catch (IllegalArgumentException exception) {
-            // This exception should never be thrown since the pattern matcher (in splitUuids)
-            // found the uuid.
-            throw new UUIDFormatException("Could not convert string to uuid. This indicates a " +
-                "problem with the uuid pattern.", exception);
+        return parseUuid(input, start);
+    }
+
+    /**
+     * Finds the start of the UUID at a given position. Behaves like {@link #findUuids} without
+     * collecting the UUIDs.
+     *
+     * @param input the string to search.
+     * @param index the index of the UUID. Set to a negative number to find the last UUID.
+     * @return the start of the UUID or -1 if there are not enough UUIDs.
+     */
+    private static int findUuid(String input, int index) {
+        var found = 0;
+        var last = -1;
+        var start = 0;
+        while (start <= input.length() - UUID_LENGTH) {
+            if (isUuidAt(input, start)) {
+                if (found == index) {
+                    return start;
+                }
+
+                found++;
+                last = start;
+                start += UUID_LENGTH;
+            } else {
+                start++;
+            }
+        }
+
+        return index < 0 ? last : -1;
+    }
+
+    /**
+     * Finds the start of the last UUID, scanning from the end of the string.
+     *
+     * @param input the string to search.
+     * @return the start of the UUID or -1 if there is none.
+     */
+    private static int findLastUuid(String input) {
+        var start = input.length() - UUID_LENGTH;
+        while (start >= 0 && !isUuidAt(input, start)) {
+            start--;
+        }
+
+        if (start < 0) {
+            return -1;
+        }
+
+        // A UUID can only overlap another one starting 28 to 35 characters before it, inside its
+        // last group. As the pattern matches from the start, the earlier UUID would win. In this
+        // rare case fall back to matching from the start.
+        for (var other = Math.max(start - UUID_LENGTH + 1, 0); other <= start - 28; other++) {
+            if (isUuidAt(input, other)) {
+                return findUuid(input, -1);
+            }
+        }
+
+        return start;
+    }
+
+    private static boolean isUuidAt(String input, int start) {
+        // Check the hyphens first, they rule out most positions.
+        if (input.charAt(start + 8) != '-' || input.charAt(start + 13) != '-'
+            || input.charAt(start + 18) != '-' || input.charAt(start + 23) != '-') {
+            return false;
+        }
+
+        for (var i = 0; i < UUID_LENGTH; i++) {
+            if (i != 8 && i != 13 && i != 18 && i != 23
+                && hexValue(input.charAt(start + i)) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static UUID parseUuid(String input, int start) {
+        final var mostSigBits = parseHex(input, start, start + 8) << 32
+            | parseHex(input, start + 9, start + 13) << 16
+            | parseHex(input, start + 14, start + 18);
+        final var leastSigBits = parseHex(input, start + 19, start + 23) << 48
+            | parseHex(input, start + 24, start + UUID_LENGTH);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long parseHex(String input, int start, int end) {
+        var value = 0L;
+        for (var i = start; i < end; i++) {
+            value = value << 4 | hexValue(input.charAt(i));
+        }
+        return value;
+    }
+
+    /**
+     * Converts an ASCII hex digit, like {@code \p{XDigit}}. Unlike
+     * {@link Character#digit(char, int)} no other unicode digits are accepted.
+     *
+     * @param c the character.
+     * @return the value of the digit or -1 if the character is no hex digit.
+     */
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        } else {
+            return -1;
         }
     }
 
@@ -0,0 +1,87 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.DynamicAttributeToken;
+import de.fraunhofer.isst.dataspaceconnector.config.BrokerQueryConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.controller.BrokerController;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import de.fraunhofer.isst.ids.framework.communication.broker.IDSBrokerService;
+import de.fraunhofer.isst.ids.framework.configuration.ConfigurationContainer;
+import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
+import java.io.ByteArrayInputStream;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class BrokerControllerTests {
+
+    private static final String BROKER = "https://broker.example.com";
+
+    private IDSBrokerService brokerService;
+    private BrokerController controller;
+
+    @Before
+    public void setup() {
+        final var tokenProvider = Mockito.mock(DapsTokenProvider.class);
+        Mockito.when(tokenProvider.getDAT()).thenReturn(Mockito.mock(DynamicAttributeToken.class));
+        brokerService = Mockito.mock(IDSBrokerService.class);
+
+        final var configuration = new BrokerQueryConfiguration();
+        configuration.setMaxResponseSize(DataSize.ofBytes(10000));
+        configuration.setMaxPageSize(100);
+
+        controller = new BrokerController(tokenProvider, Mockito.mock(ConfigurationContainer.class),
+            Mockito.mock(OfferedResourceServiceImpl.class), brokerService, configuration);
+    }
+
+    /**
+     * Creates a broker response without a content length, so the size is only known while it is
+     * streamed.
+     */
+    private static Response response(int size) {
+        final var source = Okio.buffer(Okio.source(new ByteArrayInputStream(new byte[size])));
+        return new Response.Builder()
+            .request(new Request.Builder().url(BROKER).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(source, null, -1))
+            .build();
+    }
+
+    @Test
+    public void streamsResponseWithinLimit() throws Exception {
+        Mockito.when(brokerService.queryBroker(any(), any(), any(), any(), any()))
+            .thenReturn(response(5000));
+        final var servletResponse = new MockHttpServletResponse();
+
+        final var result = controller.queryBroker(BROKER, null, null, "SELECT", servletResponse);
+
+        Assert.assertNull(result);
+        Assert.assertEquals(5000, servletResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void dropsPartialResponseOverLimit() throws Exception {
+        Mockito.when(brokerService.queryBroker(any(), any(), any(), any(), any()))
+            .thenReturn(response(20000));
+        final var servletResponse = new MockHttpServletResponse();
+        // Keep the partial result in the buffer, so the response is not committed yet.
+        servletResponse.setBufferSize(65536);
+
+        final var result = controller.queryBroker(BROKER, null, null, "SELECT", servletResponse);
+
+        Assert.assertEquals(HttpStatus.BAD_GATEWAY, result.getStatusCode());
+        Assert.assertEquals(0, servletResponse.getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,128 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.DynamicAttributeToken;
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.iais.eis.ResourceBuilder;
+import de.fraunhofer.isst.dataspaceconnector.config.BrokerSyncConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.broker.BrokerSyncService;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import de.fraunhofer.isst.ids.framework.communication.broker.IDSBrokerService;
+import de.fraunhofer.isst.ids.framework.daps.DapsTokenProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class BrokerSyncServiceTests {
+
+    private static final String BROKER = "https://broker.example.com";
+
+    private IDSBrokerService brokerService;
+    private OfferedResourceRepository repository;
+    private BrokerSyncConfiguration configuration;
+    private BrokerSyncService syncService;
+    private OfferedResource resource;
+
+    private static Response response(int code) {
+        return new Response.Builder()
+            .request(new Request.Builder().url(BROKER).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .body(ResponseBody.create("", (MediaType) null))
+            .build();
+    }
+
+    @Before
+    public void setup() {
+        brokerService = Mockito.mock(IDSBrokerService.class);
+        repository = Mockito.mock(OfferedResourceRepository.class);
+
+        final var tokenProvider = Mockito.mock(DapsTokenProvider.class);
+        Mockito.when(tokenProvider.getDAT()).thenReturn(Mockito.mock(DynamicAttributeToken.class));
+
+        resource = new OfferedResource(UUID.randomUUID(), new Date(), new Date(), null, null);
+        final Resource idsResource = new ResourceBuilder(
+            URI.create("https://w3id.org/idsa/autogen/resource/" + resource.getUuid())).build();
+        final var idsUtils = Mockito.mock(IdsUtils.class);
+        Mockito.when(idsUtils.getAsResource(resource)).thenReturn(idsResource);
+
+        configuration = new BrokerSyncConfiguration();
+        configuration.setEnabled(true);
+        configuration.setBrokers(List.of(BROKER));
+        configuration.setBatchSize(100);
+        configuration.setConcurrency(1);
+        configuration.setMaxRetries(0);
+        configuration.setRetryDelay(Duration.ofMillis(1));
+        configuration.setWatermarkSkew(Duration.ofSeconds(10));
+
+        syncService = new BrokerSyncService(brokerService, tokenProvider, repository, idsUtils,
+            configuration);
+    }
+
+    @After
+    public void shutdown() {
+        syncService.shutdown();
+    }
+
+    private List<Date> queriedSince() {
+        final var since = ArgumentCaptor.forClass(Date.class);
+        Mockito.verify(repository, Mockito.atLeastOnce())
+            .findModifiedSince(since.capture(), any(Pageable.class));
+        return since.getAllValues();
+    }
+
+    @Test
+    public void overlapsTheLastSynchronization() throws Exception {
+        Mockito.when(repository.findModifiedSince(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(resource));
+        Mockito.when(brokerService.updateResourceAtBroker(eq(BROKER), any()))
+            .thenAnswer(invocation -> response(200));
+
+        final var before = System.currentTimeMillis();
+        syncService.synchronize();
+        syncService.synchronize();
+
+        final var since = queriedSince();
+        Assert.assertEquals(new Date(0), since.get(0));
+        // The second window starts before the first synchronization did.
+        Assert.assertTrue(since.get(1).getTime() < before);
+        Assert.assertTrue(since.get(1).getTime() >= before - 10000);
+    }
+
+    @Test
+    public void retriesFailedUpdates() throws Exception {
+        Mockito.when(repository.findModifiedSince(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(resource));
+        Mockito.when(brokerService.updateResourceAtBroker(eq(BROKER), any()))
+            .thenAnswer(invocation -> response(500))
+            .thenAnswer(invocation -> response(200));
+
+        syncService.synchronize();
+        syncService.synchronize();
+
+        // The failed update kept the watermark, so the resource was selected again.
+        final var since = queriedSince();
+        Assert.assertEquals(new Date(0), since.get(0));
+        Assert.assertEquals(new Date(0), since.get(1));
+        Mockito.verify(brokerService, Mockito.times(2)).updateResourceAtBroker(eq(BROKER), any());
+    }
+}
@@ -0,0 +1,91 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.Action;
+import de.fraunhofer.iais.eis.BinaryOperator;
+import de.fraunhofer.iais.eis.Constraint;
+import de.fraunhofer.iais.eis.ConstraintBuilder;
+import de.fraunhofer.iais.eis.ContractOfferBuilder;
+import de.fraunhofer.iais.eis.ContractRequestBuilder;
+import de.fraunhofer.iais.eis.LeftOperand;
+import de.fraunhofer.iais.eis.PermissionBuilder;
+import de.fraunhofer.iais.eis.ProhibitionBuilder;
+import de.fraunhofer.iais.eis.util.RdfResource;
+import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.CanonicalContract;
+import java.net.URI;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CanonicalContractTests {
+
+    private static final URI ARTIFACT = URI.create("https://w3id.org/idsa/autogen/artifact/1");
+
+    private static Constraint constraint(BinaryOperator operator, String date) {
+        return new ConstraintBuilder()
+            ._leftOperand_(LeftOperand.POLICY_EVALUATION_TIME)
+            ._operator_(operator)
+            ._rightOperand_(new RdfResource(date, URI.create("xsd:dateTimeStamp")))
+            .build();
+    }
+
+    @Test
+    public void ignoresOrderAndIds() {
+        final var offer = new ContractOfferBuilder()
+            ._permission_(Util.asList(new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._constraint_(Util.asList(
+                    constraint(BinaryOperator.AFTER, "2020-07-11T00:00:00Z"),
+                    constraint(BinaryOperator.BEFORE, "2020-08-11T00:00:00Z")))
+                .build()))
+            .build();
+        final var request = new ContractRequestBuilder()
+            ._permission_(Util.asList(new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._target_(ARTIFACT)
+                ._constraint_(Util.asList(
+                    constraint(BinaryOperator.BEFORE, "2020-08-11T00:00:00Z"),
+                    constraint(BinaryOperator.AFTER, "2020-07-11T00:00:00Z")))
+                .build()))
+            .build();
+
+        Assert.assertEquals(CanonicalContract.of(offer), CanonicalContract.of(request));
+        Assert.assertEquals(CanonicalContract.of(offer).hashCode(),
+            CanonicalContract.of(request).hashCode());
+    }
+
+    @Test
+    public void detectsChangedConstraint() {
+        final var offer = new ContractOfferBuilder()
+            ._permission_(Util.asList(new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._constraint_(Util.asList(
+                    constraint(BinaryOperator.AFTER, "2020-07-11T00:00:00Z")))
+                .build()))
+            .build();
+        final var request = new ContractRequestBuilder()
+            ._permission_(Util.asList(new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                ._constraint_(Util.asList(
+                    constraint(BinaryOperator.AFTER, "2020-01-01T00:00:00Z")))
+                .build()))
+            .build();
+
+        Assert.assertNotEquals(CanonicalContract.of(offer), CanonicalContract.of(request));
+    }
+
+    @Test
+    public void distinguishesRuleTypes() {
+        final var offer = new ContractOfferBuilder()
+            ._permission_(Util.asList(new PermissionBuilder()
+                ._action_(Util.asList(Action.USE))
+                .build()))
+            .build();
+        final var request = new ContractRequestBuilder()
+            ._prohibition_(Util.asList(new ProhibitionBuilder()
+                ._action_(Util.asList(Action.USE))
+                .build()))
+            .build();
+
+        Assert.assertNotEquals(CanonicalContract.of(offer), CanonicalContract.of(request));
+    }
+}
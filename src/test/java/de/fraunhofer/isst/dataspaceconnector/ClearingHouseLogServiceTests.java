@@ -0,0 +1,133 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ClearingHouseConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.message.MessageNotSentException;
+import de.fraunhofer.isst.dataspaceconnector.model.ClearingHouseLogEntry;
+import de.fraunhofer.isst.dataspaceconnector.model.ClearingHouseLogEntry.Status;
+import de.fraunhofer.isst.dataspaceconnector.repositories.ClearingHouseLogRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.ClearingHouseLogService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.LogMessageService;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class ClearingHouseLogServiceTests {
+
+    private LogMessageService logMessageService;
+    private ClearingHouseLogRepository repository;
+    private ClearingHouseConfiguration configuration;
+    private ClearingHouseLogService service;
+    private ClearingHouseLogEntry entry;
+
+    @Before
+    public void setup() {
+        logMessageService = Mockito.mock(LogMessageService.class);
+        repository = Mockito.mock(ClearingHouseLogRepository.class);
+
+        configuration = new ClearingHouseConfiguration();
+        configuration.setEnabled(true);
+        configuration.setBatchSize(50);
+        configuration.setRetryDelay(Duration.ofSeconds(1));
+        configuration.setMaxRetryDelay(Duration.ofHours(1));
+        configuration.setMaxAttempts(3);
+
+        service = new ClearingHouseLogService(logMessageService, repository, configuration);
+
+        entry = new ClearingHouseLogEntry(UUID.randomUUID(), "agreement");
+        Mockito.when(repository.findByStatusAndNextAttemptLessThanEqualOrderByNextAttemptAsc(
+            eq(Status.PENDING), any(), any())).thenReturn(List.of(entry), List.of());
+
+        Mockito.when(logMessageService.sendRequestMessage("agreement"))
+            .thenReturn(Map.of("header", "response-header", "payload", ""));
+        Mockito.when(logMessageService.getResponseType("response-header"))
+            .thenReturn(ResponseType.MESSAGE_PROCESSED_NOTIFICATION);
+    }
+
+    @After
+    public void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void storesMessagesAsPending() {
+        service.log("agreement");
+
+        final var saved = ArgumentCaptor.forClass(ClearingHouseLogEntry.class);
+        Mockito.verify(repository).save(saved.capture());
+        Assert.assertEquals("agreement", saved.getValue().getPayload());
+        Assert.assertEquals(Status.PENDING, saved.getValue().getStatus());
+        Assert.assertEquals(0, saved.getValue().getAttempts());
+    }
+
+    @Test
+    public void logsNothingIfDisabled() {
+        configuration.setEnabled(false);
+
+        service.log("agreement");
+        service.schedule();
+
+        Mockito.verifyNoInteractions(repository, logMessageService);
+    }
+
+    @Test
+    public void deletesDeliveredMessages() {
+        service.drain();
+
+        Mockito.verify(logMessageService).sendRequestMessage("agreement");
+        Mockito.verify(repository).deleteAll(List.of(entry));
+    }
+
+    @Test
+    public void postponesFailedMessages() {
+        Mockito.when(logMessageService.sendRequestMessage("agreement"))
+            .thenThrow(new MessageNotSentException("Message could not be sent."));
+
+        final var before = System.currentTimeMillis();
+        service.drain();
+
+        Assert.assertEquals(Status.PENDING, entry.getStatus());
+        Assert.assertEquals(1, entry.getAttempts());
+        Assert.assertTrue(entry.getNextAttempt().after(new Date(before)));
+        Assert.assertEquals("Message could not be sent.", entry.getLastError());
+        Mockito.verify(repository).save(entry);
+        Mockito.verify(repository).deleteAll(List.of());
+    }
+
+    @Test
+    public void postponesRejectedMessages() {
+        Mockito.when(logMessageService.getResponseType("response-header"))
+            .thenReturn(ResponseType.REJECTION);
+
+        service.drain();
+
+        Assert.assertEquals(Status.PENDING, entry.getStatus());
+        Assert.assertEquals(1, entry.getAttempts());
+        Mockito.verify(repository).save(entry);
+        Mockito.verify(repository).deleteAll(List.of());
+    }
+
+    @Test
+    public void marksMessagesAsFailedAfterMaxAttempts() {
+        entry.setAttempts(2);
+        Mockito.when(logMessageService.sendRequestMessage("agreement"))
+            .thenThrow(new MessageNotSentException("Message could not be sent."));
+
+        service.drain();
+
+        Assert.assertEquals(Status.FAILED, entry.getStatus());
+        Assert.assertEquals(3, entry.getAttempts());
+        Mockito.verify(repository).save(entry);
+    }
+}
@@ -0,0 +1,231 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.ContractAgreementMessage;
+import de.fraunhofer.iais.eis.ContractRequest;
+import de.fraunhofer.iais.eis.Message;
+import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
+import de.fraunhofer.isst.dataspaceconnector.config.NegotiationConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.exceptions.contract.ContractException;
+import de.fraunhofer.isst.dataspaceconnector.model.ContractNegotiation;
+import de.fraunhofer.isst.dataspaceconnector.model.ContractNegotiation.Status;
+import de.fraunhofer.isst.dataspaceconnector.repositories.ContractNegotiationRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.ContractNegotiationService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.MessageService.ResponseType;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.NegotiationService;
+import de.fraunhofer.isst.dataspaceconnector.services.messages.implementation.ContractMessageService;
+import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+public class ContractNegotiationServiceTests {
+
+    private static final URI RECIPIENT = URI.create("https://provider.example.com/api/ids/data");
+    private static final URI ARTIFACT = URI.create("https://w3id.org/idsa/autogen/artifact/1");
+    private static final URI REQUEST_MESSAGE = URI.create("https://w3id.org/idsa/autogen/message/1");
+
+    private final Map<UUID, ContractNegotiation> negotiations = new ConcurrentHashMap<>();
+
+    private ContractNegotiationRepository repository;
+    private NegotiationService negotiationService;
+    private ContractMessageService messageService;
+    private ContractAgreementMessage agreementMessage;
+    private ContractNegotiationService service;
+
+    @Before
+    public void setup() throws Exception {
+        repository = Mockito.mock(ContractNegotiationRepository.class);
+        Mockito.when(repository.save(any())).thenAnswer(invocation -> {
+            final ContractNegotiation negotiation = invocation.getArgument(0);
+            negotiations.put(negotiation.getUuid(), negotiation);
+            return negotiation;
+        });
+        Mockito.when(repository.findById(any())).thenAnswer(
+            invocation -> Optional.ofNullable(negotiations.get(invocation.getArgument(0))));
+        Mockito.when(repository.findInterrupted(any(), any(), any())).thenReturn(List.of());
+
+        final var request = Mockito.mock(ContractRequest.class);
+        Mockito.when(request.getId())
+            .thenReturn(URI.create("https://w3id.org/idsa/autogen/contractRequest/1"));
+        Mockito.when(request.toRdf()).thenReturn("{}");
+        negotiationService = Mockito.mock(NegotiationService.class);
+        Mockito.when(negotiationService.buildContractRequest(anyString(), eq(ARTIFACT)))
+            .thenReturn(request);
+
+        final var header = Mockito.mock(Message.class);
+        Mockito.when(header.getId()).thenReturn(REQUEST_MESSAGE);
+        agreementMessage = Mockito.mock(ContractAgreementMessage.class);
+        final var serializer = Mockito.mock(Serializer.class);
+        Mockito.when(serializer.deserialize(anyString(), eq(ContractAgreementMessage.class)))
+            .thenReturn(agreementMessage);
+        final var serializerProvider = Mockito.mock(SerializerProvider.class);
+        Mockito.when(serializerProvider.getSerializer()).thenReturn(serializer);
+
+        messageService = Mockito.mock(ContractMessageService.class);
+        Mockito.when(messageService.buildRequestHeader(eq(RECIPIENT), any(), any()))
+            .thenReturn(header);
+        Mockito.when(messageService.sendMessage(eq(header), anyString(), eq(RECIPIENT)))
+            .thenReturn(Map.of("header", "agreement-header", "payload", "agreement"));
+        Mockito.when(messageService.getSerializerProvider()).thenReturn(serializerProvider);
+
+        final var configuration = new NegotiationConfiguration();
+        configuration.setConcurrency(1);
+        configuration.setInstanceId("connector-1");
+        configuration.setLease(Duration.ofMinutes(5));
+        service = new ContractNegotiationService(negotiationService, messageService, repository,
+            configuration);
+    }
+
+    @After
+    public void shutdown() {
+        service.shutdown();
+    }
+
+    /**
+     * Starts a negotiation and waits until it stopped.
+     */
+    private ContractNegotiation negotiate() throws Exception {
+        return await(service.startNegotiation(RECIPIENT, ARTIFACT, "offer").getUuid());
+    }
+
+    /**
+     * Waits until a negotiation stopped.
+     */
+    private ContractNegotiation await(UUID uuid) throws Exception {
+        final var deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            final var negotiation = service.getNegotiation(uuid);
+            final var status = negotiation.getStatus();
+            if (status == Status.CONFIRMED || status == Status.REJECTED
+                || status == Status.FAILED)
+                return negotiation;
+
+            Thread.sleep(10);
+        }
+        throw new AssertionError("The negotiation did not stop.");
+    }
+
+    @Test
+    public void confirmsAcceptedRequest() throws Exception {
+        final var agreementId = URI.create("https://w3id.org/idsa/autogen/contract/1");
+        Mockito.when(messageService.getResponseType("agreement-header"))
+            .thenReturn(ResponseType.CONTRACT_AGREEMENT);
+        Mockito.when(agreementMessage.getCorrelationMessage()).thenReturn(REQUEST_MESSAGE);
+        Mockito.when(negotiationService.contractAccepted(RECIPIENT, "agreement-header",
+            "agreement")).thenReturn(agreementId);
+
+        final var negotiation = negotiate();
+
+        Assert.assertEquals(Status.CONFIRMED, negotiation.getStatus());
+        Assert.assertEquals(agreementId.toString(), negotiation.getAgreementId());
+        Assert.assertEquals(REQUEST_MESSAGE.toString(), negotiation.getRequestMessageId());
+        Assert.assertEquals("connector-1", negotiation.getOwner());
+    }
+
+    @Test
+    public void resendsRequestWithSameMessageId() throws Exception {
+        Mockito.when(messageService.getResponseType("agreement-header"))
+            .thenReturn(ResponseType.CONTRACT_AGREEMENT);
+        Mockito.when(agreementMessage.getCorrelationMessage()).thenReturn(REQUEST_MESSAGE);
+        Mockito.when(negotiationService.contractAccepted(any(), any(), any()))
+            .thenThrow(new ContractException("Could not confirm agreement."))
+            .thenReturn(URI.create("https://w3id.org/idsa/autogen/contract/1"));
+
+        final var failed = negotiate();
+        Assert.assertEquals(Status.FAILED, failed.getStatus());
+
+        // Resend the request instead of confirming the stored agreement.
+        failed.setAgreementPayload(null);
+        failed.setAgreementHeader(null);
+        service.resumeNegotiation(failed.getUuid());
+        final var negotiation = await(failed.getUuid());
+
+        Assert.assertEquals(Status.CONFIRMED, negotiation.getStatus());
+        Mockito.verify(messageService).buildRequestHeader(eq(RECIPIENT), any(), isNull());
+        Mockito.verify(messageService).buildRequestHeader(eq(RECIPIENT), any(),
+            eq(REQUEST_MESSAGE));
+    }
+
+    @Test
+    public void recoversOwnAndExpiredSessions() {
+        final var negotiation = new ContractNegotiation(UUID.randomUUID(), RECIPIENT.toString(),
+            ARTIFACT.toString(), "request", "{}");
+        negotiation.setStatus(Status.REQUEST_SENT);
+        Mockito.when(repository.findInterrupted(any(), eq("connector-1"), any()))
+            .thenReturn(List.of(negotiation));
+
+        service.recoverInterruptedSessions();
+
+        Assert.assertEquals(Status.FAILED, negotiation.getStatus());
+    }
+
+    @Test
+    public void renewsOwnLeases() {
+        final var negotiation = new ContractNegotiation(UUID.randomUUID(), RECIPIENT.toString(),
+            ARTIFACT.toString(), "request", "{}");
+        Mockito.when(repository.findByStatusInAndLeaseExpiryBefore(any(), any()))
+            .thenReturn(List.of(negotiation));
+
+        final var before = System.currentTimeMillis();
+        service.renewLeases();
+
+        final var expiry = ArgumentCaptor.forClass(Date.class);
+        Mockito.verify(repository).renewLeases(any(), eq("connector-1"), expiry.capture());
+        Assert.assertTrue(expiry.getValue().getTime() >= before + Duration.ofMinutes(5).toMillis());
+        Assert.assertEquals(Status.FAILED, negotiation.getStatus());
+    }
+
+    @Test
+    public void storesRejection() throws Exception {
+        Mockito.when(messageService.getResponseType("agreement-header"))
+            .thenReturn(ResponseType.CONTRACT_REJECTION);
+
+        final var negotiation = negotiate();
+
+        Assert.assertEquals(Status.REJECTED, negotiation.getStatus());
+        Assert.assertNull(negotiation.getAgreementPayload());
+        Mockito.verify(negotiationService, Mockito.never()).contractAccepted(any(), any(), any());
+    }
+
+    @Test
+    public void failsOnAgreementForAnotherMessage() throws Exception {
+        Mockito.when(messageService.getResponseType("agreement-header"))
+            .thenReturn(ResponseType.CONTRACT_AGREEMENT);
+        Mockito.when(agreementMessage.getCorrelationMessage())
+            .thenReturn(URI.create("https://w3id.org/idsa/autogen/message/2"));
+
+        final var negotiation = negotiate();
+
+        Assert.assertEquals(Status.FAILED, negotiation.getStatus());
+        Assert.assertNull(negotiation.getAgreementPayload());
+        Mockito.verify(negotiationService, Mockito.never()).contractAccepted(any(), any(), any());
+    }
+
+    @Test
+    public void failsOnAgreementWithoutCorrelation() throws Exception {
+        Mockito.when(messageService.getResponseType("agreement-header"))
+            .thenReturn(ResponseType.CONTRACT_AGREEMENT);
+        Mockito.when(agreementMessage.getCorrelationMessage()).thenReturn(null);
+
+        final var negotiation = negotiate();
+
+        Assert.assertEquals(Status.FAILED, negotiation.getStatus());
+        Mockito.verify(negotiationService, Mockito.never()).contractAccepted(any(), any(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractOfferIndex;
+import de.fraunhofer.isst.ids.framework.configuration.SerializerProvider;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class ContractOfferIndexTests {
+
+    private OfferedResourceRepository repository;
+    private SerializerProvider serializerProvider;
+    private ResourceCacheConfiguration configuration;
+    private OfferedResource resource;
+    private UUID artifactId;
+
+    @Before
+    public void setup() {
+        artifactId = UUID.randomUUID();
+        final var representation = new ResourceRepresentation();
+        representation.setUuid(artifactId);
+        resource = new OfferedResource(UUID.randomUUID(), new Date(), new Date(),
+            new ResourceMetadata("Example", "Description", List.of("example"), null, null, null,
+                "1", Map.of(artifactId, representation), null), "");
+
+        // The resource was stored by another connector after the index was filled.
+        repository = Mockito.mock(OfferedResourceRepository.class);
+        Mockito.when(repository.findOrderedById(any(Pageable.class))).thenReturn(List.of());
+        Mockito.when(repository.findModifiedSince(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(resource));
+        Mockito.when(repository.findVersionByUuid(resource.getUuid())).thenReturn(0L);
+
+        serializerProvider = Mockito.mock(SerializerProvider.class);
+        Mockito.when(serializerProvider.getSerializer()).thenReturn(new Serializer());
+        configuration = new ResourceCacheConfiguration();
+    }
+
+    @Test
+    public void findsResourcesOfOtherConnectors() {
+        configuration.setSharedDatabase(true);
+        final var index = new ContractOfferIndex(repository, serializerProvider, configuration);
+
+        final var entry = index.findByArtifact(artifactId);
+
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(resource.getUuid(), entry.getResourceId());
+        // The resource is indexed now.
+        Assert.assertSame(entry, index.findByArtifact(artifactId));
+        Mockito.verify(repository, Mockito.times(1))
+            .findModifiedSince(any(Date.class), any(Pageable.class));
+    }
+
+    @Test
+    public void reindexesResourceChangedByOtherConnector() {
+        configuration.setSharedDatabase(true);
+        final var index = new ContractOfferIndex(repository, serializerProvider, configuration);
+        final var entry = index.findByArtifact(artifactId);
+
+        // Another connector moved the artifact to a new representation.
+        final var changed = new OfferedResource(resource.getUuid(), new Date(), new Date(),
+            new ResourceMetadata("Example", "Description", List.of("example"), null, null, null,
+                "1", Map.of(), null), "");
+        changed.setVersion(1);
+        Mockito.when(repository.findVersionByUuid(resource.getUuid())).thenReturn(1L);
+        Mockito.when(repository.findById(resource.getUuid())).thenReturn(Optional.of(changed));
+
+        Assert.assertNotNull(entry);
+        Assert.assertNull(index.findByArtifact(artifactId));
+    }
+
+    @Test
+    public void forgetsResourceDeletedByOtherConnector() {
+        configuration.setSharedDatabase(true);
+        final var index = new ContractOfferIndex(repository, serializerProvider, configuration);
+        Assert.assertNotNull(index.findByArtifact(artifactId));
+
+        Mockito.when(repository.findVersionByUuid(resource.getUuid())).thenReturn(null);
+        Mockito.when(repository.findById(resource.getUuid())).thenReturn(Optional.empty());
+
+        Assert.assertNull(index.findByArtifact(artifactId));
+    }
+
+    @Test
+    public void limitsLookupsOfUnknownArtifacts() {
+        configuration.setSharedDatabase(true);
+        final var index = new ContractOfferIndex(repository, serializerProvider, configuration);
+
+        Assert.assertNull(index.findByArtifact(UUID.randomUUID()));
+        Assert.assertNull(index.findByArtifact(UUID.randomUUID()));
+
+        Mockito.verify(repository, Mockito.times(1))
+            .findModifiedSince(any(Date.class), any(Pageable.class));
+    }
+
+    @Test
+    public void trustsIndexWithoutSharedDatabase() {
+        final var index = new ContractOfferIndex(repository, serializerProvider, configuration);
+
+        Assert.assertNull(index.findByArtifact(artifactId));
+        Mockito.verify(repository, Mockito.never())
+            .findModifiedSince(any(Date.class), any(Pageable.class));
+    }
+}
@@ -0,0 +1,76 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.HttpTraceConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.HttpTrace;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.HttpTraceEventHandler;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.HttpTraceFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.SimpleIdGenerator;
+
+public class HttpTraceFilterTests {
+
+    private HttpTraceConfiguration configuration;
+    private HttpTraceEventHandler eventHandler;
+
+    @Before
+    public void setup() {
+        configuration = new HttpTraceConfiguration();
+        configuration.setEnabled(true);
+        configuration.setSampleRate(1.0);
+        configuration.setMaxBodySize(4096);
+        configuration.setIncludePaths(List.of("/**"));
+        configuration.setExcludePaths(List.of());
+        configuration.setRedactedHeaders(List.of("Authorization", " Cookie"));
+        eventHandler = Mockito.mock(HttpTraceEventHandler.class);
+    }
+
+    private HttpTrace trace() throws Exception {
+        final var request = new MockHttpServletRequest("POST", "/api/ids/data");
+        request.addHeader("Authorization", "Bearer secret-token");
+        request.addHeader("cookie", "SESSION=secret-session");
+        request.addHeader("Accept", "application/json");
+        request.setContent("{\"token\": \"secret-token\"}".getBytes(StandardCharsets.UTF_8));
+
+        final var filter = new HttpTraceFilter(eventHandler, configuration,
+            new SimpleMeterRegistry(), new SimpleIdGenerator());
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (servletRequest, servletResponse) -> servletRequest.getInputStream().readAllBytes());
+
+        final var trace = ArgumentCaptor.forClass(HttpTrace.class);
+        Mockito.verify(eventHandler).sendHttpTraceEvent(trace.capture());
+        return trace.getValue();
+    }
+
+    @Test
+    public void redactsConfiguredHeaders() throws Exception {
+        final var trace = trace();
+
+        Assert.assertFalse(trace.headers.contains("secret"));
+        Assert.assertTrue(trace.headers.contains("Accept: application/json"));
+    }
+
+    @Test
+    public void skipsBodiesByDefault() throws Exception {
+        final var trace = trace();
+
+        Assert.assertNull(trace.body);
+        Assert.assertEquals(Long.valueOf(25), trace.bodySize);
+    }
+
+    @Test
+    public void capturesBodiesIfEnabled() throws Exception {
+        configuration.setCaptureBodies(true);
+        final var trace = trace();
+
+        Assert.assertEquals("{\"token\": \"secret-token\"}", trace.body);
+    }
+}
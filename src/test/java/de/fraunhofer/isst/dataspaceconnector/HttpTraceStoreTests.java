@@ -0,0 +1,41 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.HttpTraceConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.filter.httptracing.HttpTraceStore;
+import de.fraunhofer.isst.dataspaceconnector.repositories.HttpTraceRepository;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class HttpTraceStoreTests {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void matchesPathLiterally() {
+        final var repository = Mockito.mock(HttpTraceRepository.class);
+        final var store = new HttpTraceStore(repository, new HttpTraceConfiguration());
+
+        store.findTraces(null, null, "/api/100%_\\", null, null, null, PageRequest.of(0, 10));
+
+        final var specification = ArgumentCaptor.forClass(Specification.class);
+        Mockito.verify(repository).findAll(specification.capture(), any(Pageable.class));
+
+        final var builder = Mockito.mock(CriteriaBuilder.class);
+        specification.getValue().toPredicate(Mockito.mock(Root.class),
+            Mockito.mock(CriteriaQuery.class), builder);
+
+        Mockito.verify(builder).like(ArgumentMatchers.<Expression<String>>any(),
+            eq("/api/100\\%\\_\\\\%"), eq('\\'));
+    }
+}
@@ -0,0 +1,63 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.services.utils.FastIdGenerator;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.TimeOrderedIdGenerator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IdGeneratorTests {
+
+    @Test
+    public void TimeOrderedIdGenerator_generateId_Version7_TimestampOut() {
+        final var timestamp = 0x0123_4567_89ABL;
+        final var generator = new TimeOrderedIdGenerator(() -> timestamp);
+
+        final var uuid = generator.generateId();
+
+        Assert.assertEquals(7, uuid.version());
+        Assert.assertEquals(2, uuid.variant());
+        Assert.assertEquals(timestamp, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void TimeOrderedIdGenerator_generateId_Same_Millisecond_IncreasingOut() {
+        final var generator = new TimeOrderedIdGenerator(() -> 1000L);
+
+        // More ids than the counter can hold within one millisecond
+        var previous = generator.generateId();
+        for (int i = 0; i < 10000; i++) {
+            final var next = generator.generateId();
+            Assert.assertTrue(compareUnsigned(previous, next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void TimeOrderedIdGenerator_generateId_Clock_Backwards_IncreasingOut() {
+        final var clock = new AtomicLong(5000L);
+        final var generator = new TimeOrderedIdGenerator(clock::get);
+
+        final var first = generator.generateId();
+        clock.set(1000L);
+        final var second = generator.generateId();
+
+        Assert.assertTrue(compareUnsigned(first, second) < 0);
+    }
+
+    @Test
+    public void FastIdGenerator_generateId_Version4Out() {
+        final var uuid = new FastIdGenerator().generateId();
+
+        Assert.assertEquals(4, uuid.version());
+        Assert.assertEquals(2, uuid.variant());
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        final var most = Long.compareUnsigned(a.getMostSignificantBits(),
+            b.getMostSignificantBits());
+        return most != 0 ? most
+            : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
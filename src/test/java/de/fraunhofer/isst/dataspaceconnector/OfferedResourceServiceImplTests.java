@@ -0,0 +1,93 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.broker.BrokerSyncService;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ContractOfferIndex;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.OfferedResourceServiceImpl;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.HttpUtils;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.IdsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.util.IdGenerator;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class OfferedResourceServiceImplTests {
+
+    private OfferedResourceRepository repository;
+    private OfferedResourceServiceImpl service;
+    private OfferedResource resource;
+
+    @Before
+    public void setup() {
+        resource = new OfferedResource(UUID.randomUUID(), new Date(), new Date(),
+            new ResourceMetadata("Example", "Description", List.of("example"), null, null, null,
+                "1", new HashMap<>(), null), "");
+
+        repository = Mockito.mock(OfferedResourceRepository.class);
+        Mockito.when(repository.findById(resource.getUuid())).thenReturn(Optional.of(resource));
+
+        final var cacheConfiguration = new ResourceCacheConfiguration();
+        cacheConfiguration.setEnabled(true);
+        cacheConfiguration.setMaxSize(10);
+
+        service = new OfferedResourceServiceImpl(repository, Mockito.mock(HttpUtils.class),
+            Mockito.mock(IdsUtils.class), Mockito.mock(IdGenerator.class),
+            Mockito.mock(SelfDescriptionVersion.class), Mockito.mock(BrokerSyncService.class),
+            Mockito.mock(ContractOfferIndex.class), cacheConfiguration,
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void storesValidationOnFirstRead() {
+        Assert.assertSame(resource, service.getResource(resource.getUuid()));
+        Assert.assertSame(resource, service.getResource(resource.getUuid()));
+
+        Mockito.verify(repository, Mockito.times(1))
+            .updateValidationVersion(eq(resource.getUuid()), anyInt());
+        Assert.assertNotNull(resource.getValidationVersion());
+    }
+
+    @Test
+    public void skipsValidatedResources() {
+        service.getResource(resource.getUuid());
+        final var version = resource.getValidationVersion();
+
+        // A resource stored with the current rules is read without writing.
+        final var stored = new OfferedResource(UUID.randomUUID(), new Date(), new Date(),
+            resource.getResourceMetadata(), "");
+        stored.setValidationVersion(version);
+        Mockito.when(repository.findById(stored.getUuid())).thenReturn(Optional.of(stored));
+
+        Assert.assertSame(stored, service.getResource(stored.getUuid()));
+        Mockito.verify(repository, Mockito.never())
+            .updateValidationVersion(eq(stored.getUuid()), anyInt());
+    }
+
+    @Test
+    public void readsDespiteFailedValidationUpdate() {
+        Mockito.when(repository.updateValidationVersion(eq(resource.getUuid()), anyInt()))
+            .thenThrow(new IllegalStateException("The database is read-only."));
+
+        Assert.assertSame(resource, service.getResource(resource.getUuid()));
+        Assert.assertSame(resource, service.getResource(resource.getUuid()));
+
+        // The validation was not remembered, so it is stored again on the next read.
+        Assert.assertNull(resource.getValidationVersion());
+        Mockito.verify(repository, Mockito.times(2))
+            .updateValidationVersion(eq(resource.getUuid()), anyInt());
+    }
+}
@@ -0,0 +1,132 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import com.sun.net.httpserver.HttpServer;
+import de.fraunhofer.isst.dataspaceconnector.config.UsageControlConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.services.usagecontrol.RemotePolicyDecisionPoint;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemotePolicyDecisionPointTests {
+
+    private static final URI RESOURCE = URI.create("https://w3id.org/idsa/autogen/resource/1");
+    private static final URI CONSUMER = URI.create("https://w3id.org/idsa/autogen/connector/2");
+
+    private HttpServer stubPdp;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicReference<String> decision = new AtomicReference<>("Permit");
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    private UsageControlConfiguration configuration;
+
+    @Before
+    public void startStubPdp() throws IOException {
+        stubPdp = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubPdp.createContext("/policy/decision", exchange -> {
+            calls.incrementAndGet();
+            final var body = ("{\"decision\":\"" + decision.get() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stubPdp.start();
+
+        configuration = new UsageControlConfiguration();
+        configuration.setPdpUrl("http://localhost:" + stubPdp.getAddress().getPort()
+            + "/policy/decision");
+        configuration.setTimeout(2000);
+        configuration.setMaxIdleConnections(2);
+        configuration.setCacheTtl(60000);
+        configuration.setCacheRefreshAhead(0);
+        configuration.setCacheMaxSize(100);
+        configuration.setBreakerFailureThreshold(2);
+        configuration.setBreakerOpenDuration(60000);
+        configuration.setFallbackDecision(false);
+    }
+
+    @After
+    public void stopStubPdp() {
+        stubPdp.stop(0);
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_Permit_Cached() {
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+        Assert.assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_Deny_KeyedByConsumer() {
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+        decision.set("Deny");
+        Assert.assertFalse(pdp.decide("policy", RESOURCE, URI.create("https://other")));
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_Failures_OpenCircuit() {
+        status.set(500);
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        Assert.assertFalse(pdp.decide("a", RESOURCE, CONSUMER));
+        Assert.assertFalse(pdp.decide("b", RESOURCE, CONSUMER));
+        // The circuit is open now, the stub must not be contacted again.
+        Assert.assertFalse(pdp.decide("c", RESOURCE, CONSUMER));
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_Failure_ExpiredDecisionNotUsed()
+        throws InterruptedException {
+        configuration.setCacheTtl(1);
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+        Thread.sleep(5);
+        status.set(500);
+        Assert.assertFalse(pdp.decide("policy", RESOURCE, CONSUMER));
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_Failure_StaleIfError() throws InterruptedException {
+        configuration.setCacheTtl(1);
+        configuration.setStaleIfError(60000);
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+        Thread.sleep(5);
+        status.set(500);
+        Assert.assertTrue(pdp.decide("policy", RESOURCE, CONSUMER));
+    }
+
+    @Test
+    public void RemotePolicyDecisionPoint_decide_FullCache_EvictsLeastRecentlyUsed() {
+        configuration.setCacheMaxSize(2);
+        final var pdp = new RemotePolicyDecisionPoint(configuration);
+
+        pdp.decide("a", RESOURCE, CONSUMER);
+        pdp.decide("b", RESOURCE, CONSUMER);
+        pdp.decide("a", RESOURCE, CONSUMER);
+        pdp.decide("c", RESOURCE, CONSUMER);
+        Assert.assertEquals(3, calls.get());
+
+        // "b" was used least recently and has been evicted, "a" is still cached.
+        pdp.decide("a", RESOURCE, CONSUMER);
+        Assert.assertEquals(3, calls.get());
+        pdp.decide("b", RESOURCE, CONSUMER);
+        Assert.assertEquals(4, calls.get());
+    }
+}
@@ -0,0 +1,155 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.OfferedResource;
+import de.fraunhofer.isst.dataspaceconnector.services.resources.ResourceCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceCacheTests {
+
+    private final Map<UUID, OfferedResource> database = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> versions = new HashMap<>();
+
+    private ResourceCacheConfiguration configuration;
+    private SimpleMeterRegistry meterRegistry;
+    private int loads;
+
+    @Before
+    public void setup() {
+        configuration = new ResourceCacheConfiguration();
+        configuration.setEnabled(true);
+        configuration.setMaxSize(10);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ResourceCache<OfferedResource> cache() {
+        return new ResourceCache<>("offered", uuid -> {
+            loads++;
+            return database.get(uuid);
+        }, versions::get, configuration, meterRegistry);
+    }
+
+    private OfferedResource store(UUID resourceId, long version) {
+        final var resource = new OfferedResource(resourceId, new Date(), new Date(), null, "");
+        resource.setVersion(version);
+        database.put(resource.getUuid(), resource);
+        versions.put(resource.getUuid(), version);
+        return resource;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("resource.cache.requests").tag("result", result).counter()
+            .count();
+    }
+
+    @Test
+    public void returnsCachedResource() {
+        final var resource = store(UUID.randomUUID(), 0);
+        final var cache = cache();
+
+        Assert.assertSame(resource, cache.get(resource.getUuid()));
+        Assert.assertSame(resource, cache.get(resource.getUuid()));
+
+        Assert.assertEquals(1, loads);
+        Assert.assertEquals(1, requests("miss"), 0);
+        Assert.assertEquals(1, requests("hit"), 0);
+    }
+
+    @Test
+    public void doesNotCacheMissingResource() {
+        final var cache = cache();
+        final var resourceId = UUID.randomUUID();
+
+        Assert.assertNull(cache.get(resourceId));
+        Assert.assertNull(cache.get(resourceId));
+
+        Assert.assertEquals(2, loads);
+        Assert.assertEquals(2, requests("miss"), 0);
+    }
+
+    @Test
+    public void reloadsEvictedResource() {
+        final var resource = store(UUID.randomUUID(), 0);
+        final var cache = cache();
+        cache.get(resource.getUuid());
+
+        cache.evict(resource.getUuid());
+        cache.get(resource.getUuid());
+
+        Assert.assertEquals(2, loads);
+    }
+
+    @Test
+    public void reloadsResourceChangedByAnotherConnector() {
+        configuration.setSharedDatabase(true);
+        final var resource = store(UUID.randomUUID(), 0);
+        final var cache = cache();
+        cache.get(resource.getUuid());
+
+        // Another connector stored a new version in the shared database.
+        final var changed = store(resource.getUuid(), 1);
+
+        Assert.assertSame(changed, cache.get(resource.getUuid()));
+        Assert.assertSame(changed, cache.get(resource.getUuid()));
+
+        Assert.assertEquals(2, loads);
+        Assert.assertEquals(1, requests("stale"), 0);
+        Assert.assertEquals(1, requests("hit"), 0);
+    }
+
+    @Test
+    public void returnsStoredResource() {
+        final var resource = store(UUID.randomUUID(), 0);
+        final var cache = cache();
+        cache.get(resource.getUuid());
+
+        final var updated = store(resource.getUuid(), 1);
+        cache.put(updated);
+
+        Assert.assertSame(updated, cache.get(resource.getUuid()));
+        Assert.assertEquals(1, loads);
+    }
+
+    @Test
+    public void doesNotCacheResourceDeletedWhileLoading() throws Exception {
+        final var resource = store(UUID.randomUUID(), 0);
+        final var loading = new CountDownLatch(1);
+        final var deleted = new CountDownLatch(1);
+        final var cache = new ResourceCache<OfferedResource>("offered", uuid -> {
+            // Read the resource before it is deleted and return it afterwards.
+            final var loaded = database.get(uuid);
+            loading.countDown();
+            try {
+                deleted.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return loaded;
+        }, versions::get, configuration, meterRegistry);
+
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            final var load = executor.submit(() -> cache.get(resource.getUuid()));
+            loading.await();
+
+            database.remove(resource.getUuid());
+            cache.evict(resource.getUuid());
+            deleted.countDown();
+
+            Assert.assertSame(resource, load.get(5, TimeUnit.SECONDS));
+            Assert.assertNull(cache.get(resource.getUuid()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.model.BackendSource;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadataConverter;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceRepresentation;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceMetadataConverterTests {
+
+    private final ResourceMetadataConverter converter = new ResourceMetadataConverter();
+
+    private static ResourceMetadata metadata() {
+        final var representations = new HashMap<UUID, ResourceRepresentation>();
+        // The key does not have to match the id of the representation.
+        representations.put(UUID.randomUUID(), new ResourceRepresentation(null, "JSON", 101,
+            "Example Representation", new BackendSource(BackendSource.Type.LOCAL, null, null, null)));
+
+        return new ResourceMetadata("Example", "Description", List.of("example"), "policy",
+            URI.create("https://example.com/owner"), null, "1.0", representations, null);
+    }
+
+    @Test
+    public void keepsMetadata() {
+        final var metadata = metadata();
+        final var value = converter.convertToDatabaseColumn(metadata);
+
+        Assert.assertFalse(ResourceMetadataConverter.isLegacyFormat(value));
+        Assert.assertEquals(metadata, converter.convertToEntityAttribute(value));
+    }
+
+    @Test
+    public void readsJavaSerializedMetadata() throws Exception {
+        final var metadata = metadata();
+        final var bytes = new ByteArrayOutputStream();
+        try (var stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(metadata);
+        }
+
+        final var value = bytes.toByteArray();
+        Assert.assertTrue(ResourceMetadataConverter.isLegacyFormat(value));
+        Assert.assertEquals(metadata, converter.convertToEntityAttribute(value));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownFormat() {
+        converter.convertToEntityAttribute(new byte[]{1, 2, 3, 4});
+    }
+}
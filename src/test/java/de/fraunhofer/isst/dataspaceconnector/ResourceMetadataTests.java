@@ -0,0 +1,49 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import de.fraunhofer.isst.dataspaceconnector.model.ResourceMetadata;
+import de.fraunhofer.isst.dataspaceconnector.services.utils.JsonUtils;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceMetadataTests {
+
+    private static final String METADATA = "{\"title\":\"Example\",\"representations\":["
+        + "{\"uuid\":\"55795317-0aaa-4fe1-b336-b2e26a00597f\",\"type\":\"JSON\",\"byteSize\":101,"
+        + "\"source\":{\"type\":\"local\"}},"
+        + "{\"type\":\"XML\",\"name\":\"Without id\"}]}";
+
+    @Test
+    public void readsRepresentations() throws Exception {
+        final var metadata = JsonUtils.getObjectMapper().readValue(METADATA, ResourceMetadata.class);
+
+        Assert.assertEquals("Example", metadata.getTitle());
+        Assert.assertEquals(2, metadata.getRepresentations().size());
+
+        final var representation = metadata.getRepresentations()
+            .get(UUID.fromString("55795317-0aaa-4fe1-b336-b2e26a00597f"));
+        Assert.assertNotNull(representation);
+        Assert.assertEquals("JSON", representation.getType());
+        Assert.assertEquals(Integer.valueOf(101), representation.getByteSize());
+        Assert.assertNotNull(representation.getSource());
+    }
+
+    @Test
+    public void survivesRoundTrip() throws Exception {
+        final var metadata = JsonUtils.getObjectMapper().readValue(METADATA, ResourceMetadata.class);
+        final var copy = JsonUtils.getObjectMapper()
+            .readValue(metadata.toString(), ResourceMetadata.class);
+
+        Assert.assertEquals(2, copy.getRepresentations().size());
+        Assert.assertEquals(
+            metadata.getRepresentations().get(UUID.fromString("55795317-0aaa-4fe1-b336-b2e26a00597f")),
+            copy.getRepresentations().get(UUID.fromString("55795317-0aaa-4fe1-b336-b2e26a00597f")));
+    }
+
+    @Test(expected = MismatchedInputException.class)
+    public void rejectsRepresentationsObject() throws Exception {
+        JsonUtils.getObjectMapper()
+            .readValue("{\"representations\":{\"type\":\"XML\"}}", ResourceMetadata.class);
+    }
+}
@@ -0,0 +1,80 @@
+package de.fraunhofer.isst.dataspaceconnector;
+
+import de.fraunhofer.isst.dataspaceconnector.config.ResourceCacheConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.config.SelfDescriptionConfiguration;
+import de.fraunhofer.isst.dataspaceconnector.model.CatalogState;
+import de.fraunhofer.isst.dataspaceconnector.repositories.OfferedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.repositories.RequestedResourceRepository;
+import de.fraunhofer.isst.dataspaceconnector.services.selfdescription.SelfDescriptionVersion;
+import java.time.Duration;
+import java.util.Date;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SelfDescriptionVersionTests {
+
+    private OfferedResourceRepository offeredResourceRepository;
+    private RequestedResourceRepository requestedResourceRepository;
+    private ResourceCacheConfiguration cacheConfiguration;
+    private SelfDescriptionConfiguration configuration;
+
+    @Before
+    public void setup() {
+        offeredResourceRepository = Mockito.mock(OfferedResourceRepository.class);
+        requestedResourceRepository = Mockito.mock(RequestedResourceRepository.class);
+        Mockito.when(requestedResourceRepository.findCatalogState())
+            .thenReturn(new CatalogState(0L, null, null));
+
+        cacheConfiguration = new ResourceCacheConfiguration();
+        configuration = new SelfDescriptionConfiguration();
+        configuration.setSharedCatalogCheck(Duration.ZERO);
+    }
+
+    private SelfDescriptionVersion version() {
+        return new SelfDescriptionVersion(offeredResourceRepository, requestedResourceRepository,
+            cacheConfiguration, configuration);
+    }
+
+    @Test
+    public void countsReportedChanges() {
+        final var version = version();
+
+        final var before = version.getCatalogVersion();
+        version.catalogChanged();
+
+        Assert.assertEquals(before + 1, version.getCatalogVersion());
+        Mockito.verifyNoInteractions(offeredResourceRepository, requestedResourceRepository);
+    }
+
+    @Test
+    public void detectsChangesInSharedDatabase() {
+        cacheConfiguration.setSharedDatabase(true);
+        Mockito.when(offeredResourceRepository.findCatalogState())
+            .thenReturn(new CatalogState(1L, 0L, new Date(1000)));
+        final var version = version();
+        final var before = version.getCatalogVersion();
+        Assert.assertEquals(before, version.getCatalogVersion());
+
+        // Another connector deleted the resource.
+        Mockito.when(offeredResourceRepository.findCatalogState())
+            .thenReturn(new CatalogState(0L, null, null));
+
+        Assert.assertEquals(before + 1, version.getCatalogVersion());
+    }
+
+    @Test
+    public void checksSharedDatabaseOncePerInterval() {
+        cacheConfiguration.setSharedDatabase(true);
+        configuration.setSharedCatalogCheck(Duration.ofHours(1));
+        Mockito.when(offeredResourceRepository.findCatalogState())
+            .thenReturn(new CatalogState(1L, 0L, new Date(1000)));
+        final var version = version();
+
+        version.getCatalogVersion();
+        version.getCatalogVersion();
+
+        Mockito.verify(offeredResourceRepository, Mockito.times(1)).findCatalogState();
+    }
+}
@@ -3,7 +3,11 @@ package de.fraunhofer.isst.dataspaceconnector;
 import de.fraunhofer.isst.dataspaceconnector.exceptions.UUIDFormatException;
 import de.fraunhofer.isst.dataspaceconnector.services.utils.UUIDUtils;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -63,4 +67,131 @@ public class UUIDUtilsTests {
         Assert.assertEquals(resultUUID, expectedUUID);
     }
 
+    @Test
+    public void UUIDUtils_uuidFromUri_Uri_with_uppercase_Uuid_InOut() {
+        final var uuidString = "B7C9D390-837B-4EDC-B47C-877C3D3570F0";
+        final var uriString = "https://dsc/anon42/api/" + uuidString;
+
+        final var inputUri = URI.create(uriString);
+        final var expectedUUID = UUID.fromString(uuidString);
+
+        final var resultUUID = UUIDUtils.uuidFromUri(inputUri);
+
+        Assert.assertEquals(resultUUID, expectedUUID);
+    }
+
+    @Test
+    public void UUIDUtils_uuidFromUri_Uri_with_two_overlapping_Uuids_In_FirstOut() {
+        // The second uuid starts inside the last group of the first one.
+        final var uuidString = "fd859562-303d-4fc8-b646-9af615ce5242";
+        final var uriString = "https://dsc/anon42/api/" + uuidString
+            + "-8921-b6d8-8af0-e3000d3ab108";
+
+        final var inputUri = URI.create(uriString);
+        final var expectedUUID = UUID.fromString(uuidString);
+
+        final var resultUUID = UUIDUtils.uuidFromUri(inputUri);
+
+        Assert.assertEquals(resultUUID, expectedUUID);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void UUIDUtils_uuidFromUri_Index_after_last_Uuid_In() {
+        final var uriString = "https://dsc/anon42/api/b7c9d390-837b-4edc-b47c-877c3d3570f0";
+
+        UUIDUtils.uuidFromUri(URI.create(uriString), 1);
+    }
+
+    @Test
+    public void UUIDUtils_uuidFromUri_Random_Uris_SameAsRegex() {
+        final var random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            final var uri = URI.create("https://dsc/" + randomPath(random));
+            final var uuids = findUuidsWithRegex(uri.toString());
+
+            if (uuids.isEmpty()) {
+                assertThrows(UUIDFormatException.class, () -> UUIDUtils.uuidFromUri(uri), uri);
+            } else {
+                Assert.assertEquals(uri.toString(), uuids.get(uuids.size() - 1),
+                    UUIDUtils.uuidFromUri(uri));
+            }
+
+            for (int index = 0; index < uuids.size(); index++) {
+                Assert.assertEquals(uri.toString(), uuids.get(index),
+                    UUIDUtils.uuidFromUri(uri, index));
+            }
+
+            final var outOfRange = uuids.size();
+            assertThrows(IndexOutOfBoundsException.class,
+                () -> UUIDUtils.uuidFromUri(uri, outOfRange), uri);
+        }
+    }
+
+    /**
+     * The regex based extraction the scanner of {@link UUIDUtils} has to be equivalent to.
+     */
+    private static List<UUID> findUuidsWithRegex(String input) {
+        final var matcher = Pattern
+            .compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}")
+            .matcher(input);
+
+        final var output = new ArrayList<UUID>();
+        while (matcher.find()) {
+            output.add(UUID.fromString(matcher.group(0)));
+        }
+        return output;
+    }
+
+    /**
+     * Builds a path of UUIDs, broken UUIDs and characters close to the UUID alphabet.
+     */
+    private static String randomPath(Random random) {
+        final var alphabet = "0123456789abcdefABCDEFgG-/";
+        final var builder = new StringBuilder();
+        final var parts = random.nextInt(6);
+        for (int part = 0; part < parts; part++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    builder.append(randomUuid(random));
+                    break;
+                case 1:
+                    // A UUID missing characters at the start or at the end
+                    final var uuid = randomUuid(random);
+                    final var cut = 1 + random.nextInt(uuid.length() - 1);
+                    builder.append(random.nextBoolean()
+                        ? uuid.substring(cut) : uuid.substring(0, cut));
+                    break;
+                case 2:
+                    // A UUID with one replaced character
+                    final var chars = randomUuid(random).toCharArray();
+                    chars[random.nextInt(chars.length)] =
+                        alphabet.charAt(random.nextInt(alphabet.length()));
+                    builder.append(chars);
+                    break;
+                default:
+                    final var length = random.nextInt(40);
+                    for (int i = 0; i < length; i++) {
+                        builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String randomUuid(Random random) {
+        final var uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+        return random.nextInt(4) == 0 ? uuid.toUpperCase() : uuid;
+    }
+
+    private static void assertThrows(Class<? extends Throwable> expected, Runnable runnable,
+        URI uri) {
+        try {
+            runnable.run();
+        } catch (Throwable throwable) {
+            Assert.assertEquals(uri.toString(), expected, throwable.getClass());
+            return;
+        }
+        Assert.fail("Expected " + expected.getSimpleName() + " for " + uri);
+    }
 }